@@ -0,0 +1,116 @@
+package com.dhuripara.benchmark;
+
+import com.dhuripara.model.Deposit;
+import com.dhuripara.model.Loan;
+import com.dhuripara.model.Member;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Generated inputs shaped like production data: rupee amounts with paise, dates spread over the
+ * last few financial years, a mix of statuses, and English names with roughly a third carrying a
+ * Bengali spelling. A fixed seed keeps runs comparable, so optimisations to these paths can quote
+ * before/after numbers from the same inputs.
+ */
+final class BenchmarkData {
+
+    static final int PAGE_SIZE = 50;
+
+    private static final String[] FIRST_NAMES = {
+            "Rakesh", "Sumita", "Abhijit", "Mousumi", "Debashis", "Ananya", "Subhankar", "Rituparna",
+            "Partha", "Shreya", "Kaushik", "Tanushree", "Soumen", "Madhumita", "Bikash", "Chandana"};
+    private static final String[] LAST_NAMES = {
+            "Mondal", "Ghosh", "Chatterjee", "Banerjee", "Das", "Pal", "Majumdar", "Bhattacharya"};
+    private static final String[] FIRST_NAMES_BN = {"রাকেশ", "সুমিতা", "অভিজিৎ", "মৌসুমী"};
+    private static final String[] LAST_NAMES_BN = {"মন্ডল", "ঘোষ", "চ্যাটার্জী", "দাস"};
+
+    private BenchmarkData() {
+    }
+
+    static Random random() {
+        return new Random(20240401L);
+    }
+
+    static BigDecimal amount(Random random) {
+        // 500.00 - 200000.00, mostly round hundreds with some paise
+        long paise = (500 + random.nextInt(199_501)) * 100L;
+        if (random.nextInt(4) == 0) {
+            paise += random.nextInt(100);
+        }
+        return BigDecimal.valueOf(paise, 2);
+    }
+
+    static LocalDate date(Random random, LocalDate today) {
+        return today.minusDays(random.nextInt(3 * 365));
+    }
+
+    static Member member(Random random) {
+        Member member = new Member();
+        member.setId(UUID.randomUUID());
+        member.setFirstName(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]);
+        member.setLastName(LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+        if (random.nextInt(3) == 0) {
+            member.setFirstNameBn(FIRST_NAMES_BN[random.nextInt(FIRST_NAMES_BN.length)]);
+            member.setLastNameBn(LAST_NAMES_BN[random.nextInt(LAST_NAMES_BN.length)]);
+        }
+        return member;
+    }
+
+    static List<Member> members(int count) {
+        Random random = random();
+        List<Member> members = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            members.add(member(random));
+        }
+        return members;
+    }
+
+    static List<Deposit> deposits(int count) {
+        Random random = random();
+        LocalDate today = LocalDate.now();
+        List<Deposit> deposits = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Deposit deposit = new Deposit();
+            deposit.setId(UUID.randomUUID());
+            deposit.setMember(member(random));
+            deposit.setAmount(amount(random));
+            deposit.setDepositDate(date(random, today));
+            // About four in five listed deposits are active and accrue interest
+            if (random.nextInt(5) == 0) {
+                deposit.setStatus("RETURNED");
+                deposit.setReturnDate(today.minusDays(random.nextInt(30)));
+                deposit.setInterestEarned(BigDecimal.valueOf(random.nextInt(500_000), 2));
+                deposit.setTotalAmount(deposit.getAmount().add(deposit.getInterestEarned()));
+            }
+            deposits.add(deposit);
+        }
+        return deposits;
+    }
+
+    static List<Loan> loans(int count) {
+        Random random = random();
+        LocalDate today = LocalDate.now();
+        List<Loan> loans = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Loan loan = new Loan();
+            loan.setId(UUID.randomUUID());
+            loan.setMember(member(random));
+            loan.setLoanAmount(amount(random));
+            loan.setLoanDate(date(random, today));
+            loan.setPaidAmount(BigDecimal.valueOf(random.nextInt(1_000_000), 2));
+            if (random.nextInt(5) == 0) {
+                loan.setStatus("CLOSED");
+                loan.setReturnDate(today.minusDays(random.nextInt(30)));
+                loan.setInterestAmount(BigDecimal.valueOf(random.nextInt(1_000_000), 2));
+                loan.setTotalRepayment(loan.getLoanAmount().add(loan.getInterestAmount()));
+            }
+            loans.add(loan);
+        }
+        return loans;
+    }
+}
@@ -0,0 +1,79 @@
+package com.dhuripara.benchmark;
+
+import com.dhuripara.util.InterestCalculator;
+import com.dhuripara.util.InterestEngine;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Interest and duration for one page of rows against today's date, the work done per listing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InterestBenchmark {
+
+    private BigDecimal[] principals;
+    private LocalDate[] startDates;
+    private LocalDate today;
+
+    private long[] principalPaise;
+    private int[] startEpochDays;
+    private int asOfEpochDay;
+    private long[] out;
+
+    @Setup
+    public void setUp() {
+        Random random = BenchmarkData.random();
+        int n = BenchmarkData.PAGE_SIZE;
+        today = LocalDate.now();
+        principals = new BigDecimal[n];
+        startDates = new LocalDate[n];
+        principalPaise = new long[n];
+        startEpochDays = new int[n];
+        out = new long[n];
+        for (int i = 0; i < n; i++) {
+            principals[i] = BenchmarkData.amount(random);
+            startDates[i] = BenchmarkData.date(random, today);
+            principalPaise[i] = InterestEngine.toPaise(principals[i]);
+            startEpochDays[i] = (int) startDates[i].toEpochDay();
+        }
+        asOfEpochDay = (int) today.toEpochDay();
+    }
+
+    @Benchmark
+    public void depositInterest(Blackhole bh) {
+        for (int i = 0; i < principals.length; i++) {
+            bh.consume(InterestCalculator.calculateDepositInterest(principals[i], startDates[i], today));
+        }
+    }
+
+    @Benchmark
+    public void loanInterest(Blackhole bh) {
+        for (int i = 0; i < principals.length; i++) {
+            bh.consume(InterestCalculator.calculateLoanInterest(principals[i], startDates[i], today));
+        }
+    }
+
+    @Benchmark
+    public long[] engineAccrue() {
+        InterestEngine.accrue(principalPaise, startEpochDays, principalPaise.length,
+                InterestEngine.LOAN_RATE_BP, asOfEpochDay, out);
+        return out;
+    }
+
+    @Benchmark
+    public void duration(Blackhole bh) {
+        for (LocalDate start : startDates) {
+            bh.consume(InterestCalculator.calculateDuration(start, today));
+        }
+    }
+}
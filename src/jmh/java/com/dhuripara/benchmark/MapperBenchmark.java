@@ -0,0 +1,56 @@
+package com.dhuripara.benchmark;
+
+import com.dhuripara.model.Deposit;
+import com.dhuripara.model.Loan;
+import com.dhuripara.util.DepositMapper;
+import com.dhuripara.util.LoanMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-response conversion for one page of deposits and loans, per row and in bulk.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private List<Deposit> deposits;
+    private List<Loan> loans;
+
+    @Setup
+    public void setUp() {
+        deposits = BenchmarkData.deposits(BenchmarkData.PAGE_SIZE);
+        loans = BenchmarkData.loans(BenchmarkData.PAGE_SIZE);
+    }
+
+    @Benchmark
+    public void depositPerRow(Blackhole bh) {
+        for (Deposit deposit : deposits) {
+            bh.consume(DepositMapper.convertToResponseWithCurrentInterest(deposit));
+        }
+    }
+
+    @Benchmark
+    public Object depositPage() {
+        return DepositMapper.convertToResponsesWithCurrentInterest(deposits);
+    }
+
+    @Benchmark
+    public void loanPerRow(Blackhole bh) {
+        for (Loan loan : loans) {
+            bh.consume(LoanMapper.convertToResponseWithCurrentInterest(loan));
+        }
+    }
+
+    @Benchmark
+    public Object loanPage() {
+        return LoanMapper.convertToResponsesWithCurrentInterest(loans);
+    }
+}
@@ -0,0 +1,51 @@
+package com.dhuripara.benchmark;
+
+import com.dhuripara.model.Member;
+import com.dhuripara.util.BengaliTransliterator;
+import com.dhuripara.util.NameMaskingUtil;
+import com.dhuripara.util.NameUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Name formatting used by every member, deposit and loan response, for one page of members.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NameBenchmark {
+
+    private List<Member> members;
+
+    @Setup
+    public void setUp() {
+        members = BenchmarkData.members(BenchmarkData.PAGE_SIZE);
+    }
+
+    @Benchmark
+    public void buildMemberName(Blackhole bh) {
+        for (Member member : members) {
+            bh.consume(NameUtil.buildMemberName(member));
+        }
+    }
+
+    @Benchmark
+    public void maskName(Blackhole bh) {
+        for (Member member : members) {
+            bh.consume(NameMaskingUtil.maskName(member.getFirstName(), member.getLastName()));
+        }
+    }
+
+    @Benchmark
+    public void transliterate(Blackhole bh) {
+        for (Member member : members) {
+            bh.consume(BengaliTransliterator.transliterate(member.getFirstName() + " " + member.getLastName()));
+        }
+    }
+}
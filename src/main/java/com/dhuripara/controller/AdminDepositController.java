@@ -3,12 +3,13 @@ package com.dhuripara.controller;
 import com.dhuripara.dto.request.DepositRequest;
 import com.dhuripara.dto.request.DepositReturnRequest;
 import com.dhuripara.dto.request.DepositUpdateRequest;
+import com.dhuripara.dto.response.CursorPageResponse;
 import com.dhuripara.dto.response.DepositResponse;
 import com.dhuripara.service.DepositService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -48,16 +49,25 @@ public class AdminDepositController {
     }
 
     @GetMapping
-    public ResponseEntity<Page<DepositResponse>> getDeposits(
+    public ResponseEntity<Slice<DepositResponse>> getDeposits(
             @RequestParam(defaultValue = "ACTIVE") String status,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        Page<DepositResponse> deposits = depositService.getDepositsByStatus(
-                status, PageRequest.of(page, size)
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "true") boolean count) {
+        Slice<DepositResponse> deposits = depositService.getDepositsByStatus(
+                status, PageRequest.of(page, size), count
         );
         return ResponseEntity.ok(deposits);
     }
 
+    @GetMapping("/keyset")
+    public ResponseEntity<CursorPageResponse<DepositResponse>> getDepositPage(
+            @RequestParam(defaultValue = "ACTIVE") String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(depositService.getDepositPage(status, cursor, size));
+    }
+
     @PutMapping("/{id}/return")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<DepositResponse> returnDeposit(
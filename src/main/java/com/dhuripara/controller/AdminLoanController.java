@@ -4,13 +4,14 @@ import com.dhuripara.dto.request.LoanRequest;
 import com.dhuripara.dto.request.LoanClosureRequest;
 import com.dhuripara.dto.request.LoanUpdateRequest;
 import com.dhuripara.dto.request.LoanPaymentRequest;
+import com.dhuripara.dto.response.CursorPageResponse;
 import com.dhuripara.dto.response.LoanResponse;
 import com.dhuripara.dto.response.LoanPaymentResponse;
 import com.dhuripara.service.LoanService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -51,16 +52,25 @@ public class AdminLoanController {
     }
 
     @GetMapping
-    public ResponseEntity<Page<LoanResponse>> getLoans(
+    public ResponseEntity<Slice<LoanResponse>> getLoans(
             @RequestParam(defaultValue = "ACTIVE") String status,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        Page<LoanResponse> loans = loanService.getLoansByStatus(
-                status, PageRequest.of(page, size)
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "true") boolean count) {
+        Slice<LoanResponse> loans = loanService.getLoansByStatus(
+                status, PageRequest.of(page, size), count
         );
         return ResponseEntity.ok(loans);
     }
 
+    @GetMapping("/keyset")
+    public ResponseEntity<CursorPageResponse<LoanResponse>> getLoanPage(
+            @RequestParam(defaultValue = "ACTIVE") String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(loanService.getLoanPage(status, cursor, size));
+    }
+
     @PostMapping("/{id}/payments")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<LoanPaymentResponse> addPayment(
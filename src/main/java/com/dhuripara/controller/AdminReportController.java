@@ -1,13 +1,23 @@
 package com.dhuripara.controller;
 
 
+import com.dhuripara.dto.response.BankAggregateCheckResponse;
 import com.dhuripara.dto.response.MemberStatementResponse;
 import com.dhuripara.dto.response.YearlySettlementResponse;
+import com.dhuripara.model.BankAggregate;
+import com.dhuripara.service.BankAggregateService;
+import com.dhuripara.service.ReportExportService;
 import com.dhuripara.service.ReportService;
+import com.dhuripara.util.ExportWriter;
+import com.dhuripara.util.InterestCalculator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.UUID;
 
@@ -19,6 +29,8 @@ import java.util.UUID;
 public class AdminReportController {
 
     private final ReportService reportService;
+    private final BankAggregateService bankAggregateService;
+    private final ReportExportService reportExportService;
 
     @GetMapping("/members/{memberId}/statement")
     public ResponseEntity<MemberStatementResponse> getMemberStatement(
@@ -28,10 +40,68 @@ public class AdminReportController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/members/{memberId}/statement/export")
+    public ResponseEntity<StreamingResponseBody> exportMemberStatement(
+            @PathVariable UUID memberId,
+            @RequestParam(required = false) String format) {
+        ExportWriter.Format exportFormat = ExportWriter.Format.parse(format);
+        reportExportService.requireMember(memberId);
+        return export(exportFormat, "statement-" + memberId,
+                out -> reportExportService.exportMemberStatement(memberId, exportFormat, out));
+    }
+
+    @GetMapping("/statements/export")
+    public ResponseEntity<StreamingResponseBody> exportStatements(
+            @RequestParam(required = false) String year,
+            @RequestParam(required = false) String format) {
+        ExportWriter.Format exportFormat = ExportWriter.Format.parse(format);
+        String financialYear = year != null ? year : InterestCalculator.getCurrentFinancialYear();
+        return export(exportFormat, "statements-" + financialYear,
+                out -> reportExportService.exportStatements(financialYear, exportFormat, out));
+    }
+
+    @GetMapping("/ledgers/deposits/export")
+    public ResponseEntity<StreamingResponseBody> exportDepositLedger(
+            @RequestParam(required = false) String year,
+            @RequestParam(required = false) String format) {
+        ExportWriter.Format exportFormat = ExportWriter.Format.parse(format);
+        return export(exportFormat, "deposits-" + (year != null ? year : "all"),
+                out -> reportExportService.exportDepositLedger(year, exportFormat, out));
+    }
+
+    @GetMapping("/ledgers/loans/export")
+    public ResponseEntity<StreamingResponseBody> exportLoanLedger(
+            @RequestParam(required = false) String year,
+            @RequestParam(required = false) String format) {
+        ExportWriter.Format exportFormat = ExportWriter.Format.parse(format);
+        return export(exportFormat, "loans-" + (year != null ? year : "all"),
+                out -> reportExportService.exportLoanLedger(year, exportFormat, out));
+    }
+
+    private static ResponseEntity<StreamingResponseBody> export(ExportWriter.Format format, String baseName,
+                                                                StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(format.fileName(baseName)).build().toString())
+                .body(body);
+    }
+
     @GetMapping("/yearly-settlement")
     public ResponseEntity<YearlySettlementResponse> getYearlySettlement(
             @RequestParam(required = false) String year) {
         YearlySettlementResponse response = reportService.getYearlySettlement(year);
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+
+    @GetMapping("/aggregates/verify")
+    public ResponseEntity<BankAggregateCheckResponse> verifyAggregates() {
+        return ResponseEntity.ok(bankAggregateService.verify());
+    }
+
+    @PostMapping("/aggregates/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BankAggregate> rebuildAggregates() {
+        return ResponseEntity.ok(bankAggregateService.rebuild());
+    }
+}
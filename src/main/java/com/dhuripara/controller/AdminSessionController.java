@@ -8,6 +8,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -24,8 +25,11 @@ public class AdminSessionController {
     @GetMapping
     public ResponseEntity<List<SessionResponse>> getAllActiveSessions() {
         List<UserSession> sessions = sessionService.getAllActiveSessions();
+        // Re-sort after merging in activity that has not been flushed yet
         List<SessionResponse> responses = sessions.stream()
                 .map(this::convertToResponse)
+                .sorted(Comparator.comparing(SessionResponse::getLastActivity,
+                        Comparator.nullsLast(Comparator.reverseOrder())))
                 .collect(Collectors.toList());
         return ResponseEntity.ok(responses);
     }
@@ -87,7 +91,7 @@ public class AdminSessionController {
                 .userAgent(session.getUserAgent())
                 .deviceInfo(session.getDeviceInfo())
                 .loginTime(session.getLoginTime())
-                .lastActivity(session.getLastActivity())
+                .lastActivity(sessionService.getLastActivity(session))
                 .isActive(session.getIsActive())
                 .build();
     }
@@ -0,0 +1,93 @@
+package com.dhuripara.controller;
+
+import com.dhuripara.dto.response.SettlementJobResponse;
+import com.dhuripara.dto.response.SettlementPreviewResponse;
+import com.dhuripara.model.SettlementJob;
+import com.dhuripara.service.SettlementJobService;
+import com.dhuripara.service.SettlementPreviewService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/admin/settlement")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@PreAuthorize("hasAnyRole('ADMIN', 'OPERATOR')")
+public class AdminSettlementController {
+
+    private final SettlementJobService settlementJobService;
+    private final SettlementPreviewService settlementPreviewService;
+
+    @PostMapping("/jobs")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SettlementJobResponse> startSettlement(Authentication authentication) {
+        SettlementJob job = settlementJobService.start(authentication.getName());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(convertToResponse(job));
+    }
+
+    @PostMapping("/jobs/{id}/resume")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SettlementJobResponse> resumeSettlement(@PathVariable UUID id) {
+        SettlementJob job = settlementJobService.resume(id);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(convertToResponse(job));
+    }
+
+    @GetMapping("/jobs")
+    public ResponseEntity<List<SettlementJobResponse>> getRecentJobs() {
+        return ResponseEntity.ok(settlementJobService.getRecentJobs().stream()
+                .map(AdminSettlementController::convertToResponse)
+                .toList());
+    }
+
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<SettlementJobResponse> getJob(@PathVariable UUID id) {
+        return ResponseEntity.ok(convertToResponse(settlementJobService.getJob(id)));
+    }
+
+    @GetMapping("/preview")
+    public ResponseEntity<SettlementPreviewResponse> previewSettlement(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate settlementDate,
+            @RequestParam(required = false) String financialYear,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(settlementPreviewService.preview(settlementDate, financialYear, page, size));
+    }
+
+    private static SettlementJobResponse convertToResponse(SettlementJob job) {
+        SettlementJobResponse response = new SettlementJobResponse();
+        response.setId(job.getId());
+        response.setFinancialYear(job.getFinancialYear());
+        response.setNextFinancialYear(job.getNextFinancialYear());
+        response.setSettlementDate(job.getSettlementDate());
+        response.setStatus(job.getStatus());
+        response.setPhase(job.getPhase());
+        response.setTotalDeposits(job.getTotalDeposits());
+        response.setDepositsProcessed(job.getDepositsProcessed());
+        response.setTotalLoans(job.getTotalLoans());
+        response.setLoansProcessed(job.getLoansProcessed());
+        int total = job.getTotalDeposits() + job.getTotalLoans();
+        int done = job.getDepositsProcessed() + job.getLoansProcessed();
+        response.setPercentComplete(SettlementJob.COMPLETED.equals(job.getStatus()) || total == 0
+                ? 100 : Math.min(99, done * 100 / total));
+        response.setDepositPrincipal(job.getDepositPrincipal());
+        response.setDepositInterest(job.getDepositInterest());
+        response.setLoanPrincipal(job.getLoanPrincipal());
+        response.setLoanInterest(job.getLoanInterest());
+        response.setErrorMessage(job.getErrorMessage());
+        response.setCreatedBy(job.getCreatedBy());
+        response.setCreatedAt(job.getCreatedAt());
+        response.setStartedAt(job.getStartedAt());
+        response.setUpdatedAt(job.getUpdatedAt());
+        response.setCompletedAt(job.getCompletedAt());
+        return response;
+    }
+}
@@ -1,18 +1,25 @@
 package com.dhuripara.controller;
 
+import com.dhuripara.dto.request.VdfCategoryRequest;
+import com.dhuripara.dto.request.VdfCollectionDayRequest;
 import com.dhuripara.dto.request.VdfContributionRequest;
 import com.dhuripara.dto.request.VdfDepositRequest;
 import com.dhuripara.dto.request.VdfExpenseRequest;
 import com.dhuripara.dto.request.VdfFamilyConfigRequest;
+import com.dhuripara.dto.request.VdfMonthlyConfigRequest;
 import com.dhuripara.dto.response.*;
 import com.dhuripara.model.VdfExpenseCategory;
 import com.dhuripara.model.VdfFamilyConfig;
+import com.dhuripara.model.VdfMonthlyConfig;
+import com.dhuripara.service.VdfCollectionDayService;
+import com.dhuripara.service.VdfReferenceDataCache;
 import com.dhuripara.service.VdfService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
@@ -28,6 +35,7 @@ import java.util.UUID;
 public class VdfAdminController {
 
     private final VdfService vdfService;
+    private final VdfCollectionDayService collectionDayService;
 
     // ==================== DEPOSITS ====================
 
@@ -135,6 +143,34 @@ public class VdfAdminController {
         return ResponseEntity.ok().build();
     }
 
+    // ==================== MONTHLY CONFIG ====================
+
+    @GetMapping("/monthly-configs")
+    public ResponseEntity<List<VdfReferenceDataCache.MonthlyConfig>> getMonthlyConfigs() {
+        return ResponseEntity.ok(vdfService.getMonthlyConfigs());
+    }
+
+    @PostMapping("/monthly-configs")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<VdfMonthlyConfig> saveMonthlyConfig(@Valid @RequestBody VdfMonthlyConfigRequest request) {
+        VdfMonthlyConfig config = vdfService.createOrUpdateMonthlyConfig(request);
+        return ResponseEntity.ok(config);
+    }
+
+    @DeleteMapping("/monthly-configs/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> deleteMonthlyConfig(@PathVariable UUID id) {
+        vdfService.deleteMonthlyConfig(id);
+        return ResponseEntity.ok().build();
+    }
+
+    @PostMapping("/balances/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Integer>> rebuildBalances() {
+        int families = vdfService.rebuildBalances();
+        return ResponseEntity.ok(Map.of("families", families));
+    }
+
     // ==================== CONTRIBUTIONS ====================
 
     @PostMapping("/contributions")
@@ -155,6 +191,14 @@ public class VdfAdminController {
         }
     }
 
+    @PostMapping("/contributions/collection-day")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<VdfCollectionDayResponse> recordCollectionDay(
+            @Valid @RequestBody VdfCollectionDayRequest request, Authentication authentication) {
+        VdfCollectionDayResponse response = collectionDayService.recordCollectionDay(request, authentication.getName());
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/contributions/family/{familyConfigId}")
     public ResponseEntity<List<VdfContributionResponse>> getFamilyContributions(
             @PathVariable UUID familyConfigId,
@@ -195,7 +239,7 @@ public class VdfAdminController {
     }
 
     @GetMapping("/expense-categories")
-    public ResponseEntity<List<VdfExpenseCategory>> getExpenseCategories() {
+    public ResponseEntity<List<VdfReferenceDataCache.ExpenseCategory>> getExpenseCategories() {
         return ResponseEntity.ok(vdfService.getExpenseCategories());
     }
 
@@ -204,6 +248,34 @@ public class VdfAdminController {
         return ResponseEntity.ok(vdfService.getDepositCategories());
     }
 
+    @PostMapping("/deposit-categories")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<VdfDepositCategoryResponse> createDepositCategory(@Valid @RequestBody VdfCategoryRequest request) {
+        VdfDepositCategoryResponse category = vdfService.createDepositCategory(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(category);
+    }
+
+    @PutMapping("/deposit-categories/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<VdfDepositCategoryResponse> updateDepositCategory(
+            @PathVariable UUID id, @Valid @RequestBody VdfCategoryRequest request) {
+        return ResponseEntity.ok(vdfService.updateDepositCategory(id, request));
+    }
+
+    @PostMapping("/expense-categories")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<VdfExpenseCategory> createExpenseCategory(@Valid @RequestBody VdfCategoryRequest request) {
+        VdfExpenseCategory category = vdfService.createExpenseCategory(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(category);
+    }
+
+    @PutMapping("/expense-categories/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<VdfExpenseCategory> updateExpenseCategory(
+            @PathVariable UUID id, @Valid @RequestBody VdfCategoryRequest request) {
+        return ResponseEntity.ok(vdfService.updateExpenseCategory(id, request));
+    }
+
     @PutMapping("/expenses/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<VdfExpenseResponse> updateExpense(
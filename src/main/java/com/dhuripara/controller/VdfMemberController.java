@@ -1,5 +1,7 @@
 package com.dhuripara.controller;
 
+import com.dhuripara.dto.response.CursorPageResponse;
+import com.dhuripara.dto.response.VdfContributionResponse;
 import com.dhuripara.model.VdfContribution;
 import com.dhuripara.service.VdfService;
 import lombok.RequiredArgsConstructor;
@@ -36,4 +38,14 @@ public class VdfMemberController {
         com.dhuripara.dto.response.MemberVdfAccountResponse resp = vdfService.getMemberVdfAccount(memberId);
         return ResponseEntity.ok(resp);
     }
+
+    @GetMapping("/account/contributions")
+    public ResponseEntity<CursorPageResponse<VdfContributionResponse>> getMyContributionHistory(
+            Authentication authentication,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        String username = authentication.getName();
+        UUID memberId = UUID.fromString(username.replace("MEMBER_", ""));
+        return ResponseEntity.ok(vdfService.getMemberContributionHistory(memberId, cursor, size));
+    }
 }
@@ -1,18 +1,31 @@
 package com.dhuripara.controller;
 
+import com.dhuripara.dto.response.CursorPageResponse;
 import com.dhuripara.dto.response.VdfDepositResponse;
 import com.dhuripara.dto.response.VdfExpenseResponse;
 import com.dhuripara.dto.response.VdfFamilyMonthlySummaryResponse;
 import com.dhuripara.dto.response.VdfFamilyConfigResponse;
 import com.dhuripara.dto.response.VdfSummaryResponse;
 import com.dhuripara.dto.response.VdfDepositCategoryResponse;
-import com.dhuripara.model.VdfExpenseCategory;
+import com.dhuripara.service.VdfDataVersion;
+import com.dhuripara.service.VdfExpenseHistoryService;
+import com.dhuripara.service.VdfReferenceDataCache;
 import com.dhuripara.service.VdfService;
+import com.dhuripara.util.ConditionalGet;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+
 @RestController
 @RequestMapping("/api/public/vdf")
 @RequiredArgsConstructor
@@ -20,65 +33,97 @@ import java.util.List;
 class VdfPublicController {
 
     private final VdfService vdfService;
+    private final VdfDataVersion dataVersion;
+    private final VdfExpenseHistoryService expenseHistoryService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("/summary")
-    public ResponseEntity<VdfSummaryResponse> getSummary() {
-        VdfSummaryResponse summary = vdfService.getSummary();
-        return ResponseEntity.ok(summary);
+    public ResponseEntity<VdfSummaryResponse> getSummary(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = dataVersion.etag("summary", java.time.LocalDate.now().getYear());
+        return ConditionalGet.respond(ifNoneMatch, etag, vdfService::getSummary);
     }
 
     @GetMapping("/deposits")
     public ResponseEntity<List<VdfDepositResponse>> getDeposits(
-            @RequestParam(required = false) Integer year) {
-        if (year == null) {
-            year = java.time.LocalDate.now().getYear();
-        }
-        List<VdfDepositResponse> deposits = vdfService.getDepositsByYear(year);
-        return ResponseEntity.ok(deposits);
+            @RequestParam(required = false) Integer year,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        int resolvedYear = year != null ? year : java.time.LocalDate.now().getYear();
+        String etag = dataVersion.etag("deposits", resolvedYear);
+        return ConditionalGet.respond(ifNoneMatch, etag, () -> vdfService.getDepositsByYear(resolvedYear));
     }
 
     @GetMapping("/expenses")
-    public ResponseEntity<List<VdfExpenseResponse>> getExpenses(
-            @RequestParam(required = false) Integer year) {
-        // If year is not specified, return all expenses (all years)
+    public ResponseEntity<?> getExpenses(
+            @RequestParam(required = false) Integer year,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // If year is not specified, stream the last 5 years from one range query
         if (year == null) {
-            List<VdfExpenseResponse> allExpenses = new java.util.ArrayList<>();
             int currentYear = java.time.LocalDate.now().getYear();
-            // Fetch expenses from last 5 years
-            for (int i = 0; i < 5; i++) {
-                int yearToFetch = currentYear - i;
-                allExpenses.addAll(vdfService.getExpensesByYear(yearToFetch));
-            }
-            return ResponseEntity.ok(allExpenses);
+            java.time.LocalDate from = java.time.LocalDate.of(currentYear - 4, 1, 1);
+            java.time.LocalDate to = java.time.LocalDate.of(currentYear, 12, 31);
+            String etag = dataVersion.etag("expenses", "recent", currentYear);
+            return ConditionalGet.respond(ifNoneMatch, etag, MediaType.APPLICATION_JSON, () -> streamExpenses(from, to));
         }
-        List<VdfExpenseResponse> expenses = vdfService.getExpensesByYear(year);
-        return ResponseEntity.ok(expenses);
+        String etag = dataVersion.etag("expenses", year);
+        return ConditionalGet.respond(ifNoneMatch, etag, () -> vdfService.getExpensesByYear(year));
+    }
+
+    @GetMapping("/expenses/range")
+    public ResponseEntity<CursorPageResponse<VdfExpenseResponse>> getExpenseRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) java.time.LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) java.time.LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = dataVersion.etag("expenses-range", from, to, cursor, size);
+        return ConditionalGet.respond(ifNoneMatch, etag, () -> expenseHistoryService.getExpensePage(from, to, cursor, size));
+    }
+
+    // Writes a JSON array row by row while the range query is still being read
+    private StreamingResponseBody streamExpenses(java.time.LocalDate from, java.time.LocalDate to) {
+        return out -> {
+            try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+                json.writeStartArray();
+                expenseHistoryService.streamExpenses(from, to, expense -> {
+                    try {
+                        json.writeObject(expense);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                json.writeEndArray();
+            }
+        };
     }
 
     @GetMapping("/contributions/monthly-matrix")
     public ResponseEntity<List<VdfFamilyMonthlySummaryResponse>> getMonthlyMatrix(
-            @RequestParam(required = false) Integer year) {
-        if (year == null) {
-            year = java.time.LocalDate.now().getYear();
-        }
-        List<VdfFamilyMonthlySummaryResponse> matrix = vdfService.getMonthlyContributionMatrix(year);
-        return ResponseEntity.ok(matrix);
+            @RequestParam(required = false) Integer year,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        int resolvedYear = year != null ? year : java.time.LocalDate.now().getYear();
+        // pending months and all-time dues move with the calendar month
+        String etag = dataVersion.etag("matrix", resolvedYear, java.time.YearMonth.now());
+        return ConditionalGet.respond(ifNoneMatch, etag, () -> vdfService.getMonthlyContributionMatrix(resolvedYear));
     }
 
     @GetMapping("/deposit-categories")
-    public ResponseEntity<List<VdfDepositCategoryResponse>> getDepositCategories() {
-        return ResponseEntity.ok(vdfService.getDepositCategories());
+    public ResponseEntity<List<VdfDepositCategoryResponse>> getDepositCategories(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return ConditionalGet.respond(ifNoneMatch, dataVersion.etag("deposit-categories"), vdfService::getDepositCategories);
     }
 
     @GetMapping("/expense-categories")
-    public ResponseEntity<List<VdfExpenseCategory>> getExpenseCategories() {
-        return ResponseEntity.ok(vdfService.getExpenseCategories());
+    public ResponseEntity<List<VdfReferenceDataCache.ExpenseCategory>> getExpenseCategories(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return ConditionalGet.respond(ifNoneMatch, dataVersion.etag("expense-categories"), vdfService::getExpenseCategories);
     }
 
     @GetMapping("/families")
     public ResponseEntity<List<com.dhuripara.dto.response.VdfFamilyConfigResponse>> getFamilies(
-            @RequestParam(required = false, defaultValue = "false") Boolean activeOnly) {
-        List<com.dhuripara.dto.response.VdfFamilyConfigResponse> families = vdfService.getAllFamilies(activeOnly);
-        return ResponseEntity.ok(families);
+            @RequestParam(required = false, defaultValue = "false") Boolean activeOnly,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = dataVersion.etag("families", activeOnly, java.time.YearMonth.now());
+        return ConditionalGet.respond(ifNoneMatch, etag, () -> vdfService.getAllFamilies(activeOnly));
     }
-}
\ No newline at end of file
+}
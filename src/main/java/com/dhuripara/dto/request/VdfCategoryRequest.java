@@ -0,0 +1,19 @@
+package com.dhuripara.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class VdfCategoryRequest {
+    @NotBlank(message = "Category name is required")
+    @Size(max = 100, message = "Category name must be at most 100 characters")
+    private String categoryName;
+
+    @Size(max = 100, message = "Bengali category name must be at most 100 characters")
+    private String categoryNameBn;
+
+    private String description;
+
+    private Boolean isActive;
+}
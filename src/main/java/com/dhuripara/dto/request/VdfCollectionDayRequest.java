@@ -0,0 +1,32 @@
+package com.dhuripara.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class VdfCollectionDayRequest {
+    @NotNull(message = "Payment date is required")
+    private LocalDate paymentDate;
+
+    private String notes;
+
+    // Entries are validated one by one in the service so a bad row does not reject the whole batch
+    @NotEmpty(message = "At least one entry is required")
+    @Size(max = 5000, message = "At most 5000 entries per request")
+    private List<Entry> entries;
+
+    @Data
+    public static class Entry {
+        private UUID familyConfigId;
+        private Integer year;
+        private Integer month;  // 1-12
+        private BigDecimal amount; // zero removes an existing contribution
+    }
+}
@@ -0,0 +1,11 @@
+package com.dhuripara.dto.response;
+
+import com.dhuripara.service.BankAggregateDelta;
+import lombok.Data;
+
+@Data
+public class BankAggregateCheckResponse {
+    private boolean consistent;
+    private BankAggregateDelta stored;   // null if the row has not been built yet
+    private BankAggregateDelta computed;
+}
@@ -0,0 +1,16 @@
+package com.dhuripara.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageResponse<T> {
+    private List<T> content;
+    private String nextCursor; // pass back to fetch the next page, null on the last page
+    private boolean hasMore;
+}
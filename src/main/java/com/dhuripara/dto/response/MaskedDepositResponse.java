@@ -1,12 +1,16 @@
 package com.dhuripara.dto.response;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.UUID;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class MaskedDepositResponse {
     private UUID id;
     private String memberName; // Masked
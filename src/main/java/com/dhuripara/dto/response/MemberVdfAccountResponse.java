@@ -10,5 +10,6 @@ public class MemberVdfAccountResponse {
     private BigDecimal totalPaidAllTime;
     private BigDecimal totalDueAllTime;
     private BigDecimal currentYearDue;
-    private List<VdfContributionResponse> contributions;
+    private List<VdfContributionResponse> contributions; // newest first, first page only
+    private String contributionsNextCursor; // null when contributions holds the full history
 }
@@ -0,0 +1,33 @@
+package com.dhuripara.dto.response;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+public class SettlementJobResponse {
+    private UUID id;
+    private String financialYear;
+    private String nextFinancialYear;
+    private LocalDate settlementDate;
+    private String status;
+    private String phase;
+    private Integer totalDeposits;
+    private Integer depositsProcessed;
+    private Integer totalLoans;
+    private Integer loansProcessed;
+    private Integer percentComplete;
+    private BigDecimal depositPrincipal;
+    private BigDecimal depositInterest;
+    private BigDecimal loanPrincipal;
+    private BigDecimal loanInterest;
+    private String errorMessage;
+    private String createdBy;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,40 @@
+package com.dhuripara.dto.response;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class SettlementPreviewResponse {
+    private String financialYear;
+    private LocalDate settlementDate;
+    private int depositCount;
+    private int loanCount;
+    private int memberCount;
+    private BigDecimal totalDepositPrincipal;
+    private BigDecimal totalDepositInterest;   // interest the bank would pay
+    private BigDecimal totalLoanPrincipal;
+    private BigDecimal totalLoanInterest;      // interest the bank would charge
+    private BigDecimal totalCarryForward;      // amount of the new loans opened in the next year
+    private BigDecimal netBalance;             // loan interest minus deposit interest
+    private int page;
+    private int size;
+    private int totalPages;
+    private List<MemberLine> members;          // sorted by member name
+
+    @Data
+    public static class MemberLine {
+        private UUID memberId;
+        private String memberName;
+        private int depositCount;
+        private BigDecimal depositPrincipal;
+        private BigDecimal depositInterest;
+        private int loanCount;
+        private BigDecimal loanPrincipal;
+        private BigDecimal loanInterest;
+        private BigDecimal carryForwardAmount;
+    }
+}
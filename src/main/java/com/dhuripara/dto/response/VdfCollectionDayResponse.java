@@ -0,0 +1,30 @@
+package com.dhuripara.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class VdfCollectionDayResponse {
+    private int accepted;
+    private int rejected;
+    private int depositsCreated;
+    private BigDecimal totalCollected;
+    private List<RowResult> results;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowResult {
+        private int index; // position in the request's entries list
+        private UUID familyConfigId;
+        private Integer year;
+        private Integer month;
+        private String status; // CREATED, UPDATED, DELETED, UNCHANGED or REJECTED
+        private String message;
+    }
+}
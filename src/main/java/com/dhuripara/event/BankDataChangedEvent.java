@@ -0,0 +1,8 @@
+package com.dhuripara.event;
+
+/**
+ * Published whenever bank deposits or loans are written, including settlement chunks.
+ * Listeners holding derived bank data (yearly settlement reports) drop it once the write commits.
+ */
+public record BankDataChangedEvent(String source) {
+}
@@ -0,0 +1,8 @@
+package com.dhuripara.event;
+
+/**
+ * Published whenever VDF deposits, expenses, contributions or family configs are written.
+ * Listeners holding derived VDF data (summaries, ETags) drop it once the write commits.
+ */
+public record VdfDataChangedEvent(String source) {
+}
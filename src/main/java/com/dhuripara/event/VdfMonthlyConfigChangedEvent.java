@@ -0,0 +1,7 @@
+package com.dhuripara.event;
+
+/**
+ * Published when a VDF monthly config (required amount for a month) is created, updated or deleted.
+ */
+public record VdfMonthlyConfigChangedEvent(String monthYear) {
+}
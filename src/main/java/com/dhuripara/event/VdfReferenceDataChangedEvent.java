@@ -0,0 +1,10 @@
+package com.dhuripara.event;
+
+/**
+ * Published when VDF deposit or expense categories are created or updated.
+ */
+public record VdfReferenceDataChangedEvent(String type) {
+
+    public static final String DEPOSIT_CATEGORIES = "deposit-categories";
+    public static final String EXPENSE_CATEGORIES = "expense-categories";
+}
@@ -0,0 +1,69 @@
+package com.dhuripara.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Single-row running totals behind the public bank summary, kept in step with deposit, loan
+ * and settlement writes by BankAggregateService.
+ */
+@Entity
+@Table(name = "bank_aggregates")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BankAggregate {
+
+    public static final int SINGLETON_ID = 1;
+
+    @Id
+    @Column(name = "id", nullable = false)
+    private Integer id = SINGLETON_ID;
+
+    @Column(name = "deposits_collected", nullable = false, precision = 14, scale = 2)
+    private BigDecimal depositsCollected = BigDecimal.ZERO;
+
+    @Column(name = "deposit_principal_returned", nullable = false, precision = 14, scale = 2)
+    private BigDecimal depositPrincipalReturned = BigDecimal.ZERO;
+
+    @Column(name = "deposit_interest_paid", nullable = false, precision = 14, scale = 2)
+    private BigDecimal depositInterestPaid = BigDecimal.ZERO;
+
+    @Column(name = "loans_disbursed", nullable = false, precision = 14, scale = 2)
+    private BigDecimal loansDisbursed = BigDecimal.ZERO;
+
+    @Column(name = "loan_repayments_received", nullable = false, precision = 14, scale = 2)
+    private BigDecimal loanRepaymentsReceived = BigDecimal.ZERO;
+
+    @Column(name = "closed_loan_repayment", nullable = false, precision = 14, scale = 2)
+    private BigDecimal closedLoanRepayment = BigDecimal.ZERO;
+
+    @Column(name = "loan_interest_received", nullable = false, precision = 14, scale = 2)
+    private BigDecimal loanInterestReceived = BigDecimal.ZERO;
+
+    @Column(name = "active_deposits_count", nullable = false)
+    private Long activeDepositsCount = 0L;
+
+    @Column(name = "active_deposits_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal activeDepositsAmount = BigDecimal.ZERO;
+
+    @Column(name = "active_loans_count", nullable = false)
+    private Long activeLoansCount = 0L;
+
+    @Column(name = "active_loans_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal activeLoansAmount = BigDecimal.ZERO;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+}
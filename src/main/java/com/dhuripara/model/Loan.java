@@ -71,6 +71,11 @@ public class Loan {
     @Column(name = "notes", columnDefinition = "TEXT")
     private String notes;
 
+    // Optimistic lock: concurrent read-modify-write of the same row fails on commit instead of losing an update
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
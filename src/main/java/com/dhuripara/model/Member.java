@@ -1,5 +1,6 @@
 package com.dhuripara.model;
 
+import com.dhuripara.util.NameMaskingUtil;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -35,6 +36,10 @@ public class Member {
     @Column(name = "last_name_bn", length = 100)
     private String lastNameBn;
 
+    // Public display name (see NameMaskingUtil), kept in step with first/last name on every write
+    @Column(name = "masked_name")
+    private String maskedName;
+
     @Column(name = "phone", length = 15)
     private String phone;
 
@@ -82,6 +87,10 @@ public class Member {
     @Column(name = "last_failed_login")
     private LocalDateTime lastFailedLogin;
 
+    // Carried in member tokens; raising it revokes every token issued before
+    @Column(name = "security_epoch", nullable = false)
+    private Long securityEpoch = 0L;
+
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
@@ -95,11 +104,13 @@ public class Member {
         if (joiningDate == null) {
             joiningDate = LocalDate.now();
         }
+        maskedName = NameMaskingUtil.maskName(firstName, lastName);
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        maskedName = NameMaskingUtil.maskName(firstName, lastName);
     }
 
     // Helper method to check if user is currently blocked
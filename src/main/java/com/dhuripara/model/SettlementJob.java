@@ -0,0 +1,113 @@
+package com.dhuripara.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.GenericGenerator;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One run of the financial-year settlement. Progress counters and totals are advanced by each
+ * committed chunk, so the row is also the checkpoint a restarted job resumes from. Only changed
+ * columns are written so status updates never overwrite a concurrent chunk's increments.
+ */
+@Entity
+@Table(name = "settlement_jobs")
+@DynamicUpdate
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SettlementJob {
+
+    public static final String PENDING = "PENDING";
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+
+    public static final String PHASE_DEPOSITS = "DEPOSITS";
+    public static final String PHASE_LOANS = "LOANS";
+    public static final String PHASE_FINALIZING = "FINALIZING";
+
+    @Id
+    @GeneratedValue(generator = "UUID")
+    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "financial_year", nullable = false, length = 10)
+    private String financialYear;
+
+    @Column(name = "next_financial_year", nullable = false, length = 10)
+    private String nextFinancialYear;
+
+    @Column(name = "settlement_date", nullable = false)
+    private LocalDate settlementDate;
+
+    @Column(name = "status", nullable = false, length = 20)
+    private String status = PENDING;
+
+    @Column(name = "phase", length = 20)
+    private String phase;
+
+    @Column(name = "chunk_size", nullable = false)
+    private Integer chunkSize;
+
+    @Column(name = "total_deposits", nullable = false)
+    private Integer totalDeposits = 0;
+
+    @Column(name = "deposits_processed", nullable = false)
+    private Integer depositsProcessed = 0;
+
+    @Column(name = "total_loans", nullable = false)
+    private Integer totalLoans = 0;
+
+    @Column(name = "loans_processed", nullable = false)
+    private Integer loansProcessed = 0;
+
+    @Column(name = "deposit_principal", nullable = false, precision = 15, scale = 2)
+    private BigDecimal depositPrincipal = BigDecimal.ZERO;
+
+    @Column(name = "deposit_interest", nullable = false, precision = 15, scale = 2)
+    private BigDecimal depositInterest = BigDecimal.ZERO;
+
+    @Column(name = "loan_principal", nullable = false, precision = 15, scale = 2)
+    private BigDecimal loanPrincipal = BigDecimal.ZERO;
+
+    @Column(name = "loan_interest", nullable = false, precision = 15, scale = 2)
+    private BigDecimal loanInterest = BigDecimal.ZERO;
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    @Column(name = "created_by", length = 100)
+    private String createdBy;
+
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
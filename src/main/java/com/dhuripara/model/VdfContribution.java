@@ -12,7 +12,9 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "vdf_contributions")
+@Table(name = "vdf_contributions", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_vdf_contributions_family_year_month", columnNames = {"family_id", "year", "month"})
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
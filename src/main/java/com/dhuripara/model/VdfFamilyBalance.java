@@ -0,0 +1,62 @@
+package com.dhuripara.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.GenericGenerator;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Running all-time VDF balance for one family, kept in step with contributions and exemptions.
+ * Only changed columns are written so required-side refreshes never overwrite a concurrent
+ * paid_to_date increment.
+ */
+@Entity
+@Table(name = "vdf_family_balances")
+@DynamicUpdate
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VdfFamilyBalance {
+
+    @Id
+    @GeneratedValue(generator = "UUID")
+    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
+    private UUID id;
+
+    @Column(name = "family_id", nullable = false, unique = true)
+    private UUID familyId;
+
+    @Column(name = "paid_to_date", nullable = false, precision = 12, scale = 2)
+    private BigDecimal paidToDate = BigDecimal.ZERO;
+
+    @Column(name = "required_to_date", nullable = false, precision = 12, scale = 2)
+    private BigDecimal requiredToDate = BigDecimal.ZERO;
+
+    @Column(name = "exempt_months", nullable = false)
+    private Integer exemptMonths = 0;
+
+    @Column(name = "last_paid_month", length = 7)
+    private String lastPaidMonth; // Format: "YYYY-MM"
+
+    @Column(name = "as_of_month", nullable = false, length = 7)
+    private String asOfMonth; // requiredToDate covers months up to and including this one
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    public BigDecimal getDueToDate() {
+        return requiredToDate.subtract(paidToDate).max(BigDecimal.ZERO);
+    }
+}
@@ -0,0 +1,52 @@
+package com.dhuripara.repository;
+
+import com.dhuripara.model.BankAggregate;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface BankAggregateRepository extends JpaRepository<BankAggregate, Integer> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM BankAggregate a WHERE a.id = :id")
+    Optional<BankAggregate> findForUpdate(@Param("id") Integer id);
+
+    // Atomic increments so concurrent deposit and loan writes never lose an update
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE BankAggregate a SET " +
+            "a.depositsCollected = a.depositsCollected + :depositsCollected, " +
+            "a.depositPrincipalReturned = a.depositPrincipalReturned + :depositPrincipalReturned, " +
+            "a.depositInterestPaid = a.depositInterestPaid + :depositInterestPaid, " +
+            "a.loansDisbursed = a.loansDisbursed + :loansDisbursed, " +
+            "a.loanRepaymentsReceived = a.loanRepaymentsReceived + :loanRepaymentsReceived, " +
+            "a.closedLoanRepayment = a.closedLoanRepayment + :closedLoanRepayment, " +
+            "a.loanInterestReceived = a.loanInterestReceived + :loanInterestReceived, " +
+            "a.activeDepositsCount = a.activeDepositsCount + :activeDepositsCount, " +
+            "a.activeDepositsAmount = a.activeDepositsAmount + :activeDepositsAmount, " +
+            "a.activeLoansCount = a.activeLoansCount + :activeLoansCount, " +
+            "a.activeLoansAmount = a.activeLoansAmount + :activeLoansAmount, " +
+            "a.updatedAt = :now " +
+            "WHERE a.id = :id")
+    int add(@Param("id") Integer id,
+            @Param("depositsCollected") BigDecimal depositsCollected,
+            @Param("depositPrincipalReturned") BigDecimal depositPrincipalReturned,
+            @Param("depositInterestPaid") BigDecimal depositInterestPaid,
+            @Param("loansDisbursed") BigDecimal loansDisbursed,
+            @Param("loanRepaymentsReceived") BigDecimal loanRepaymentsReceived,
+            @Param("closedLoanRepayment") BigDecimal closedLoanRepayment,
+            @Param("loanInterestReceived") BigDecimal loanInterestReceived,
+            @Param("activeDepositsCount") Long activeDepositsCount,
+            @Param("activeDepositsAmount") BigDecimal activeDepositsAmount,
+            @Param("activeLoansCount") Long activeLoansCount,
+            @Param("activeLoansAmount") BigDecimal activeLoansAmount,
+            @Param("now") LocalDateTime now);
+}
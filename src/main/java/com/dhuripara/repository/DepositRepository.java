@@ -1,27 +1,112 @@
 package com.dhuripara.repository;
 
+import com.dhuripara.dto.response.MaskedDepositResponse;
 import com.dhuripara.model.Deposit;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface DepositRepository extends JpaRepository<Deposit, UUID> {
 
     List<Deposit> findByStatusAndFinancialYear(String status, String financialYear);
 
+    long countByStatusAndFinancialYear(String status, String financialYear);
+
+    // Id keyset pages used to split settlement into chunks
+    @Query("SELECT d.id FROM Deposit d WHERE d.status = :status AND d.financialYear = :fy ORDER BY d.id")
+    List<UUID> findIdsFirstPage(@Param("status") String status, @Param("fy") String financialYear, Pageable pageable);
+
+    @Query("SELECT d.id FROM Deposit d WHERE d.status = :status AND d.financialYear = :fy AND d.id > :afterId ORDER BY d.id")
+    List<UUID> findIdsAfter(@Param("status") String status, @Param("fy") String financialYear,
+                            @Param("afterId") UUID afterId, Pageable pageable);
+
+    // Rows of {memberId, amount, depositDate} for the settlement preview; must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT d.member.id, d.amount, d.depositDate FROM Deposit d WHERE d.status = :status AND d.financialYear = :fy")
+    Stream<Object[]> streamSettlementRows(@Param("status") String status, @Param("fy") String financialYear);
+
+    // Whole ledger oldest first as scalar rows of the exported columns (in LEDGER_SELECT order), so nothing
+    // is held in the persistence context; cursor-backed, must be consumed inside a transaction
+    String LEDGER_SELECT = "SELECT d.id, m.id, m.firstName, m.lastName, m.firstNameBn, m.lastNameBn, d.financialYear, d.depositDate, " +
+            "d.amount, d.interestRate, d.status, d.returnDate, d.interestEarned, d.totalAmount, d.notes " +
+            "FROM Deposit d JOIN d.member m ";
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(LEDGER_SELECT + "ORDER BY d.depositDate, d.id")
+    Stream<Object[]> streamLedger();
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(LEDGER_SELECT + "WHERE d.financialYear = :fy ORDER BY d.depositDate, d.id")
+    Stream<Object[]> streamLedgerByYear(@Param("fy") String financialYear);
+
+    // Re-checks the status under a row lock so a resumed chunk skips rows already settled
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM Deposit d WHERE d.id IN :ids AND d.status = :status")
+    List<Deposit> findByIdInAndStatusForUpdate(@Param("ids") Collection<UUID> ids, @Param("status") String status);
+
     List<Deposit> findByMemberId(UUID memberId);
 
-    Page<Deposit> findByStatusOrderByDepositDateDesc(String status, Pageable pageable);
+    // Listing pages newest first; id breaks ties so offset, slice and keyset pages agree on order.
+    // Members are fetched in the same query for the mappers.
+    @EntityGraph(attributePaths = "member")
+    Page<Deposit> findByStatusOrderByDepositDateDescIdDesc(String status, Pageable pageable);
 
-    Page<Deposit> findAllByOrderByDepositDateDesc(Pageable pageable);
+    @EntityGraph(attributePaths = "member")
+    Page<Deposit> findAllByOrderByDepositDateDescIdDesc(Pageable pageable);
+
+    // Same pages without the count query
+    @EntityGraph(attributePaths = "member")
+    Slice<Deposit> findSliceByStatusOrderByDepositDateDescIdDesc(String status, Pageable pageable);
+
+    @EntityGraph(attributePaths = "member")
+    Slice<Deposit> findSliceByOrderByDepositDateDescIdDesc(Pageable pageable);
+
+    // Public list rows built straight from the needed columns and the member's stored masked name
+    @Query(value = "SELECT new com.dhuripara.dto.response.MaskedDepositResponse(d.id, " +
+            "COALESCE(m.maskedName, '******* *******'), d.amount, d.depositDate, d.status) " +
+            "FROM Deposit d JOIN d.member m ORDER BY d.depositDate DESC, d.id DESC",
+            countQuery = "SELECT COUNT(d) FROM Deposit d")
+    Page<MaskedDepositResponse> findMaskedPage(Pageable pageable);
+
+    // Keyset pages on (depositDate, id), newest first
+    @EntityGraph(attributePaths = "member")
+    @Query("SELECT d FROM Deposit d WHERE d.status = :status ORDER BY d.depositDate DESC, d.id DESC")
+    List<Deposit> findKeysetFirstPage(@Param("status") String status, Pageable pageable);
+
+    @EntityGraph(attributePaths = "member")
+    @Query("SELECT d FROM Deposit d WHERE d.status = :status " +
+            "AND (d.depositDate < :lastDate OR (d.depositDate = :lastDate AND d.id < :lastId)) " +
+            "ORDER BY d.depositDate DESC, d.id DESC")
+    List<Deposit> findKeysetPageAfter(@Param("status") String status, @Param("lastDate") LocalDate lastDate,
+                                      @Param("lastId") UUID lastId, Pageable pageable);
+
+    @EntityGraph(attributePaths = "member")
+    @Query("SELECT d FROM Deposit d ORDER BY d.depositDate DESC, d.id DESC")
+    List<Deposit> findAllKeysetFirstPage(Pageable pageable);
+
+    @EntityGraph(attributePaths = "member")
+    @Query("SELECT d FROM Deposit d WHERE d.depositDate < :lastDate OR (d.depositDate = :lastDate AND d.id < :lastId) " +
+            "ORDER BY d.depositDate DESC, d.id DESC")
+    List<Deposit> findAllKeysetPageAfter(@Param("lastDate") LocalDate lastDate, @Param("lastId") UUID lastId,
+                                         Pageable pageable);
 
     @Query("SELECT COALESCE(SUM(d.amount), 0) FROM Deposit d WHERE d.status = :status")
     BigDecimal getTotalDepositsByStatus(@Param("status") String status);
@@ -30,4 +115,9 @@ public interface DepositRepository extends JpaRepository<Deposit, UUID> {
     Long countByStatus(@Param("status") String status);
 
     List<Deposit> findByMemberIdOrderByDepositDateDesc(UUID memberId);
+
+    // Rows of {status, count, sum(amount), sum(interestEarned)} for rebuilding bank_aggregates
+    @Query("SELECT d.status, COUNT(d), COALESCE(SUM(d.amount), 0), COALESCE(SUM(d.interestEarned), 0) " +
+            "FROM Deposit d GROUP BY d.status")
+    List<Object[]> getTotalsByStatus();
 }
\ No newline at end of file
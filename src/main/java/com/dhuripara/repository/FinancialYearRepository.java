@@ -2,8 +2,11 @@ package com.dhuripara.repository;
 
 import com.dhuripara.model.FinancialYear;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -13,4 +16,14 @@ public interface FinancialYearRepository extends JpaRepository<FinancialYear, UU
     Optional<FinancialYear> findByYear(String year);
 
     Optional<FinancialYear> findByIsActiveTrue();
+
+    // One row of {sum(deposit amount), sum(deposit interest), sum(loan amount), sum(loan interest)}
+    // over the year's deposits and loans in the given status, for years without a financial_years row
+    @Query(value = "SELECT d.principal, d.interest, l.principal, l.interest FROM " +
+            "(SELECT COALESCE(SUM(amount), 0) AS principal, COALESCE(SUM(interest_earned), 0) AS interest " +
+            " FROM deposits WHERE status = :status AND financial_year = :year) d CROSS JOIN " +
+            "(SELECT COALESCE(SUM(loan_amount), 0) AS principal, COALESCE(SUM(interest_amount), 0) AS interest " +
+            " FROM loans WHERE status = :status AND financial_year = :year) l",
+            nativeQuery = true)
+    List<Object[]> getYearTotals(@Param("status") String status, @Param("year") String year);
 }
\ No newline at end of file
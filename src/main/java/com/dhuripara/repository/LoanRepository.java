@@ -1,29 +1,117 @@
 package com.dhuripara.repository;
 
+import com.dhuripara.dto.response.MaskedLoanResponse;
 import com.dhuripara.model.Loan;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface LoanRepository extends JpaRepository<Loan, UUID> {
 
     List<Loan> findByStatusAndFinancialYear(String status, String financialYear);
 
+    long countByStatusAndFinancialYear(String status, String financialYear);
+
+    // Id keyset pages used to split settlement into chunks
+    @Query("SELECT l.id FROM Loan l WHERE l.status = :status AND l.financialYear = :fy ORDER BY l.id")
+    List<UUID> findIdsFirstPage(@Param("status") String status, @Param("fy") String financialYear, Pageable pageable);
+
+    @Query("SELECT l.id FROM Loan l WHERE l.status = :status AND l.financialYear = :fy AND l.id > :afterId ORDER BY l.id")
+    List<UUID> findIdsAfter(@Param("status") String status, @Param("fy") String financialYear,
+                            @Param("afterId") UUID afterId, Pageable pageable);
+
+    // Rows of {memberId, loanAmount, loanDate, paidAmount} for the settlement preview; must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT l.member.id, l.loanAmount, l.loanDate, l.paidAmount FROM Loan l WHERE l.status = :status AND l.financialYear = :fy")
+    Stream<Object[]> streamSettlementRows(@Param("status") String status, @Param("fy") String financialYear);
+
+    // Whole ledger oldest first as scalar rows of the exported columns (in LEDGER_SELECT order), so nothing
+    // is held in the persistence context; cursor-backed, must be consumed inside a transaction
+    String LEDGER_SELECT = "SELECT l.id, m.id, m.firstName, m.lastName, m.firstNameBn, m.lastNameBn, l.financialYear, l.loanDate, " +
+            "l.loanAmount, l.interestRate, l.status, l.returnDate, l.interestAmount, l.totalRepayment, l.paidAmount, " +
+            "l.discountAmount, l.remainingAmount, l.notes " +
+            "FROM Loan l JOIN l.member m ";
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(LEDGER_SELECT + "ORDER BY l.loanDate, l.id")
+    Stream<Object[]> streamLedger();
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(LEDGER_SELECT + "WHERE l.financialYear = :fy ORDER BY l.loanDate, l.id")
+    Stream<Object[]> streamLedgerByYear(@Param("fy") String financialYear);
+
+    // Re-checks the status under a row lock so a resumed chunk skips loans already carried forward
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM Loan l WHERE l.id IN :ids AND l.status = :status")
+    List<Loan> findByIdInAndStatusForUpdate(@Param("ids") Collection<UUID> ids, @Param("status") String status);
+
     List<Loan> findByMemberId(UUID memberId);
 
     Page<Loan> findByStatus(String status, Pageable pageable);
 
     List<Loan> findByStatus(String status);
 
-    Page<Loan> findAllByOrderByLoanDateDesc(Pageable pageable);
+    // Listing pages newest first; id breaks ties so offset, slice and keyset pages agree on order.
+    // Members are fetched in the same query for the mappers.
+    @EntityGraph(attributePaths = "member")
+    Page<Loan> findByStatusOrderByLoanDateDescIdDesc(String status, Pageable pageable);
+
+    @EntityGraph(attributePaths = "member")
+    Page<Loan> findAllByOrderByLoanDateDescIdDesc(Pageable pageable);
+
+    // Same pages without the count query
+    @EntityGraph(attributePaths = "member")
+    Slice<Loan> findSliceByStatusOrderByLoanDateDescIdDesc(String status, Pageable pageable);
+
+    @EntityGraph(attributePaths = "member")
+    Slice<Loan> findSliceByOrderByLoanDateDescIdDesc(Pageable pageable);
+
+    // Public list rows built straight from the needed columns and the member's stored masked name
+    @Query(value = "SELECT new com.dhuripara.dto.response.MaskedLoanResponse(l.id, " +
+            "COALESCE(m.maskedName, '******* *******'), l.loanAmount, l.loanDate, l.status) " +
+            "FROM Loan l JOIN l.member m ORDER BY l.loanDate DESC, l.id DESC",
+            countQuery = "SELECT COUNT(l) FROM Loan l")
+    Page<MaskedLoanResponse> findMaskedPage(Pageable pageable);
+
+    // Keyset pages on (loanDate, id), newest first
+    @EntityGraph(attributePaths = "member")
+    @Query("SELECT l FROM Loan l WHERE l.status = :status ORDER BY l.loanDate DESC, l.id DESC")
+    List<Loan> findKeysetFirstPage(@Param("status") String status, Pageable pageable);
+
+    @EntityGraph(attributePaths = "member")
+    @Query("SELECT l FROM Loan l WHERE l.status = :status " +
+            "AND (l.loanDate < :lastDate OR (l.loanDate = :lastDate AND l.id < :lastId)) " +
+            "ORDER BY l.loanDate DESC, l.id DESC")
+    List<Loan> findKeysetPageAfter(@Param("status") String status, @Param("lastDate") LocalDate lastDate,
+                                   @Param("lastId") UUID lastId, Pageable pageable);
+
+    @EntityGraph(attributePaths = "member")
+    @Query("SELECT l FROM Loan l ORDER BY l.loanDate DESC, l.id DESC")
+    List<Loan> findAllKeysetFirstPage(Pageable pageable);
+
+    @EntityGraph(attributePaths = "member")
+    @Query("SELECT l FROM Loan l WHERE l.loanDate < :lastDate OR (l.loanDate = :lastDate AND l.id < :lastId) " +
+            "ORDER BY l.loanDate DESC, l.id DESC")
+    List<Loan> findAllKeysetPageAfter(@Param("lastDate") LocalDate lastDate, @Param("lastId") UUID lastId,
+                                      Pageable pageable);
 
     @Query("SELECT COALESCE(SUM(l.loanAmount), 0) FROM Loan l WHERE l.status = :status")
     BigDecimal getTotalLoansByStatus(@Param("status") String status);
@@ -32,5 +120,9 @@ public interface LoanRepository extends JpaRepository<Loan, UUID> {
     Long countByStatus(@Param("status") String status);
 
     List<Loan> findByMemberIdOrderByLoanDateDesc(UUID memberId);
-    Page<Loan> findByStatusOrderByLoanDateDesc(String status, Pageable pageable);
+
+    // Rows of {status, count, sum(loanAmount), sum(paidAmount), sum(totalRepayment), sum(interestAmount)}
+    @Query("SELECT l.status, COUNT(l), COALESCE(SUM(l.loanAmount), 0), COALESCE(SUM(l.paidAmount), 0), " +
+            "COALESCE(SUM(l.totalRepayment), 0), COALESCE(SUM(l.interestAmount), 0) FROM Loan l GROUP BY l.status")
+    List<Object[]> getTotalsByStatus();
 }
\ No newline at end of file
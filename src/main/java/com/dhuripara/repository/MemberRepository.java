@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -30,4 +31,11 @@ public interface MemberRepository extends JpaRepository<Member, UUID> {
     List<Member> findByIsOperatorTrueAndIsActiveTrue();
 
     List<Member> findByFamilyIdAndIsActiveTrue(UUID familyId);
-}
\ No newline at end of file
+
+    @Query("SELECT m.securityEpoch FROM Member m WHERE m.id = :id")
+    Optional<Long> findSecurityEpochById(@Param("id") UUID id);
+
+    // Rows of [id, firstName, lastName, firstNameBn, lastNameBn], without loading the rest of the member
+    @Query("SELECT m.id, m.firstName, m.lastName, m.firstNameBn, m.lastNameBn FROM Member m WHERE m.id IN :ids")
+    List<Object[]> findNamesByIdIn(@Param("ids") Collection<UUID> ids);
+}
@@ -0,0 +1,42 @@
+package com.dhuripara.repository;
+
+import com.dhuripara.model.SettlementJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface SettlementJobRepository extends JpaRepository<SettlementJob, UUID> {
+
+    List<SettlementJob> findByStatusIn(Collection<String> statuses);
+
+    boolean existsByStatusIn(Collection<String> statuses);
+
+    boolean existsByFinancialYearAndStatus(String financialYear, String status);
+
+    List<SettlementJob> findTop20ByOrderByCreatedAtDesc();
+
+    // Chunk checkpoints: atomic increments committed together with the chunk's rows
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE SettlementJob j SET j.depositsProcessed = j.depositsProcessed + :count, " +
+            "j.depositPrincipal = j.depositPrincipal + :principal, j.depositInterest = j.depositInterest + :interest, " +
+            "j.updatedAt = :now WHERE j.id = :id")
+    int addDepositProgress(@Param("id") UUID id, @Param("count") int count, @Param("principal") BigDecimal principal,
+                           @Param("interest") BigDecimal interest, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE SettlementJob j SET j.loansProcessed = j.loansProcessed + :count, " +
+            "j.loanPrincipal = j.loanPrincipal + :principal, j.loanInterest = j.loanInterest + :interest, " +
+            "j.updatedAt = :now WHERE j.id = :id")
+    int addLoanProgress(@Param("id") UUID id, @Param("count") int count, @Param("principal") BigDecimal principal,
+                        @Param("interest") BigDecimal interest, @Param("now") LocalDateTime now);
+}
@@ -7,7 +7,6 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -29,10 +28,6 @@ public interface UserSessionRepository extends JpaRepository<UserSession, UUID>
     @Query("UPDATE UserSession s SET s.isActive = false WHERE s.userId = :userId AND s.userType = :userType")
     void deactivateAllSessionsForUser(@Param("userId") UUID userId, @Param("userType") String userType);
 
-    @Modifying
-    @Query("UPDATE UserSession s SET s.lastActivity = :lastActivity WHERE s.token = :token")
-    void updateLastActivity(@Param("token") String token, @Param("lastActivity") LocalDateTime lastActivity);
-
     @Query("SELECT COUNT(DISTINCT s.userId) FROM UserSession s WHERE s.isActive = true AND s.userType = :userType")
     Long countActiveUsersByType(@Param("userType") String userType);
 
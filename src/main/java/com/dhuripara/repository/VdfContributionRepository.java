@@ -1,12 +1,14 @@
 package com.dhuripara.repository;
 
 import com.dhuripara.model.VdfContribution;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -18,6 +20,8 @@ public interface VdfContributionRepository extends JpaRepository<VdfContribution
 
     List<VdfContribution> findByFamilyConfigIdAndYear(UUID familyConfigId, Integer year);
 
+    long countByFamilyConfigIdAndYear(UUID familyConfigId, Integer year);
+
     @Query("SELECT COALESCE(SUM(c.amount), 0) FROM VdfContribution c WHERE c.year = :year AND c.month = :month")
     BigDecimal getTotalByYearAndMonth(@Param("year") Integer year, @Param("month") Integer month);
 
@@ -26,4 +30,51 @@ public interface VdfContributionRepository extends JpaRepository<VdfContribution
 
     @Query("SELECT COALESCE(SUM(c.amount), 0) FROM VdfContribution c WHERE c.familyConfig.id = :familyConfigId")
     BigDecimal getTotalByFamily(@Param("familyConfigId") UUID familyConfigId);
-}
\ No newline at end of file
+
+    // Rows of [familyId, month, amount] for every contribution in the year
+    @Query("SELECT c.familyConfig.id, c.month, c.amount FROM VdfContribution c WHERE c.year = :year")
+    List<Object[]> findFamilyMonthAmountsByYear(@Param("year") Integer year);
+
+    // Rows of [familyId, number of months paid] for the year
+    @Query("SELECT c.familyConfig.id, COUNT(c) FROM VdfContribution c WHERE c.year = :year GROUP BY c.familyConfig.id")
+    List<Object[]> countPaidMonthsGroupedByFamily(@Param("year") Integer year);
+
+    // Rows of [familyId, total amount] across all years
+    @Query("SELECT c.familyConfig.id, COALESCE(SUM(c.amount), 0) FROM VdfContribution c GROUP BY c.familyConfig.id")
+    List<Object[]> getTotalsGroupedByFamily();
+
+    // Latest paid month encoded as year * 100 + month, null when the family has never paid
+    @Query("SELECT MAX(c.year * 100 + c.month) FROM VdfContribution c WHERE c.familyConfig.id = :familyConfigId")
+    Integer findLatestPaidMonthKey(@Param("familyConfigId") UUID familyConfigId);
+
+    // Rows of [familyId, year * 100 + month] for each family's latest contribution
+    @Query("SELECT c.familyConfig.id, MAX(c.year * 100 + c.month) FROM VdfContribution c GROUP BY c.familyConfig.id")
+    List<Object[]> findLatestPaidMonthKeysGroupedByFamily();
+
+    // Rows of [month, total amount] for the year
+    @Query("SELECT c.month, COALESCE(SUM(c.amount), 0) FROM VdfContribution c WHERE c.year = :year GROUP BY c.month")
+    List<Object[]> getMonthlyTotalsByYear(@Param("year") Integer year);
+
+    // Rows of [month, number of contribution-enabled families that paid] for the year
+    @Query("SELECT c.month, COUNT(DISTINCT c.familyConfig.id) FROM VdfContribution c " +
+            "WHERE c.year = :year AND c.familyConfig.isContributionEnabled = true GROUP BY c.month")
+    List<Object[]> countActivePaidFamiliesByMonth(@Param("year") Integer year);
+
+    // Keyset pages of a family's history, newest month first, with the member fetched for names
+    @Query("SELECT c FROM VdfContribution c JOIN FETCH c.familyConfig f JOIN FETCH f.member " +
+            "WHERE f.id = :familyConfigId ORDER BY c.year DESC, c.month DESC")
+    List<VdfContribution> findHistoryFirstPage(@Param("familyConfigId") UUID familyConfigId, Pageable pageable);
+
+    @Query("SELECT c FROM VdfContribution c JOIN FETCH c.familyConfig f JOIN FETCH f.member " +
+            "WHERE f.id = :familyConfigId AND (c.year < :year OR (c.year = :year AND c.month < :month)) " +
+            "ORDER BY c.year DESC, c.month DESC")
+    List<VdfContribution> findHistoryBefore(@Param("familyConfigId") UUID familyConfigId,
+                                            @Param("year") Integer year, @Param("month") Integer month,
+                                            Pageable pageable);
+
+    // Rows of [familyId, year, month, amount] for the given families and years
+    @Query("SELECT c.familyConfig.id, c.year, c.month, c.amount FROM VdfContribution c " +
+            "WHERE c.familyConfig.id IN :familyIds AND c.year IN :years")
+    List<Object[]> findFamilyYearMonthAmounts(@Param("familyIds") Collection<UUID> familyIds,
+                                              @Param("years") Collection<Integer> years);
+}
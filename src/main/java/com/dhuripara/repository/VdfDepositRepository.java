@@ -20,4 +20,9 @@ public interface VdfDepositRepository extends JpaRepository<VdfDeposit, UUID> {
 
     @Query("SELECT COALESCE(SUM(d.amount), 0) FROM VdfDeposit d")
     BigDecimal getTotalDeposits();
-}
\ No newline at end of file
+
+    // Rows of [categoryName, categoryNameBn, total amount] across all years
+    @Query("SELECT c.categoryName, c.categoryNameBn, COALESCE(SUM(d.amount), 0) FROM VdfDeposit d JOIN d.category c " +
+            "GROUP BY c.id, c.categoryName, c.categoryNameBn")
+    List<Object[]> getCategoryNameTotals();
+}
@@ -1,14 +1,20 @@
 package com.dhuripara.repository;
 
 import com.dhuripara.model.VdfExpense;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface VdfExpenseRepository extends JpaRepository<VdfExpense, UUID> {
@@ -29,4 +35,35 @@ public interface VdfExpenseRepository extends JpaRepository<VdfExpense, UUID> {
 
     @Query("SELECT e.category, SUM(e.amount) FROM VdfExpense e GROUP BY e.category")
     List<Object[]> getCategoryTotalsAllYears();
-}
\ No newline at end of file
+
+    // Rows of [month, total amount] for the year
+    @Query("SELECT e.month, COALESCE(SUM(e.amount), 0) FROM VdfExpense e WHERE e.year = :year GROUP BY e.month")
+    List<Object[]> getMonthlyTotalsByYear(@Param("year") Integer year);
+
+    // Rows of [categoryName, categoryNameBn, total amount] across all years
+    @Query("SELECT c.categoryName, c.categoryNameBn, COALESCE(SUM(e.amount), 0) FROM VdfExpense e JOIN e.category c " +
+            "GROUP BY c.id, c.categoryName, c.categoryNameBn")
+    List<Object[]> getCategoryNameTotalsAllYears();
+
+    @Query("SELECT e FROM VdfExpense e JOIN FETCH e.category WHERE e.year = :year ORDER BY e.expenseDate DESC")
+    List<VdfExpense> findByYearWithCategory(@Param("year") Integer year);
+
+    // Keyset pages over a date range, newest first, with categories fetched in the same query
+
+    @Query("SELECT e FROM VdfExpense e JOIN FETCH e.category WHERE e.expenseDate BETWEEN :from AND :to " +
+            "ORDER BY e.expenseDate DESC, e.id DESC")
+    List<VdfExpense> findRangeFirstPage(@Param("from") LocalDate from, @Param("to") LocalDate to, Pageable pageable);
+
+    @Query("SELECT e FROM VdfExpense e JOIN FETCH e.category WHERE e.expenseDate BETWEEN :from AND :to " +
+            "AND (e.expenseDate < :lastDate OR (e.expenseDate = :lastDate AND e.id < :lastId)) " +
+            "ORDER BY e.expenseDate DESC, e.id DESC")
+    List<VdfExpense> findRangePageAfter(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                                        @Param("lastDate") LocalDate lastDate, @Param("lastId") UUID lastId,
+                                        Pageable pageable);
+
+    // Whole range as a cursor-backed stream; must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT e FROM VdfExpense e JOIN FETCH e.category WHERE e.expenseDate BETWEEN :from AND :to " +
+            "ORDER BY e.expenseDate DESC, e.id DESC")
+    Stream<VdfExpense> streamRange(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -0,0 +1,55 @@
+package com.dhuripara.repository;
+
+import com.dhuripara.model.VdfFamilyBalance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface VdfFamilyBalanceRepository extends JpaRepository<VdfFamilyBalance, UUID> {
+
+    Optional<VdfFamilyBalance> findByFamilyId(UUID familyId);
+
+    List<VdfFamilyBalance> findByFamilyIdIn(Collection<UUID> familyIds);
+
+    // Concurrent first reads may both try to create a family's row; only one insert wins
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO vdf_family_balances (id, family_id, as_of_month, updated_at) " +
+            "VALUES (:id, :familyId, :asOfMonth, :now) ON CONFLICT (family_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("id") UUID id, @Param("familyId") UUID familyId,
+                       @Param("asOfMonth") String asOfMonth, @Param("now") LocalDateTime now);
+
+    // Atomic increments so concurrent contribution writes never lose an update
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE VdfFamilyBalance b SET b.paidToDate = b.paidToDate + :delta, b.updatedAt = :now WHERE b.familyId = :familyId")
+    int addPaid(@Param("familyId") UUID familyId, @Param("delta") BigDecimal delta, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE VdfFamilyBalance b SET b.lastPaidMonth = :month WHERE b.familyId = :familyId " +
+            "AND (b.lastPaidMonth IS NULL OR b.lastPaidMonth < :month)")
+    int advanceLastPaidMonth(@Param("familyId") UUID familyId, @Param("month") String month);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE VdfFamilyBalance b SET b.lastPaidMonth = :month WHERE b.familyId = :familyId")
+    int setLastPaidMonth(@Param("familyId") UUID familyId, @Param("month") String month);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE VdfFamilyBalance b SET b.exemptMonths = b.exemptMonths + :count, b.updatedAt = :now WHERE b.familyId = :familyId")
+    int addExemptMonths(@Param("familyId") UUID familyId, @Param("count") int count, @Param("now") LocalDateTime now);
+
+    // Only applies when the month is already covered by requiredToDate
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE VdfFamilyBalance b SET b.requiredToDate = b.requiredToDate + :delta WHERE b.familyId = :familyId " +
+            "AND b.asOfMonth >= :month")
+    int addRequired(@Param("familyId") UUID familyId, @Param("delta") BigDecimal delta, @Param("month") String month);
+}
@@ -3,8 +3,10 @@ package com.dhuripara.repository;
 import com.dhuripara.model.VdfFamilyConfig;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -15,6 +17,16 @@ public interface VdfFamilyConfigRepository extends JpaRepository<VdfFamilyConfig
 
     List<VdfFamilyConfig> findByIsContributionEnabledTrue();
 
+    @Query("SELECT f FROM VdfFamilyConfig f JOIN FETCH f.member WHERE f.isContributionEnabled = true")
+    List<VdfFamilyConfig> findActiveWithMember();
+
     @Query("SELECT COUNT(f) FROM VdfFamilyConfig f WHERE f.isContributionEnabled = true")
     Long countActiveContributors();
-}
\ No newline at end of file
+
+    // Serialises collection days touching the same families; id order keeps lockers from deadlocking
+    @Query(value = "SELECT id FROM vdf_family_config WHERE id IN (:ids) ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<UUID> lockByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query("SELECT f FROM VdfFamilyConfig f JOIN FETCH f.member WHERE f.id IN :ids")
+    List<VdfFamilyConfig> findAllWithMemberByIdIn(@Param("ids") Collection<UUID> ids);
+}
@@ -2,8 +2,11 @@ package com.dhuripara.repository;
 
 import com.dhuripara.model.VdfFamilyExemption;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -14,4 +17,12 @@ public interface VdfFamilyExemptionRepository extends JpaRepository<VdfFamilyExe
     List<VdfFamilyExemption> findByFamilyId(UUID familyId);
     List<VdfFamilyExemption> findByMonthYear(String monthYear);
     boolean existsByFamilyIdAndMonthYear(UUID familyId, String monthYear);
-}
\ No newline at end of file
+
+    // Rows of [familyId, monthYear] for every exemption
+    @Query("SELECT e.family.id, e.monthYear FROM VdfFamilyExemption e")
+    List<Object[]> findAllFamilyMonths();
+
+    // Rows of [familyId, monthYear] for the given families
+    @Query("SELECT e.family.id, e.monthYear FROM VdfFamilyExemption e WHERE e.family.id IN :familyIds")
+    List<Object[]> findFamilyMonthsByFamilyIds(@Param("familyIds") Collection<UUID> familyIds);
+}
@@ -1,33 +1,28 @@
 package com.dhuripara.security;
 
-import com.dhuripara.model.Member;
-import com.dhuripara.repository.MemberRepository;
 import com.dhuripara.service.SessionService;
 import com.dhuripara.util.JwtUtil;
+import com.dhuripara.util.VerifiedClaims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.List;
-import java.util.UUID;
 
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
-    private final MemberRepository memberRepository;
+    private final SessionPrincipalCache principalCache;
+    private final MemberEpochTable epochTable;
     private final SessionService sessionService;
 
     @Override
@@ -36,56 +31,34 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     FilterChain filterChain) throws ServletException, IOException {
 
         final String authHeader = request.getHeader("Authorization");
-        final String jwt;
-        final String username;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        jwt = authHeader.substring(7);
-        username = jwtUtil.extractUsername(jwt);
+        final String jwt = authHeader.substring(7);
+        // Signature, subject and expiration are checked in a single parse
+        final VerifiedClaims claims = jwtUtil.verify(jwt);
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            // Check if session is still active
-            boolean isSessionActive = sessionService.getSessionByToken(jwt)
-                    .map(session -> session.getIsActive() != null && session.getIsActive())
-                    .orElse(false);
-            
-            if (jwtUtil.validateToken(jwt, username) && isSessionActive) {
-                // Update last activity
-                sessionService.updateLastActivity(jwt);
-                List<SimpleGrantedAuthority> authorities;
+        if (claims != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            final String username = claims.subject();
+            // Session state and authorities come from the principal cache; the database is only
+            // read when the token is not cached
+            SessionPrincipal principal = principalCache.getIfPresent(jwt);
+            if (principal == null) {
+                principal = principalCache.load(jwt, claims);
+            }
 
-                // Check if it's a member token (starts with MEMBER_)
-                if (username.startsWith("MEMBER_")) {
-                    // Extract member ID and check if operator
-                    UUID memberId = UUID.fromString(username.replace("MEMBER_", ""));
-                    Member member = memberRepository.findById(memberId).orElse(null);
-                    if (member != null) {
-                        String role = member.getRole();
-                        if (role != null && role.equalsIgnoreCase("ADMIN")) {
-                            authorities = Collections.singletonList(new SimpleGrantedAuthority("ROLE_ADMIN"));
-                        } else if (role != null && role.equalsIgnoreCase("OPERATOR")) {
-                            authorities = Arrays.asList(new SimpleGrantedAuthority("ROLE_OPERATOR"), new SimpleGrantedAuthority("ROLE_MEMBER"));
-                        } else {
-                            authorities = Collections.singletonList(new SimpleGrantedAuthority("ROLE_MEMBER"));
-                        }
-                    } else {
-                        authorities = Collections.singletonList(new SimpleGrantedAuthority("ROLE_MEMBER"));
-                    }
-                } else {
-                    // Admin token
-                    authorities = Collections.singletonList(
-                            new SimpleGrantedAuthority("ROLE_ADMIN")
-                    );
-                }
+            // Member tokens issued before a role change, deactivation or block are revoked
+            if (principal != null && principal.active() && epochTable.accepts(claims)) {
+                // Buffered in memory and written in batches on the flush schedule
+                sessionService.recordActivity(jwt);
 
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         username,
                         null,
-                        authorities
+                        principal.authorities()
                 );
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
@@ -0,0 +1,85 @@
+package com.dhuripara.security;
+
+import com.dhuripara.model.Member;
+import com.dhuripara.repository.MemberRepository;
+import com.dhuripara.util.VerifiedClaims;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory copy of each member's security epoch, read from the database once per member and
+ * then kept current by {@link #advance(Member)}. Member tokens carry the epoch they were issued
+ * under; a token whose epoch is behind the table's is revoked.
+ *
+ * Epochs only ever go up, so values are merged with max: a load that read the old value while
+ * an advance was committing cannot overwrite the new one.
+ */
+@Component
+@RequiredArgsConstructor
+public class MemberEpochTable {
+
+    private final MemberRepository memberRepository;
+    private final ConcurrentHashMap<UUID, Long> epochs = new ConcurrentHashMap<>();
+
+    /**
+     * Whether the token's epoch is still current. Tokens without an epoch (admin tokens and member
+     * tokens issued before epochs existed) are not checked here.
+     */
+    public boolean accepts(VerifiedClaims claims) {
+        if (claims.epoch() == null) {
+            return true;
+        }
+        UUID memberId = memberIdOf(claims.subject());
+        if (memberId == null) {
+            return false;
+        }
+        Long current = current(memberId);
+        return current != null && claims.epoch() >= current;
+    }
+
+    /**
+     * Raises the member's epoch, revoking every token issued before. The table follows once the
+     * surrounding transaction commits.
+     */
+    public void advance(Member member) {
+        long epoch = (member.getSecurityEpoch() == null ? 0L : member.getSecurityEpoch()) + 1;
+        member.setSecurityEpoch(epoch);
+        UUID memberId = member.getId();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    epochs.merge(memberId, epoch, Math::max);
+                }
+            });
+        } else {
+            epochs.merge(memberId, epoch, Math::max);
+        }
+    }
+
+    private Long current(UUID memberId) {
+        Long epoch = epochs.get(memberId);
+        if (epoch != null) {
+            return epoch;
+        }
+        return memberRepository.findSecurityEpochById(memberId)
+                .map(loaded -> epochs.merge(memberId, loaded, Math::max))
+                .orElse(null);
+    }
+
+    private static UUID memberIdOf(String subject) {
+        if (subject == null || !subject.startsWith("MEMBER_")) {
+            return null;
+        }
+        try {
+            return UUID.fromString(subject.substring("MEMBER_".length()));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.dhuripara.security;
+
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * What the authentication filter needs to know about a token's session: whether it is still
+ * active, whose it is and the authorities it grants.
+ */
+public record SessionPrincipal(UUID userId, String userType, boolean active, List<SimpleGrantedAuthority> authorities) {
+}
@@ -0,0 +1,119 @@
+package com.dhuripara.security;
+
+import com.dhuripara.model.Member;
+import com.dhuripara.repository.MemberRepository;
+import com.dhuripara.repository.UserSessionRepository;
+import com.dhuripara.util.TtlLruCache;
+import com.dhuripara.util.VerifiedClaims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+/**
+ * Bounded, TTL-limited map from JWT to its resolved {@link SessionPrincipal}, so an authenticated
+ * request does not look up its session and member on every call.
+ *
+ * Session deactivation and member role changes invalidate the affected entries at once and again
+ * after their transaction commits; the second pass drops anything a concurrent request re-read
+ * from the database before the change was visible.
+ */
+@Component
+public class SessionPrincipalCache {
+
+    private static final List<SimpleGrantedAuthority> ADMIN = List.of(new SimpleGrantedAuthority("ROLE_ADMIN"));
+    private static final List<SimpleGrantedAuthority> OPERATOR =
+            List.of(new SimpleGrantedAuthority("ROLE_OPERATOR"), new SimpleGrantedAuthority("ROLE_MEMBER"));
+    private static final List<SimpleGrantedAuthority> MEMBER = List.of(new SimpleGrantedAuthority("ROLE_MEMBER"));
+
+    private final UserSessionRepository sessionRepository;
+    private final MemberRepository memberRepository;
+    private final TtlLruCache<String, SessionPrincipal> cache;
+
+    public SessionPrincipalCache(UserSessionRepository sessionRepository,
+                                 MemberRepository memberRepository,
+                                 @Value("${security.session-cache.max-entries:10000}") int maxEntries,
+                                 @Value("${security.session-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.sessionRepository = sessionRepository;
+        this.memberRepository = memberRepository;
+        this.cache = new TtlLruCache<>(maxEntries, ttlSeconds * 1000);
+    }
+
+    /**
+     * The cached principal for the token, or null if it has to be loaded.
+     */
+    public SessionPrincipal getIfPresent(String token) {
+        return cache.getIfPresent(token);
+    }
+
+    /**
+     * Loads the token's principal from its session row and caches it. Null if the token has no
+     * session. Authorities come from the token's role claim; only member tokens issued before
+     * the claim existed read the member.
+     */
+    public SessionPrincipal load(String token, VerifiedClaims claims) {
+        return cache.get(token, t -> read(t, claims));
+    }
+
+    public void invalidateToken(String token) {
+        invalidate(() -> cache.invalidate(token));
+    }
+
+    public void invalidateUser(UUID userId, String userType) {
+        invalidateWhere(p -> userId.equals(p.userId()) && userType.equals(p.userType()));
+    }
+
+    public void invalidateUser(UUID userId) {
+        invalidateWhere(p -> userId.equals(p.userId()));
+    }
+
+    private void invalidateWhere(Predicate<SessionPrincipal> predicate) {
+        invalidate(() -> cache.invalidateIf(predicate));
+    }
+
+    private static void invalidate(Runnable invalidation) {
+        invalidation.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidation.run();
+                }
+            });
+        }
+    }
+
+    private SessionPrincipal read(String token, VerifiedClaims claims) {
+        return sessionRepository.findByToken(token)
+                .map(session -> new SessionPrincipal(session.getUserId(), session.getUserType(),
+                        Boolean.TRUE.equals(session.getIsActive()), authoritiesFor(claims)))
+                .orElse(null);
+    }
+
+    private List<SimpleGrantedAuthority> authoritiesFor(VerifiedClaims claims) {
+        String username = claims.subject();
+        // Member tokens carry MEMBER_<id>; anything else is an admin token
+        if (!username.startsWith("MEMBER_")) {
+            return ADMIN;
+        }
+        if (claims.role() != null) {
+            return authoritiesForRole(claims.role());
+        }
+        UUID memberId = UUID.fromString(username.replace("MEMBER_", ""));
+        return authoritiesForRole(memberRepository.findById(memberId).map(Member::getRole).orElse(null));
+    }
+
+    private static List<SimpleGrantedAuthority> authoritiesForRole(String role) {
+        if (role != null && role.equalsIgnoreCase("ADMIN")) {
+            return ADMIN;
+        } else if (role != null && role.equalsIgnoreCase("OPERATOR")) {
+            return OPERATOR;
+        }
+        return MEMBER;
+    }
+}
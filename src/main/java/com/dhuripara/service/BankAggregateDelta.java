@@ -0,0 +1,140 @@
+package com.dhuripara.service;
+
+import com.dhuripara.model.BankAggregate;
+import com.dhuripara.model.Deposit;
+import com.dhuripara.model.Loan;
+
+import java.math.BigDecimal;
+
+/**
+ * What one deposit or loan contributes to the bank_aggregates row, or the difference between two
+ * such contributions. Writers take {@code of(entity)} before changing it and pass the before and
+ * after values to BankAggregateService, which adds the difference to the stored totals.
+ */
+public record BankAggregateDelta(
+        BigDecimal depositsCollected,
+        BigDecimal depositPrincipalReturned,
+        BigDecimal depositInterestPaid,
+        BigDecimal loansDisbursed,
+        BigDecimal loanRepaymentsReceived,
+        BigDecimal closedLoanRepayment,
+        BigDecimal loanInterestReceived,
+        long activeDepositsCount,
+        BigDecimal activeDepositsAmount,
+        long activeLoansCount,
+        BigDecimal activeLoansAmount) {
+
+    public static final BankAggregateDelta ZERO = new BankAggregateDelta(
+            BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO,
+            BigDecimal.ZERO, 0, BigDecimal.ZERO, 0, BigDecimal.ZERO);
+
+    public static BankAggregateDelta of(Deposit deposit) {
+        return ofDeposit(deposit.getStatus(), 1, deposit.getAmount(), deposit.getInterestEarned());
+    }
+
+    public static BankAggregateDelta of(Loan loan) {
+        return ofLoan(loan.getStatus(), 1, loan.getLoanAmount(), loan.getPaidAmount(),
+                loan.getTotalRepayment(), loan.getInterestAmount());
+    }
+
+    /**
+     * Contribution of {@code count} deposits sharing one status, used for both single rows and
+     * per-status SQL sums.
+     */
+    static BankAggregateDelta ofDeposit(String status, long count, BigDecimal amount, BigDecimal interestEarned) {
+        BigDecimal principal = nz(amount);
+        boolean paidOut = "RETURNED".equals(status) || "SETTLED".equals(status);
+        boolean active = "ACTIVE".equals(status);
+        return new BankAggregateDelta(
+                principal,
+                paidOut ? principal : BigDecimal.ZERO,
+                paidOut ? nz(interestEarned) : BigDecimal.ZERO,
+                BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO,
+                active ? count : 0,
+                active ? principal : BigDecimal.ZERO,
+                0, BigDecimal.ZERO);
+    }
+
+    static BankAggregateDelta ofLoan(String status, long count, BigDecimal loanAmount, BigDecimal paidAmount,
+                                     BigDecimal totalRepayment, BigDecimal interestAmount) {
+        BigDecimal principal = nz(loanAmount);
+        boolean closed = "CLOSED".equals(status);
+        boolean active = "ACTIVE".equals(status);
+        return new BankAggregateDelta(
+                BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO,
+                principal,
+                nz(paidAmount),
+                closed ? nz(totalRepayment) : BigDecimal.ZERO,
+                closed || "SETTLED".equals(status) ? nz(interestAmount) : BigDecimal.ZERO,
+                0, BigDecimal.ZERO,
+                active ? count : 0,
+                active ? principal : BigDecimal.ZERO);
+    }
+
+    static BankAggregateDelta of(BankAggregate aggregate) {
+        return new BankAggregateDelta(
+                aggregate.getDepositsCollected(), aggregate.getDepositPrincipalReturned(),
+                aggregate.getDepositInterestPaid(), aggregate.getLoansDisbursed(),
+                aggregate.getLoanRepaymentsReceived(), aggregate.getClosedLoanRepayment(),
+                aggregate.getLoanInterestReceived(), aggregate.getActiveDepositsCount(),
+                aggregate.getActiveDepositsAmount(), aggregate.getActiveLoansCount(),
+                aggregate.getActiveLoansAmount());
+    }
+
+    public BankAggregateDelta plus(BankAggregateDelta other) {
+        return new BankAggregateDelta(
+                depositsCollected.add(other.depositsCollected),
+                depositPrincipalReturned.add(other.depositPrincipalReturned),
+                depositInterestPaid.add(other.depositInterestPaid),
+                loansDisbursed.add(other.loansDisbursed),
+                loanRepaymentsReceived.add(other.loanRepaymentsReceived),
+                closedLoanRepayment.add(other.closedLoanRepayment),
+                loanInterestReceived.add(other.loanInterestReceived),
+                activeDepositsCount + other.activeDepositsCount,
+                activeDepositsAmount.add(other.activeDepositsAmount),
+                activeLoansCount + other.activeLoansCount,
+                activeLoansAmount.add(other.activeLoansAmount));
+    }
+
+    public BankAggregateDelta minus(BankAggregateDelta other) {
+        return new BankAggregateDelta(
+                depositsCollected.subtract(other.depositsCollected),
+                depositPrincipalReturned.subtract(other.depositPrincipalReturned),
+                depositInterestPaid.subtract(other.depositInterestPaid),
+                loansDisbursed.subtract(other.loansDisbursed),
+                loanRepaymentsReceived.subtract(other.loanRepaymentsReceived),
+                closedLoanRepayment.subtract(other.closedLoanRepayment),
+                loanInterestReceived.subtract(other.loanInterestReceived),
+                activeDepositsCount - other.activeDepositsCount,
+                activeDepositsAmount.subtract(other.activeDepositsAmount),
+                activeLoansCount - other.activeLoansCount,
+                activeLoansAmount.subtract(other.activeLoansAmount));
+    }
+
+    public boolean isZero() {
+        return depositsCollected.signum() == 0 && depositPrincipalReturned.signum() == 0
+                && depositInterestPaid.signum() == 0 && loansDisbursed.signum() == 0
+                && loanRepaymentsReceived.signum() == 0 && closedLoanRepayment.signum() == 0
+                && loanInterestReceived.signum() == 0 && activeDepositsCount == 0
+                && activeDepositsAmount.signum() == 0 && activeLoansCount == 0
+                && activeLoansAmount.signum() == 0;
+    }
+
+    void copyInto(BankAggregate aggregate) {
+        aggregate.setDepositsCollected(depositsCollected);
+        aggregate.setDepositPrincipalReturned(depositPrincipalReturned);
+        aggregate.setDepositInterestPaid(depositInterestPaid);
+        aggregate.setLoansDisbursed(loansDisbursed);
+        aggregate.setLoanRepaymentsReceived(loanRepaymentsReceived);
+        aggregate.setClosedLoanRepayment(closedLoanRepayment);
+        aggregate.setLoanInterestReceived(loanInterestReceived);
+        aggregate.setActiveDepositsCount(activeDepositsCount);
+        aggregate.setActiveDepositsAmount(activeDepositsAmount);
+        aggregate.setActiveLoansCount(activeLoansCount);
+        aggregate.setActiveLoansAmount(activeLoansAmount);
+    }
+
+    private static BigDecimal nz(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+}
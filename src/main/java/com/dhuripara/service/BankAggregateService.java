@@ -0,0 +1,117 @@
+package com.dhuripara.service;
+
+import com.dhuripara.dto.response.BankAggregateCheckResponse;
+import com.dhuripara.event.BankDataChangedEvent;
+import com.dhuripara.model.BankAggregate;
+import com.dhuripara.model.Deposit;
+import com.dhuripara.model.Loan;
+import com.dhuripara.repository.BankAggregateRepository;
+import com.dhuripara.repository.DepositRepository;
+import com.dhuripara.repository.LoanRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Maintains the single bank_aggregates row read by the public summary.
+ *
+ * Deposit, loan and settlement writes add the change in their entity's contribution with one
+ * atomic UPDATE in the caller's transaction. Rebuild locks the row before re-aggregating, so a
+ * writer either commits before the sums are taken or applies its delta after the rebuild.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BankAggregateService {
+
+    private final BankAggregateRepository aggregateRepository;
+    private final DepositRepository depositRepository;
+    private final LoanRepository loanRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * The current totals, built from the deposit and loan tables if the row does not exist yet.
+     */
+    @Transactional
+    public BankAggregate getAggregate() {
+        return aggregateRepository.findById(BankAggregate.SINGLETON_ID).orElseGet(this::rebuild);
+    }
+
+    @Transactional
+    public void record(BankAggregateDelta before, Deposit after) {
+        apply(BankAggregateDelta.of(after).minus(before));
+    }
+
+    @Transactional
+    public void record(BankAggregateDelta before, Loan after) {
+        apply(BankAggregateDelta.of(after).minus(before));
+    }
+
+    @Transactional
+    public void apply(BankAggregateDelta delta) {
+        // Every deposit and loan write lands here, so this also tells report caches to drop
+        eventPublisher.publishEvent(new BankDataChangedEvent("bank"));
+        if (delta.isZero()) {
+            return;
+        }
+        int updated = aggregateRepository.add(BankAggregate.SINGLETON_ID,
+                delta.depositsCollected(), delta.depositPrincipalReturned(), delta.depositInterestPaid(),
+                delta.loansDisbursed(), delta.loanRepaymentsReceived(), delta.closedLoanRepayment(),
+                delta.loanInterestReceived(), delta.activeDepositsCount(), delta.activeDepositsAmount(),
+                delta.activeLoansCount(), delta.activeLoansAmount(), LocalDateTime.now());
+        if (updated == 0) {
+            // Row not created yet; the rebuild sees this transaction's own writes
+            log.warn("bank_aggregates row missing, rebuilding");
+            rebuild();
+        }
+    }
+
+    /**
+     * Compares the stored totals with a fresh aggregation of the deposit and loan tables.
+     */
+    @Transactional(readOnly = true)
+    public BankAggregateCheckResponse verify() {
+        BankAggregateDelta computed = compute();
+        BankAggregateDelta stored = aggregateRepository.findById(BankAggregate.SINGLETON_ID)
+                .map(BankAggregateDelta::of)
+                .orElse(null);
+
+        BankAggregateCheckResponse response = new BankAggregateCheckResponse();
+        response.setStored(stored);
+        response.setComputed(computed);
+        response.setConsistent(stored != null && computed.minus(stored).isZero());
+        if (!response.isConsistent()) {
+            log.warn("bank_aggregates drifted from source tables: stored={}, computed={}", stored, computed);
+        }
+        return response;
+    }
+
+    @Transactional
+    public BankAggregate rebuild() {
+        BankAggregate aggregate = aggregateRepository.findForUpdate(BankAggregate.SINGLETON_ID)
+                .orElseGet(BankAggregate::new);
+        compute().copyInto(aggregate);
+        BankAggregate saved = aggregateRepository.save(aggregate);
+        log.info("Rebuilt bank_aggregates: {} active deposits, {} active loans",
+                saved.getActiveDepositsCount(), saved.getActiveLoansCount());
+        return saved;
+    }
+
+    private BankAggregateDelta compute() {
+        BankAggregateDelta totals = BankAggregateDelta.ZERO;
+        for (Object[] row : depositRepository.getTotalsByStatus()) {
+            totals = totals.plus(BankAggregateDelta.ofDeposit((String) row[0], ((Number) row[1]).longValue(),
+                    (BigDecimal) row[2], (BigDecimal) row[3]));
+        }
+        for (Object[] row : loanRepository.getTotalsByStatus()) {
+            totals = totals.plus(BankAggregateDelta.ofLoan((String) row[0], ((Number) row[1]).longValue(),
+                    (BigDecimal) row[2], (BigDecimal) row[3], (BigDecimal) row[4], (BigDecimal) row[5]));
+        }
+        return totals;
+    }
+}
@@ -2,6 +2,7 @@ package com.dhuripara.service;
 
 import com.dhuripara.dto.request.DepositRequest;
 import com.dhuripara.dto.request.DepositUpdateRequest;
+import com.dhuripara.dto.response.CursorPageResponse;
 import com.dhuripara.dto.response.DepositResponse;
 import com.dhuripara.exception.BusinessException;
 import com.dhuripara.exception.ResourceNotFoundException;
@@ -9,12 +10,17 @@ import com.dhuripara.model.Deposit;
 import com.dhuripara.model.Member;
 import com.dhuripara.repository.DepositRepository;
 import com.dhuripara.repository.MemberRepository;
+import com.dhuripara.util.CursorCodec;
 import com.dhuripara.util.InterestCalculator;
 import com.dhuripara.util.DepositMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,8 +34,12 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class DepositService {
 
+    private static final int MAX_PAGE_SIZE = 200;
+
     private final DepositRepository depositRepository;
     private final MemberRepository memberRepository;
+    private final BankAggregateService bankAggregateService;
+    private final OptimisticRetry optimisticRetry;
 
     @Transactional
     public DepositResponse createDeposit(DepositRequest request) {
@@ -52,6 +62,7 @@ public class DepositService {
         deposit.setStatus("ACTIVE");
 
         Deposit savedDeposit = depositRepository.save(deposit);
+        bankAggregateService.record(BankAggregateDelta.ZERO, savedDeposit);
         return DepositMapper.convertToResponse(savedDeposit);
     }
 
@@ -70,6 +81,8 @@ public class DepositService {
             throw new BusinessException("Deposit amount must be greater than 0");
         }
 
+        BankAggregateDelta before = BankAggregateDelta.of(deposit);
+
         // Update fields
         deposit.setAmount(request.getAmount());
         deposit.setDepositDate(request.getDepositDate());
@@ -83,13 +96,57 @@ public class DepositService {
         }
 
         Deposit updatedDeposit = depositRepository.save(deposit);
+        bankAggregateService.record(before, updatedDeposit);
         return DepositMapper.convertToResponse(updatedDeposit);
     }
 
-    public Page<DepositResponse> getDepositsByStatus(String status, Pageable pageable) {
-        return   ( "ALL".equals(status) ? depositRepository.findAllByOrderByDepositDateDesc(pageable)
-                : depositRepository.findByStatusOrderByDepositDateDesc(status, pageable))
-                .map(DepositMapper::convertToResponseWithCurrentInterest);
+    /**
+     * Offset pages of deposits, newest first, with members fetched in the same query. Without
+     * {@code withCount} the total is not counted and a plain Slice is returned.
+     */
+    @Transactional(readOnly = true)
+    public Slice<DepositResponse> getDepositsByStatus(String status, Pageable pageable, boolean withCount) {
+        boolean all = "ALL".equals(status);
+        if (withCount) {
+            Page<Deposit> deposits = all ? depositRepository.findAllByOrderByDepositDateDescIdDesc(pageable)
+                    : depositRepository.findByStatusOrderByDepositDateDescIdDesc(status, pageable);
+            return new PageImpl<>(DepositMapper.convertToResponsesWithCurrentInterest(deposits.getContent()),
+                    deposits.getPageable(), deposits.getTotalElements());
+        }
+        Slice<Deposit> deposits = all ? depositRepository.findSliceByOrderByDepositDateDescIdDesc(pageable)
+                : depositRepository.findSliceByStatusOrderByDepositDateDescIdDesc(status, pageable);
+        return new SliceImpl<>(DepositMapper.convertToResponsesWithCurrentInterest(deposits.getContent()),
+                deposits.getPageable(), deposits.hasNext());
+    }
+
+    /**
+     * Keyset pages of deposits on (deposit date, id), newest first. Each page is one indexed range
+     * read however deep it is; pass the returned cursor back for the next one.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<DepositResponse> getDepositPage(String status, String cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        // fetch one extra row to learn whether another page exists
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        boolean all = "ALL".equals(status);
+
+        List<Deposit> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = all ? depositRepository.findAllKeysetFirstPage(limit) : depositRepository.findKeysetFirstPage(status, limit);
+        } else {
+            CursorCodec.DateKey after = CursorCodec.decodeDateKey(cursor);
+            rows = all ? depositRepository.findAllKeysetPageAfter(after.date(), after.id(), limit)
+                    : depositRepository.findKeysetPageAfter(status, after.date(), after.id(), limit);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<Deposit> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            Deposit last = page.get(page.size() - 1);
+            nextCursor = CursorCodec.encode(last.getDepositDate(), last.getId());
+        }
+        return new CursorPageResponse<>(DepositMapper.convertToResponsesWithCurrentInterest(page), nextCursor, hasMore);
     }
 
     public DepositResponse getDepositById(UUID depositId) {
@@ -102,14 +159,18 @@ public class DepositService {
         return depositRepository.findByMemberId(memberId);
     }
 
-    @Transactional
     public DepositResponse returnDeposit(UUID depositId, LocalDate returnDate) {
+        return optimisticRetry.execute("Return of deposit " + depositId, () -> markReturned(depositId, returnDate));
+    }
+
+    private DepositResponse markReturned(UUID depositId, LocalDate returnDate) {
         Deposit deposit = depositRepository.findById(depositId)
                 .orElseThrow(() -> new ResourceNotFoundException("Deposit not found"));
 
         if (!"ACTIVE".equals(deposit.getStatus())) {
             throw new IllegalStateException("Deposit is not active");
         }
+        BankAggregateDelta before = BankAggregateDelta.of(deposit);
 
         BigDecimal interest = InterestCalculator.calculateDepositInterest(
                 deposit.getAmount(),
@@ -123,11 +184,13 @@ public class DepositService {
         deposit.setReturnDate(returnDate);
 
         Deposit returned = depositRepository.save(deposit);
+        bankAggregateService.record(before, returned);
         return DepositMapper.convertToResponse(returned);
     }
 
     @Transactional
     public void settleDeposit(Deposit deposit, LocalDate settlementDate) {
+        BankAggregateDelta before = BankAggregateDelta.of(deposit);
         BigDecimal interest = InterestCalculator.calculateDepositInterest(
                 deposit.getAmount(),
                 deposit.getDepositDate(),
@@ -140,6 +203,7 @@ public class DepositService {
         deposit.setReturnDate(settlementDate);
 
         depositRepository.save(deposit);
+        bankAggregateService.record(before, deposit);
     }
 
 }
\ No newline at end of file
@@ -5,6 +5,7 @@ import com.dhuripara.dto.request.LoanPaymentRequest;
 import com.dhuripara.dto.request.LoanRequest;
 import com.dhuripara.dto.request.LoanUpdateRequest;
 import com.dhuripara.dto.response.LoanPaymentResponse;
+import com.dhuripara.dto.response.CursorPageResponse;
 import com.dhuripara.dto.response.LoanResponse;
 import com.dhuripara.exception.BusinessException;
 import com.dhuripara.exception.ResourceNotFoundException;
@@ -15,17 +16,23 @@ import com.dhuripara.repository.LoanPaymentRepository;
 import com.dhuripara.repository.LoanRepository;
 import com.dhuripara.repository.MemberRepository;
 import com.dhuripara.util.BankConstants;
+import com.dhuripara.util.CursorCodec;
 import com.dhuripara.util.InterestCalculator;
 import com.dhuripara.util.LoanMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -38,9 +45,13 @@ import static com.dhuripara.util.LoanMapper.convertToResponse;
 @RequiredArgsConstructor
 public class LoanService {
 
+    private static final int MAX_PAGE_SIZE = 200;
+
     private final LoanRepository loanRepository;
     private final LoanPaymentRepository loanPaymentRepository;
     private final MemberRepository memberRepository;
+    private final BankAggregateService bankAggregateService;
+    private final OptimisticRetry optimisticRetry;
 
     @Transactional
     public LoanResponse createLoan(LoanRequest request) {
@@ -63,6 +74,7 @@ public class LoanService {
         loan.setRemainingAmount(request.getLoanAmount());
 
         Loan savedLoan = loanRepository.save(loan);
+        bankAggregateService.record(BankAggregateDelta.ZERO, savedLoan);
         return convertToResponse(savedLoan);
     }
 
@@ -81,6 +93,7 @@ public class LoanService {
             throw new BusinessException("Loan amount must be greater than 0");
         }
 
+        BankAggregateDelta before = BankAggregateDelta.of(loan);
         loan.setLoanAmount(request.getLoanAmount());
         loan.setLoanDate(request.getLoanDate());
         loan.setFinancialYear(InterestCalculator.getFinancialYearFromDate(request.getLoanDate()));
@@ -95,12 +108,16 @@ public class LoanService {
         }
 
         Loan updatedLoan = loanRepository.save(loan);
+        bankAggregateService.record(before, updatedLoan);
         return convertToResponse(updatedLoan);
     }
 
-    @Transactional
     public LoanPaymentResponse addPayment(UUID loanId, LoanPaymentRequest request) {
         log.info("Adding payment to loan: {}", loanId);
+        return optimisticRetry.execute("Payment on loan " + loanId, () -> postPayment(loanId, request));
+    }
+
+    private LoanPaymentResponse postPayment(UUID loanId, LoanPaymentRequest request) {
 
         Loan loan = loanRepository.findById(loanId)
                 .orElseThrow(() -> new ResourceNotFoundException(LOAN_NOT_FOUND));
@@ -140,6 +157,8 @@ public class LoanService {
 
         loanPaymentRepository.save(payment);
 
+        BankAggregateDelta before = BankAggregateDelta.of(loan);
+
         // Update loan totals
         loan.setPaidAmount(loan.getPaidAmount().add(request.getPaymentAmount()));
         loan.setDiscountAmount(loan.getDiscountAmount().add(discount));
@@ -157,6 +176,7 @@ public class LoanService {
         }
 
         loanRepository.save(loan);
+        bankAggregateService.record(before, loan);
 
         return LoanMapper.convertPaymentToResponse(payment, loan);
     }
@@ -171,8 +191,11 @@ public class LoanService {
                 .collect(Collectors.toList());
     }
 
-    @Transactional
     public LoanResponse closeLoan(UUID loanId, LoanClosureRequest request) {
+        return optimisticRetry.execute("Closure of loan " + loanId, () -> close(loanId, request));
+    }
+
+    private LoanResponse close(UUID loanId, LoanClosureRequest request) {
         Loan loan = loanRepository.findById(loanId)
                 .orElseThrow(() -> new ResourceNotFoundException(LOAN_NOT_FOUND));
 
@@ -189,6 +212,7 @@ public class LoanService {
         BigDecimal totalRepayment = loan.getLoanAmount().add(interest);
         BigDecimal discount = request.getDiscountAmount() != null ?
                 request.getDiscountAmount() : BigDecimal.ZERO;
+        BankAggregateDelta before = BankAggregateDelta.of(loan);
 
         // If closing with full payment
         if (request.getPaymentAmount() != null) {
@@ -212,13 +236,57 @@ public class LoanService {
         loan.setRemainingAmount(BigDecimal.ZERO);
 
         Loan closedLoan = loanRepository.save(loan);
+        bankAggregateService.record(before, closedLoan);
         return LoanMapper.convertToResponse(closedLoan);
     }
 
-    public Page<LoanResponse> getLoansByStatus(String status, Pageable pageable) {
-        return ("ALL".equals(status) ? loanRepository.findAllByOrderByLoanDateDesc(pageable)
-                : loanRepository.findByStatusOrderByLoanDateDesc(status, pageable))
-                .map(LoanMapper::convertToResponseWithCurrentInterest);
+    /**
+     * Offset pages of loans, newest first, with members fetched in the same query. Without
+     * {@code withCount} the total is not counted and a plain Slice is returned.
+     */
+    @Transactional(readOnly = true)
+    public Slice<LoanResponse> getLoansByStatus(String status, Pageable pageable, boolean withCount) {
+        boolean all = "ALL".equals(status);
+        if (withCount) {
+            Page<Loan> loans = all ? loanRepository.findAllByOrderByLoanDateDescIdDesc(pageable)
+                    : loanRepository.findByStatusOrderByLoanDateDescIdDesc(status, pageable);
+            return new PageImpl<>(LoanMapper.convertToResponsesWithCurrentInterest(loans.getContent()),
+                    loans.getPageable(), loans.getTotalElements());
+        }
+        Slice<Loan> loans = all ? loanRepository.findSliceByOrderByLoanDateDescIdDesc(pageable)
+                : loanRepository.findSliceByStatusOrderByLoanDateDescIdDesc(status, pageable);
+        return new SliceImpl<>(LoanMapper.convertToResponsesWithCurrentInterest(loans.getContent()),
+                loans.getPageable(), loans.hasNext());
+    }
+
+    /**
+     * Keyset pages of loans on (loan date, id), newest first. Each page is one indexed range
+     * read however deep it is; pass the returned cursor back for the next one.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<LoanResponse> getLoanPage(String status, String cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        // fetch one extra row to learn whether another page exists
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        boolean all = "ALL".equals(status);
+
+        List<Loan> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = all ? loanRepository.findAllKeysetFirstPage(limit) : loanRepository.findKeysetFirstPage(status, limit);
+        } else {
+            CursorCodec.DateKey after = CursorCodec.decodeDateKey(cursor);
+            rows = all ? loanRepository.findAllKeysetPageAfter(after.date(), after.id(), limit)
+                    : loanRepository.findKeysetPageAfter(status, after.date(), after.id(), limit);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<Loan> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            Loan last = page.get(page.size() - 1);
+            nextCursor = CursorCodec.encode(last.getLoanDate(), last.getId());
+        }
+        return new CursorPageResponse<>(LoanMapper.convertToResponsesWithCurrentInterest(page), nextCursor, hasMore);
     }
 
     public LoanResponse getLoanById(UUID loanId) {
@@ -230,33 +298,53 @@ public class LoanService {
 
     @Transactional
     public Loan carryForwardLoan(Loan oldLoan, String newFinancialYear, LocalDate carryForwardDate) {
-        log.info("Carrying forward loan {} to new financial year {}", oldLoan.getId(), newFinancialYear);
-
-        BigDecimal interest = InterestCalculator.calculateLoanInterest(
-                oldLoan.getLoanAmount(),
-                oldLoan.getLoanDate(),
-                carryForwardDate
-        );
-
-        oldLoan.setInterestAmount(interest);
-        oldLoan.setTotalRepayment(oldLoan.getLoanAmount().add(interest));
-        oldLoan.setStatus("CARRIED_FORWARD");
-        oldLoan.setReturnDate(carryForwardDate);
-        loanRepository.save(oldLoan);
-
-        BigDecimal newLoanAmount = oldLoan.getLoanAmount().add(interest).subtract(oldLoan.getPaidAmount());
-
-        Loan newLoan = new Loan();
-        newLoan.setMember(oldLoan.getMember());
-        newLoan.setLoanAmount(newLoanAmount);
-        newLoan.setLoanDate(carryForwardDate.plusDays(1));
-        newLoan.setInterestRate(new BigDecimal("5.0"));
-        newLoan.setFinancialYear(newFinancialYear);
-        newLoan.setStatus("ACTIVE");
-        newLoan.setRemainingAmount(newLoanAmount);
-
-        return loanRepository.save(newLoan);
+        return carryForwardLoans(List.of(oldLoan), newFinancialYear, carryForwardDate).get(0);
     }
 
+    /**
+     * Closes each loan as CARRIED_FORWARD with interest up to {@code carryForwardDate} and opens a
+     * new ACTIVE loan for the outstanding amount in {@code newFinancialYear}. All rows are written
+     * with one saveAll so they go out in JDBC batches, and bank aggregates are updated once.
+     */
+    @Transactional
+    public List<Loan> carryForwardLoans(List<Loan> oldLoans, String newFinancialYear, LocalDate carryForwardDate) {
+        log.info("Carrying forward {} loans to new financial year {}", oldLoans.size(), newFinancialYear);
+
+        BankAggregateDelta delta = BankAggregateDelta.ZERO;
+        List<Loan> newLoans = new ArrayList<>(oldLoans.size());
+        for (Loan oldLoan : oldLoans) {
+            BigDecimal interest = InterestCalculator.calculateLoanInterest(
+                    oldLoan.getLoanAmount(),
+                    oldLoan.getLoanDate(),
+                    carryForwardDate
+            );
+
+            BankAggregateDelta before = BankAggregateDelta.of(oldLoan);
+            oldLoan.setInterestAmount(interest);
+            oldLoan.setTotalRepayment(oldLoan.getLoanAmount().add(interest));
+            oldLoan.setStatus("CARRIED_FORWARD");
+            oldLoan.setReturnDate(carryForwardDate);
+            delta = delta.plus(BankAggregateDelta.of(oldLoan).minus(before));
+
+            BigDecimal newLoanAmount = oldLoan.getLoanAmount().add(interest).subtract(oldLoan.getPaidAmount());
+
+            Loan newLoan = new Loan();
+            newLoan.setMember(oldLoan.getMember());
+            newLoan.setLoanAmount(newLoanAmount);
+            newLoan.setLoanDate(carryForwardDate.plusDays(1));
+            newLoan.setInterestRate(new BigDecimal("5.0"));
+            newLoan.setFinancialYear(newFinancialYear);
+            newLoan.setStatus("ACTIVE");
+            newLoan.setRemainingAmount(newLoanAmount);
+            newLoans.add(newLoan);
+        }
 
-}
\ No newline at end of file
+        loanRepository.saveAll(oldLoans);
+        List<Loan> savedLoans = loanRepository.saveAll(newLoans);
+        for (Loan savedLoan : savedLoans) {
+            delta = delta.plus(BankAggregateDelta.of(savedLoan));
+        }
+        bankAggregateService.apply(delta);
+        return savedLoans;
+    }
+}
@@ -2,6 +2,7 @@ package com.dhuripara.service;
 
 import com.dhuripara.model.Member;
 import com.dhuripara.repository.MemberRepository;
+import com.dhuripara.security.MemberEpochTable;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -21,6 +22,7 @@ import java.util.UUID;
 public class LoginAttemptService {
 
     private final MemberRepository memberRepository;
+    private final MemberEpochTable epochTable;
 
     /**
      * Records a failed login attempt in a NEW transaction.
@@ -31,7 +33,12 @@ public class LoginAttemptService {
         Member member = memberRepository.findById(memberId)
                 .orElseThrow(() -> new RuntimeException("Member not found"));
 
+        boolean wasBlocked = member.isCurrentlyBlocked();
         member.incrementFailedAttempts();
+        if (!wasBlocked && member.isCurrentlyBlocked()) {
+            // Blocking also signs the member out of existing sessions
+            epochTable.advance(member);
+        }
         memberRepository.saveAndFlush(member); // Force immediate database write
 
         log.warn("Failed login attempt recorded for member: {} (Phone: {}) - Total attempts: {}/3",
@@ -11,7 +11,6 @@ import com.dhuripara.repository.DepositRepository;
 import com.dhuripara.repository.LoanRepository;
 import com.dhuripara.repository.MemberRepository;
 import com.dhuripara.util.DepositMapper;
-import com.dhuripara.util.InterestCalculator;
 import com.dhuripara.util.JwtUtil;
 import com.dhuripara.util.LoanMapper;
 import lombok.RequiredArgsConstructor;
@@ -20,7 +19,6 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.UUID;
@@ -119,7 +117,7 @@ public class MemberAuthService {
             log.error("Error recording successful login for member: {}", member.getId(), e);
         }
 
-        String token = jwtUtil.generateToken("MEMBER_" + member.getId().toString());
+        String token = jwtUtil.generateMemberToken(member.getId(), member.getRole(), member.getSecurityEpoch());
 
         // Create session using role stored on member
         String memberName = NameUtil.buildMemberName(member);
@@ -140,10 +138,8 @@ public class MemberAuthService {
         Member member = memberRepository.findById(memberId)
                 .orElseThrow(() -> new RuntimeException("Member not found"));
 
-        List<DepositResponse> deposits = depositRepository.findByMemberId(memberId).stream()
-                .map(DepositMapper::convertToResponseWithCurrentInterest).toList();
-        List<LoanResponse> loans = loanRepository.findByMemberId(memberId).stream()
-                .map(LoanMapper::convertToResponseWithCurrentInterest).toList();
+        List<DepositResponse> deposits = DepositMapper.convertToResponsesWithCurrentInterest(depositRepository.findByMemberId(memberId));
+        List<LoanResponse> loans = LoanMapper.convertToResponsesWithCurrentInterest(loanRepository.findByMemberId(memberId));
 
         MemberDashboardResponse response = new MemberDashboardResponse();
         response.setMemberName(NameUtil.buildMemberName(member));
@@ -179,17 +175,15 @@ public class MemberAuthService {
                 .map(LoanResponse::getLoanAmount)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
 
-        // Calculate current interest for active items
+        // Current interest for active items was accrued by the mappers
         BigDecimal currentDepositInterest = deposits.stream()
                 .filter(d -> ACTIVE.equals(d.getStatus()))
-                .map(d -> InterestCalculator.calculateDepositInterest(
-                        d.getAmount(), d.getDepositDate(), LocalDate.now()))
+                .map(DepositResponse::getInterestEarned)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
 
         BigDecimal currentLoanInterest = loans.stream()
                 .filter(l -> ACTIVE.equals(l.getStatus()))
-                .map(l -> InterestCalculator.calculateLoanInterest(
-                        l.getLoanAmount(), l.getLoanDate(), LocalDate.now()))
+                .map(LoanResponse::getCurrentInterest)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
 
         response.setTotalDeposited(totalDeposited);
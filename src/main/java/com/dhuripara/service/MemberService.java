@@ -4,11 +4,15 @@ import com.dhuripara.dto.request.ChangePinRequest;
 import com.dhuripara.dto.request.MemberRequest;
 import com.dhuripara.dto.response.MemberResponse;
 import com.dhuripara.exception.BusinessException;
+import com.dhuripara.event.VdfDataChangedEvent;
 import com.dhuripara.exception.ResourceNotFoundException;
 import com.dhuripara.model.Member;
 import com.dhuripara.repository.MemberRepository;
+import com.dhuripara.security.MemberEpochTable;
+import com.dhuripara.security.SessionPrincipalCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,6 +27,9 @@ import java.util.stream.Collectors;
 public class MemberService {
 
     private final MemberRepository memberRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SessionPrincipalCache principalCache;
+    private final MemberEpochTable epochTable;
 
     @Transactional
     public MemberResponse createMember(MemberRequest request) {
@@ -102,11 +109,18 @@ public class MemberService {
         member.setIsOperator(request.getIsOperator());
         // if role is provided, override isOperator to match role
         if (request.getRole() != null) {
+            if (!request.getRole().equalsIgnoreCase(member.getRole())) {
+                // tokens and cached sessions still hold the old role's authorities
+                epochTable.advance(member);
+                principalCache.invalidateUser(member.getId());
+            }
             member.setRole(request.getRole());
             member.setIsOperator("OPERATOR".equalsIgnoreCase(request.getRole()));
         }
 
         Member updatedMember = memberRepository.save(member);
+        // member names are shown on VDF deposits and families
+        eventPublisher.publishEvent(new VdfDataChangedEvent("member"));
         return convertToResponse(updatedMember);
     }
 
@@ -115,6 +129,7 @@ public class MemberService {
         Member member = memberRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Member not found with id: " + id));
         member.setIsActive(false);
+        epochTable.advance(member);
         memberRepository.save(member);
     }
 
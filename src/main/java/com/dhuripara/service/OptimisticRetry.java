@@ -0,0 +1,63 @@
+package com.dhuripara.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs a read-modify-write of versioned loans and deposits in its own transaction, and runs it
+ * again when the commit loses an optimistic-lock race. Each attempt is a fresh transaction and
+ * persistence context, so it re-reads what the other writer committed and re-validates it.
+ *
+ * Inside an existing transaction the work just joins it and is not retried: only the outermost
+ * transaction can be rolled back and started over.
+ */
+@Slf4j
+@Component
+public class OptimisticRetry {
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+
+    public OptimisticRetry(PlatformTransactionManager transactionManager,
+                           @Value("${bank.write-max-attempts:4}") int maxAttempts) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = Math.max(1, maxAttempts);
+    }
+
+    public <T> T execute(String operation, Supplier<T> work) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return work.get();
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    log.warn("{} still conflicting after {} attempts", operation, attempt);
+                    throw e;
+                }
+                log.debug("{} lost an optimistic-lock race, retrying (attempt {} of {})", operation, attempt, maxAttempts);
+                backOff(attempt, e);
+            }
+        }
+    }
+
+    // Jittered and growing, so writers that just collided do not collide again in lockstep
+    private static void backOff(int attempt, OptimisticLockingFailureException cause) {
+        long millis = ThreadLocalRandom.current().nextLong(5L << attempt, 20L << attempt);
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw cause;
+        }
+    }
+}
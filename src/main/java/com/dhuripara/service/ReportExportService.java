@@ -0,0 +1,210 @@
+package com.dhuripara.service;
+
+import com.dhuripara.exception.ResourceNotFoundException;
+import com.dhuripara.repository.DepositRepository;
+import com.dhuripara.repository.LoanRepository;
+import com.dhuripara.repository.MemberRepository;
+import com.dhuripara.util.ExportWriter;
+import com.dhuripara.util.InterestCalculator;
+import com.dhuripara.util.NameUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Member statements and deposit/loan ledgers written straight to a response stream as CSV or .xls.
+ *
+ * Ledgers read scalar rows of just the exported columns through a cursor-backed JPA stream, so
+ * no entities pile up in the persistence context however long the ledger is.
+ * Statements read deposits and loans together from one forward-only JDBC cursor ordered by
+ * member, so a member's rows arrive together and nothing is collected per member either.
+ * Active rows carry interest accrued up to today, as in the on-screen statement.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReportExportService {
+
+    private static final int FETCH_SIZE = 500;
+
+    private static final String[] STATEMENT_HEADERS = {
+            "Member ID", "Member", "Type", "ID", "Date", "Financial Year", "Status",
+            "Principal", "Interest", "Total", "Paid", "Remaining", "Return Date"};
+
+    private static final String[] DEPOSIT_HEADERS = {
+            "ID", "Member ID", "Member", "Financial Year", "Deposit Date", "Amount", "Interest Rate",
+            "Status", "Return Date", "Interest Earned", "Total Amount", "Notes"};
+
+    private static final String[] LOAN_HEADERS = {
+            "ID", "Member ID", "Member", "Financial Year", "Loan Date", "Loan Amount", "Interest Rate",
+            "Status", "Return Date", "Interest Amount", "Total Repayment", "Paid Amount", "Discount Amount",
+            "Remaining Amount", "Notes"};
+
+    private static final String STATEMENT_SELECT =
+            "SELECT m.id AS member_id, m.first_name, m.last_name, m.first_name_bn, m.last_name_bn, " +
+            "'DEPOSIT' AS kind, d.id, d.deposit_date AS entry_date, d.financial_year, d.status, " +
+            "d.amount AS principal, d.interest_earned AS interest, d.total_amount AS total, " +
+            "NULL AS paid, NULL AS discount, NULL AS remaining, d.return_date " +
+            "FROM deposits d JOIN members m ON m.id = d.member_id WHERE %1$s " +
+            "UNION ALL " +
+            "SELECT m.id, m.first_name, m.last_name, m.first_name_bn, m.last_name_bn, " +
+            "'LOAN', l.id, l.loan_date, l.financial_year, l.status, " +
+            "l.loan_amount, l.interest_amount, l.loan_amount + l.interest_amount, " +
+            "l.paid_amount, l.discount_amount, l.remaining_amount, l.return_date " +
+            "FROM loans l JOIN members m ON m.id = l.member_id WHERE %2$s " +
+            "ORDER BY last_name, first_name, member_id, entry_date, kind, id";
+
+    private static final String STATEMENTS_BY_YEAR_SQL =
+            String.format(STATEMENT_SELECT, "d.financial_year = ?", "l.financial_year = ?");
+
+    private static final String STATEMENT_BY_MEMBER_SQL =
+            String.format(STATEMENT_SELECT, "d.member_id = ?", "l.member_id = ?");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MemberRepository memberRepository;
+    private final DepositRepository depositRepository;
+    private final LoanRepository loanRepository;
+
+    /**
+     * Fails before a response is started if the member does not exist.
+     */
+    @Transactional(readOnly = true)
+    public void requireMember(UUID memberId) {
+        if (!memberRepository.existsById(memberId)) {
+            throw new ResourceNotFoundException("Member not found");
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public int exportMemberStatement(UUID memberId, ExportWriter.Format format, OutputStream stream) throws IOException {
+        try (ExportWriter out = ExportWriter.open(format, stream, "Statement", STATEMENT_HEADERS)) {
+            return exportStatementRows(STATEMENT_BY_MEMBER_SQL, memberId, out);
+        }
+    }
+
+    /**
+     * Statements for every member with deposits or loans in the financial year, one member after another.
+     */
+    @Transactional(readOnly = true)
+    public int exportStatements(String financialYear, ExportWriter.Format format, OutputStream stream) throws IOException {
+        try (ExportWriter out = ExportWriter.open(format, stream, "Statements " + financialYear, STATEMENT_HEADERS)) {
+            return exportStatementRows(STATEMENTS_BY_YEAR_SQL, financialYear, out);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public int exportDepositLedger(String financialYear, ExportWriter.Format format, OutputStream stream)
+            throws IOException {
+        int count = 0;
+        try (ExportWriter out = ExportWriter.open(format, stream, "Deposits", DEPOSIT_HEADERS);
+             Stream<Object[]> deposits = financialYear == null
+                     ? depositRepository.streamLedger()
+                     : depositRepository.streamLedgerByYear(financialYear)) {
+            for (Iterator<Object[]> it = deposits.iterator(); it.hasNext(); count++) {
+                writeLedgerRow(out, it.next());
+            }
+        }
+        log.info("Exported {} deposit ledger rows for {}", count, financialYear == null ? "all years" : financialYear);
+        return count;
+    }
+
+    @Transactional(readOnly = true)
+    public int exportLoanLedger(String financialYear, ExportWriter.Format format, OutputStream stream)
+            throws IOException {
+        int count = 0;
+        try (ExportWriter out = ExportWriter.open(format, stream, "Loans", LOAN_HEADERS);
+             Stream<Object[]> loans = financialYear == null
+                     ? loanRepository.streamLedger()
+                     : loanRepository.streamLedgerByYear(financialYear)) {
+            for (Iterator<Object[]> it = loans.iterator(); it.hasNext(); count++) {
+                writeLedgerRow(out, it.next());
+            }
+        }
+        log.info("Exported {} loan ledger rows for {}", count, financialYear == null ? "all years" : financialYear);
+        return count;
+    }
+
+    private int exportStatementRows(String sql, Object key, ExportWriter out) {
+        LocalDate today = LocalDate.now();
+        int[] count = {0};
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(FETCH_SIZE);
+            ps.setObject(1, key);
+            ps.setObject(2, key);
+            return ps;
+        }, rs -> {
+            writeStatementRow(rs, today, out);
+            count[0]++;
+        });
+        log.info("Exported {} statement rows", count[0]);
+        return count[0];
+    }
+
+    private static void writeStatementRow(ResultSet rs, LocalDate today, ExportWriter out) throws SQLException {
+        String kind = rs.getString("kind");
+        String status = rs.getString("status");
+        LocalDate date = rs.getObject("entry_date", LocalDate.class);
+        BigDecimal principal = rs.getBigDecimal("principal");
+        BigDecimal interest = rs.getBigDecimal("interest");
+        BigDecimal total = rs.getBigDecimal("total");
+        BigDecimal paid = rs.getBigDecimal("paid");
+        BigDecimal remaining = rs.getBigDecimal("remaining");
+
+        if ("ACTIVE".equals(status) && date != null) {
+            boolean deposit = "DEPOSIT".equals(kind);
+            interest = deposit
+                    ? InterestCalculator.calculateDepositInterest(principal, date, today)
+                    : InterestCalculator.calculateLoanInterest(principal, date, today);
+            total = principal.add(interest);
+            if (!deposit) {
+                remaining = total.subtract(zeroIfNull(paid)).subtract(zeroIfNull(rs.getBigDecimal("discount")));
+            }
+        }
+
+        write(out, rs.getObject("member_id", UUID.class),
+                NameUtil.buildMemberName(rs.getString("first_name"), rs.getString("last_name"),
+                        rs.getString("first_name_bn"), rs.getString("last_name_bn")),
+                kind, rs.getObject("id", UUID.class), date, rs.getString("financial_year"), status,
+                principal, interest, total, paid, remaining, rs.getObject("return_date", LocalDate.class));
+    }
+
+    /**
+     * Ledger rows are [id, memberId, firstName, lastName, firstNameBn, lastNameBn, ...]; the four name
+     * columns become one member name and the rest are written as they are.
+     */
+    private static void writeLedgerRow(ExportWriter out, Object[] row) {
+        Object[] values = new Object[row.length - 3];
+        values[0] = row[0];
+        values[1] = row[1];
+        values[2] = NameUtil.buildMemberName((String) row[2], (String) row[3], (String) row[4], (String) row[5]);
+        System.arraycopy(row, 6, values, 3, row.length - 6);
+        write(out, values);
+    }
+
+    private static BigDecimal zeroIfNull(BigDecimal value) {
+        return value == null ? BigDecimal.ZERO : value;
+    }
+
+    private static void write(ExportWriter out, Object... values) {
+        try {
+            out.row(values);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -4,10 +4,9 @@ import com.dhuripara.dto.response.DepositResponse;
 import com.dhuripara.dto.response.LoanResponse;
 import com.dhuripara.dto.response.MemberStatementResponse;
 import com.dhuripara.dto.response.YearlySettlementResponse;
+import com.dhuripara.event.BankDataChangedEvent;
 import com.dhuripara.exception.ResourceNotFoundException;
-import com.dhuripara.model.Deposit;
 import com.dhuripara.model.FinancialYear;
-import com.dhuripara.model.Loan;
 import com.dhuripara.model.Member;
 import com.dhuripara.repository.DepositRepository;
 import com.dhuripara.repository.FinancialYearRepository;
@@ -17,12 +16,18 @@ import com.dhuripara.util.InterestCalculator;
 import com.dhuripara.util.DepositMapper;
 import com.dhuripara.util.LoanMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import com.dhuripara.util.NameUtil;
 
 @Service
@@ -34,12 +39,15 @@ public class ReportService {
     private final LoanRepository loanRepository;
     private final FinancialYearRepository financialYearRepository;
 
+    private final Map<String, CachedSettlement> settlementCache = new ConcurrentHashMap<>();
+    private final AtomicLong settlementGeneration = new AtomicLong();
+
     public MemberStatementResponse getMemberStatement(UUID memberId) {
         Member member = memberRepository.findById(memberId)
                 .orElseThrow(() -> new ResourceNotFoundException("Member not found"));
 
-        List<DepositResponse> deposits = depositRepository.findByMemberId(memberId).stream().map(DepositMapper::convertToResponseWithCurrentInterest).toList();
-        List<LoanResponse> loans = loanRepository.findByMemberId(memberId).stream().map(LoanMapper::convertToResponseWithCurrentInterest).toList();
+        List<DepositResponse> deposits = DepositMapper.convertToResponsesWithCurrentInterest(depositRepository.findByMemberId(memberId));
+        List<LoanResponse> loans = LoanMapper.convertToResponsesWithCurrentInterest(loanRepository.findByMemberId(memberId));
 
         BigDecimal totalDeposits = deposits.stream()
                 .map(DepositResponse::getAmount)
@@ -73,9 +81,22 @@ public class ReportService {
         return response;
     }
 
+    /**
+     * Settlement totals for a financial year (the current one when null). A closed year, one
+     * with an inactive financial_years row other than the current year, is cached for good;
+     * anything else is cached until the next deposit or loan write commits. Callers get their
+     * own copy of the cached response.
+     */
     public YearlySettlementResponse getYearlySettlement(String year) {
+        String currentYear = InterestCalculator.getCurrentFinancialYear();
         if (year == null) {
-            year = InterestCalculator.getCurrentFinancialYear();
+            year = currentYear;
+        }
+
+        long gen = settlementGeneration.get();
+        CachedSettlement cached = settlementCache.get(year);
+        if (cached != null && (cached.closed() || cached.generation() == gen)) {
+            return copy(cached.response());
         }
 
         // Try to find existing financial year data
@@ -93,34 +114,50 @@ public class ReportService {
             response.setNetProfit(fy.getNetBalance());
             response.setSettlementDate(fy.getSettlementDate());
         } else {
-            // Calculate from current data for the year
-            List<Deposit> deposits = depositRepository.findByStatusAndFinancialYear("SETTLED", year);
-            List<Loan> loans = loanRepository.findByStatusAndFinancialYear("SETTLED", year);
-
-            BigDecimal totalDeposits = deposits.stream()
-                    .map(Deposit::getAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-            BigDecimal totalLoans = loans.stream()
-                    .map(Loan::getLoanAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            // Sum the year's settled rows in the database
+            Object[] totals = financialYearRepository.getYearTotals("SETTLED", year).get(0);
+            BigDecimal totalDepositInterest = toBigDecimal(totals[1]);
+            BigDecimal totalLoanInterest = toBigDecimal(totals[3]);
 
-            BigDecimal totalDepositInterest = deposits.stream()
-                    .map(Deposit::getInterestEarned)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-            BigDecimal totalLoanInterest = loans.stream()
-                    .map(Loan::getInterestAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-            response.setTotalDeposits(totalDeposits);
-            response.setTotalLoans(totalLoans);
+            response.setTotalDeposits(toBigDecimal(totals[0]));
+            response.setTotalLoans(toBigDecimal(totals[2]));
             response.setTotalDepositInterest(totalDepositInterest);
             response.setTotalLoanInterest(totalLoanInterest);
             response.setNetProfit(totalLoanInterest.subtract(totalDepositInterest));
             response.setSettlementDate(null);
         }
 
-        return response;
+        boolean closed = fy != null && !Boolean.TRUE.equals(fy.getIsActive()) && !year.equals(currentYear);
+        // A result read while a write committed is returned but not kept
+        if (closed || settlementGeneration.get() == gen) {
+            settlementCache.put(year, new CachedSettlement(gen, closed, response));
+        }
+        return copy(response);
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE + 2)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBankDataChanged(BankDataChangedEvent event) {
+        settlementGeneration.incrementAndGet();
+        settlementCache.values().removeIf(cached -> !cached.closed());
+    }
+
+    private static YearlySettlementResponse copy(YearlySettlementResponse source) {
+        YearlySettlementResponse copy = new YearlySettlementResponse();
+        copy.setYear(source.getYear());
+        copy.setTotalDeposits(source.getTotalDeposits());
+        copy.setTotalLoans(source.getTotalLoans());
+        copy.setTotalDepositInterest(source.getTotalDepositInterest());
+        copy.setTotalLoanInterest(source.getTotalLoanInterest());
+        copy.setNetProfit(source.getNetProfit());
+        copy.setSettlementDate(source.getSettlementDate());
+        return copy;
+    }
+
+    private static BigDecimal toBigDecimal(Object value) {
+        return value instanceof BigDecimal decimal ? decimal : new BigDecimal(value.toString());
+    }
+
+    private record CachedSettlement(long generation, boolean closed, YearlySettlementResponse response) {
     }
-}
\ No newline at end of file
+}
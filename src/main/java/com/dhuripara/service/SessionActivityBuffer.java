@@ -0,0 +1,99 @@
+package com.dhuripara.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind buffer for session last-activity timestamps. Requests only record the latest
+ * time per token in memory; every flush interval the buffered times are written in one JDBC
+ * batch, so a session costs at most one row update per interval however busy it is.
+ *
+ * Readers that need current values go through {@link #latest(String, LocalDateTime)}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SessionActivityBuffer {
+
+    private static final String FLUSH_SQL =
+            "UPDATE user_sessions SET last_activity = ? WHERE token = ? AND last_activity < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ConcurrentHashMap<String, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    public void record(String token) {
+        pending.put(token, LocalDateTime.now());
+    }
+
+    /**
+     * The later of the stored and the buffered activity time.
+     */
+    public LocalDateTime latest(String token, LocalDateTime stored) {
+        LocalDateTime buffered = pending.get(token);
+        if (buffered == null || (stored != null && !buffered.isAfter(stored))) {
+            return stored;
+        }
+        return buffered;
+    }
+
+    public int size() {
+        return pending.size();
+    }
+
+    @Scheduled(fixedDelayString = "${security.session-activity.flush-interval-ms:60000}",
+            initialDelayString = "${security.session-activity.flush-interval-ms:60000}")
+    public void scheduledFlush() {
+        flush();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Writes and drops every buffered time. A token touched again while the batch is built keeps
+     * its newer time for the next flush; if the batch fails the drained times are put back unless
+     * newer ones have arrived.
+     */
+    public int flush() {
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        List<Object[]> batch = new ArrayList<>(pending.size());
+        for (Map.Entry<String, LocalDateTime> entry : pending.entrySet()) {
+            String token = entry.getKey();
+            LocalDateTime time = entry.getValue();
+            if (pending.remove(token, time)) {
+                Timestamp ts = Timestamp.valueOf(time);
+                batch.add(new Object[]{ts, token, ts});
+            }
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        try {
+            jdbcTemplate.batchUpdate(FLUSH_SQL, batch);
+        } catch (RuntimeException e) {
+            for (Object[] row : batch) {
+                pending.merge((String) row[1], ((Timestamp) row[0]).toLocalDateTime(),
+                        (current, restored) -> current.isAfter(restored) ? current : restored);
+            }
+            log.warn("Failed to flush {} session activity updates, will retry: {}", batch.size(), e.getMessage());
+            return 0;
+        }
+        log.debug("Flushed {} session activity updates", batch.size());
+        return batch.size();
+    }
+}
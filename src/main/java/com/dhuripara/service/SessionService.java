@@ -2,6 +2,7 @@ package com.dhuripara.service;
 
 import com.dhuripara.model.UserSession;
 import com.dhuripara.repository.UserSessionRepository;
+import com.dhuripara.security.SessionPrincipalCache;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -19,6 +20,8 @@ import java.util.UUID;
 public class SessionService {
 
     private final UserSessionRepository sessionRepository;
+    private final SessionPrincipalCache principalCache;
+    private final SessionActivityBuffer activityBuffer;
 
     public String getClientIpAddress(HttpServletRequest request) {
         String xForwardedFor = request.getHeader("X-Forwarded-For");
@@ -63,19 +66,30 @@ public class SessionService {
         return sessionRepository.save(session);
     }
 
-    @Transactional
-    public void updateLastActivity(String token) {
-        sessionRepository.updateLastActivity(token, LocalDateTime.now());
+    /**
+     * Records activity in memory only; SessionActivityBuffer writes it out on its next flush.
+     */
+    public void recordActivity(String token) {
+        activityBuffer.record(token);
+    }
+
+    /**
+     * The session's last activity including any time not yet flushed to the database.
+     */
+    public LocalDateTime getLastActivity(UserSession session) {
+        return activityBuffer.latest(session.getToken(), session.getLastActivity());
     }
 
     @Transactional
     public void deactivateSession(String token) {
         sessionRepository.deactivateSessionByToken(token);
+        principalCache.invalidateToken(token);
     }
 
     @Transactional
     public void deactivateAllSessionsForUser(UUID userId, String userType) {
         sessionRepository.deactivateAllSessionsForUser(userId, userType);
+        principalCache.invalidateUser(userId, userType);
     }
 
     public Optional<UserSession> getSessionByToken(String token) {
@@ -0,0 +1,100 @@
+package com.dhuripara.service;
+
+import com.dhuripara.security.SessionPrincipalCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Keeps user_sessions bounded now that tokens never expire. Each run deactivates sessions idle
+ * longer than the idle timeout, then deletes inactive sessions whose last activity is older than
+ * the retention period.
+ *
+ * Both steps work in small batches, each its own short statement, and skip rows locked by
+ * concurrent logouts, so a large backlog never holds locks on the table for long.
+ */
+@Slf4j
+@Service
+public class SessionSweeper {
+
+    private static final String DEACTIVATE_IDLE_SQL =
+            "UPDATE user_sessions SET is_active = false WHERE id IN (" +
+            "SELECT id FROM user_sessions WHERE is_active = true AND last_activity < ? " +
+            "ORDER BY last_activity LIMIT ? FOR UPDATE SKIP LOCKED) RETURNING token";
+
+    private static final String DELETE_EXPIRED_SQL =
+            "DELETE FROM user_sessions WHERE id IN (" +
+            "SELECT id FROM user_sessions WHERE is_active = false AND last_activity < ? " +
+            "LIMIT ? FOR UPDATE SKIP LOCKED)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SessionActivityBuffer activityBuffer;
+    private final SessionPrincipalCache principalCache;
+    private final int idleDays;
+    private final int retentionDays;
+    private final int batchSize;
+    private final Counter deactivated;
+    private final Counter deleted;
+
+    public SessionSweeper(JdbcTemplate jdbcTemplate,
+                          SessionActivityBuffer activityBuffer,
+                          SessionPrincipalCache principalCache,
+                          MeterRegistry meterRegistry,
+                          @Value("${security.session-sweeper.idle-days:30}") int idleDays,
+                          @Value("${security.session-sweeper.retention-days:90}") int retentionDays,
+                          @Value("${security.session-sweeper.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.activityBuffer = activityBuffer;
+        this.principalCache = principalCache;
+        this.idleDays = idleDays;
+        this.retentionDays = retentionDays;
+        this.batchSize = batchSize;
+        this.deactivated = Counter.builder("sessions.swept").tag("action", "deactivated").register(meterRegistry);
+        this.deleted = Counter.builder("sessions.swept").tag("action", "deleted").register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${security.session-sweeper.cron:0 15 * * * *}")
+    public void sweep() {
+        // Idle checks must see activity still waiting in the write-behind buffer
+        activityBuffer.flush();
+        LocalDateTime now = LocalDateTime.now();
+        int idle = deactivateIdle(now.minusDays(idleDays));
+        int expired = deleteExpired(now.minusDays(retentionDays));
+        if (idle > 0 || expired > 0) {
+            log.info("Session sweep: deactivated {} idle sessions, deleted {} expired sessions", idle, expired);
+        }
+    }
+
+    int deactivateIdle(LocalDateTime idleBefore) {
+        Timestamp cutoff = Timestamp.valueOf(idleBefore);
+        int total = 0;
+        List<String> tokens;
+        do {
+            tokens = jdbcTemplate.queryForList(DEACTIVATE_IDLE_SQL, String.class, cutoff, batchSize);
+            tokens.forEach(principalCache::invalidateToken);
+            deactivated.increment(tokens.size());
+            total += tokens.size();
+        } while (tokens.size() == batchSize);
+        return total;
+    }
+
+    int deleteExpired(LocalDateTime inactiveBefore) {
+        Timestamp cutoff = Timestamp.valueOf(inactiveBefore);
+        int total = 0;
+        int count;
+        do {
+            count = jdbcTemplate.update(DELETE_EXPIRED_SQL, cutoff, batchSize);
+            deleted.increment(count);
+            total += count;
+        } while (count == batchSize);
+        return total;
+    }
+}
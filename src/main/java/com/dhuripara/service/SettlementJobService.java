@@ -0,0 +1,174 @@
+package com.dhuripara.service;
+
+import com.dhuripara.model.SettlementJob;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Runs financial-year settlement jobs in the background.
+ *
+ * A coordinator thread pages through the year's active deposit ids, then active loan ids, and
+ * hands each chunk to a worker pool. Every chunk is its own transaction (see SettlementService),
+ * so a failure or crash loses at most the chunks in flight. Jobs left RUNNING by a crash or
+ * shutdown are resumed at startup and failed jobs can be resumed on request; both pick up the rows
+ * that are still ACTIVE.
+ */
+@Slf4j
+@Service
+public class SettlementJobService {
+
+    private final SettlementService settlementService;
+    private final int chunkSize;
+    private final ExecutorService coordinator;
+    private final ExecutorService workers;
+    private final Set<UUID> runningJobs = ConcurrentHashMap.newKeySet();
+
+    public SettlementJobService(SettlementService settlementService,
+                                @Value("${settlement.chunk-size:200}") int chunkSize,
+                                @Value("${settlement.workers:4}") int workerCount) {
+        this.settlementService = settlementService;
+        this.chunkSize = chunkSize;
+        this.coordinator = Executors.newSingleThreadExecutor(threadFactory("settlement-coordinator"));
+        this.workers = Executors.newFixedThreadPool(workerCount, threadFactory("settlement-worker"));
+    }
+
+    public SettlementJob start(String requestedBy) {
+        SettlementJob job = settlementService.createJob(chunkSize, requestedBy);
+        launch(job.getId());
+        return job;
+    }
+
+    public SettlementJob resume(UUID jobId) {
+        SettlementJob job = settlementService.reopenJob(jobId);
+        launch(jobId);
+        return job;
+    }
+
+    public SettlementJob getJob(UUID jobId) {
+        return settlementService.getJob(jobId);
+    }
+
+    public List<SettlementJob> getRecentJobs() {
+        return settlementService.getRecentJobs();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedJobs() {
+        for (SettlementJob job : settlementService.getInFlightJobs()) {
+            log.info("Resuming settlement job {} for financial year {}", job.getId(), job.getFinancialYear());
+            launch(job.getId());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Chunks cut off here roll back; the job stays RUNNING and is resumed at the next startup
+        coordinator.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    private void launch(UUID jobId) {
+        if (runningJobs.add(jobId)) {
+            coordinator.submit(() -> run(jobId));
+        }
+    }
+
+    private void run(UUID jobId) {
+        try {
+            SettlementJob job = settlementService.markRunning(jobId, SettlementJob.PHASE_DEPOSITS);
+            String year = job.getFinancialYear();
+            LocalDate settlementDate = job.getSettlementDate();
+            int size = job.getChunkSize();
+
+            int deposits = runPhase(size,
+                    after -> settlementService.nextDepositIds(year, after, size),
+                    ids -> settlementService.settleDepositChunk(jobId, ids, settlementDate));
+            log.info("Settlement job {}: settled {} deposits", jobId, deposits);
+
+            settlementService.markRunning(jobId, SettlementJob.PHASE_LOANS);
+            int loans = runPhase(size,
+                    after -> settlementService.nextLoanIds(year, after, size),
+                    ids -> settlementService.carryForwardLoanChunk(jobId, ids, job.getNextFinancialYear(), settlementDate));
+            log.info("Settlement job {}: carried forward {} loans", jobId, loans);
+
+            settlementService.markRunning(jobId, SettlementJob.PHASE_FINALIZING);
+            settlementService.completeJob(jobId);
+        } catch (InterruptedException | RejectedExecutionException e) {
+            // Shutting down: not a failure of the job, which resumes from its checkpoint at startup
+            log.warn("Settlement job {} interrupted by shutdown; leaving it RUNNING", jobId);
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Settlement job {} failed", jobId, e);
+            settlementService.markFailed(jobId, e.getMessage() != null ? e.getMessage() : e.getClass().getName());
+        } finally {
+            runningJobs.remove(jobId);
+        }
+    }
+
+    /**
+     * Submits one chunk per id page and waits for all of them. The first failure, whether paging
+     * or a chunk, is rethrown once every submitted chunk has finished, so nothing is still writing
+     * when the job is marked failed. Interruption and a shut-down pool propagate straight away.
+     */
+    private int runPhase(int size, Function<UUID, List<UUID>> nextIds, ToIntFunction<List<UUID>> processChunk)
+            throws Exception {
+        List<Future<Integer>> chunks = new ArrayList<>();
+        Exception failure = null;
+        try {
+            UUID after = null;
+            while (true) {
+                List<UUID> ids = nextIds.apply(after);
+                if (ids.isEmpty()) {
+                    break;
+                }
+                chunks.add(workers.submit(() -> processChunk.applyAsInt(ids)));
+                if (ids.size() < size) {
+                    break;
+                }
+                after = ids.get(ids.size() - 1);
+            }
+        } catch (RejectedExecutionException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+
+        int processed = 0;
+        for (Future<Integer> chunk : chunks) {
+            try {
+                processed += chunk.get();
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof Exception cause ? cause : e;
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return processed;
+    }
+
+    private static ThreadFactory threadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,206 @@
+package com.dhuripara.service;
+
+import com.dhuripara.dto.response.SettlementPreviewResponse;
+import com.dhuripara.dto.response.SettlementPreviewResponse.MemberLine;
+import com.dhuripara.exception.BusinessException;
+import com.dhuripara.repository.DepositRepository;
+import com.dhuripara.repository.LoanRepository;
+import com.dhuripara.repository.MemberRepository;
+import com.dhuripara.util.InterestCalculator;
+import com.dhuripara.util.InterestEngine;
+import com.dhuripara.util.NameUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Dry run of the financial-year settlement: what SettlementService would pay on active deposits
+ * and charge on active loans for a given settlement date, per member and in total. Nothing is
+ * written.
+ *
+ * Rows are streamed as scalar projections into primitive arrays, interest is computed in parallel
+ * with InterestEngine (the same rules InterestCalculator applies) and folded per member, so only
+ * the requested page of members is turned into BigDecimal responses.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SettlementPreviewService {
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+
+    // Per-member and total columns, in paise
+    private static final int DEPOSIT_PRINCIPAL = 0;
+    private static final int DEPOSIT_INTEREST = 1;
+    private static final int LOAN_PRINCIPAL = 2;
+    private static final int LOAN_INTEREST = 3;
+    private static final int CARRY_FORWARD = 4;
+    private static final int COLUMNS = 5;
+
+    private final DepositRepository depositRepository;
+    private final LoanRepository loanRepository;
+    private final MemberRepository memberRepository;
+
+    @Transactional(readOnly = true)
+    public SettlementPreviewResponse preview(LocalDate settlementDate, String financialYear, Integer page, Integer size) {
+        LocalDate date = settlementDate != null ? settlementDate : LocalDate.now();
+        String year = financialYear != null && !financialYear.isBlank()
+                ? financialYear : InterestCalculator.getCurrentFinancialYear();
+        int pageNumber = page != null ? page : 0;
+        int pageSize = size != null ? size : DEFAULT_PAGE_SIZE;
+        if (pageNumber < 0 || pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new BusinessException("Page must be 0 or more and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        long started = System.nanoTime();
+        int asOf = (int) date.toEpochDay();
+
+        Map<UUID, Integer> memberIndex = new HashMap<>();
+        Rows deposits = new Rows();
+        try (Stream<Object[]> rows = depositRepository.streamSettlementRows("ACTIVE", year)) {
+            rows.forEach(row -> deposits.add(memberIndex, (UUID) row[0], (BigDecimal) row[1], (LocalDate) row[2], null));
+        }
+        Rows loans = new Rows();
+        try (Stream<Object[]> rows = loanRepository.streamSettlementRows("ACTIVE", year)) {
+            rows.forEach(row -> loans.add(memberIndex, (UUID) row[0], (BigDecimal) row[1], (LocalDate) row[2],
+                    (BigDecimal) row[3]));
+        }
+
+        deposits.accrue(InterestEngine.DEPOSIT_RATE_BP, asOf);
+        loans.accrue(InterestEngine.LOAN_RATE_BP, asOf);
+
+        // Fold rows into per-member totals, indexed like memberIndex
+        int memberCount = memberIndex.size();
+        long[][] perMember = new long[COLUMNS][memberCount];
+        int[] depositCounts = new int[memberCount];
+        int[] loanCounts = new int[memberCount];
+        long[] totals = new long[COLUMNS];
+        for (int i = 0; i < deposits.size; i++) {
+            int m = deposits.member[i];
+            depositCounts[m]++;
+            perMember[DEPOSIT_PRINCIPAL][m] += deposits.principal[i];
+            perMember[DEPOSIT_INTEREST][m] += deposits.interest[i];
+        }
+        for (int i = 0; i < loans.size; i++) {
+            int m = loans.member[i];
+            // Same as LoanService.carryForwardLoans: principal + interest - paid becomes the new loan
+            long carryForward = loans.principal[i] + loans.interest[i] - loans.paid[i];
+            loanCounts[m]++;
+            perMember[LOAN_PRINCIPAL][m] += loans.principal[i];
+            perMember[LOAN_INTEREST][m] += loans.interest[i];
+            perMember[CARRY_FORWARD][m] += carryForward;
+        }
+        for (int m = 0; m < memberCount; m++) {
+            for (int t = 0; t < totals.length; t++) {
+                totals[t] += perMember[t][m];
+            }
+        }
+
+        SettlementPreviewResponse response = new SettlementPreviewResponse();
+        response.setFinancialYear(year);
+        response.setSettlementDate(date);
+        response.setDepositCount(deposits.size);
+        response.setLoanCount(loans.size);
+        response.setMemberCount(memberCount);
+        response.setTotalDepositPrincipal(InterestEngine.fromPaise(totals[DEPOSIT_PRINCIPAL]));
+        response.setTotalDepositInterest(InterestEngine.fromPaise(totals[DEPOSIT_INTEREST]));
+        response.setTotalLoanPrincipal(InterestEngine.fromPaise(totals[LOAN_PRINCIPAL]));
+        response.setTotalLoanInterest(InterestEngine.fromPaise(totals[LOAN_INTEREST]));
+        response.setTotalCarryForward(InterestEngine.fromPaise(totals[CARRY_FORWARD]));
+        response.setNetBalance(InterestEngine.fromPaise(totals[LOAN_INTEREST] - totals[DEPOSIT_INTEREST]));
+        response.setPage(pageNumber);
+        response.setSize(pageSize);
+        response.setTotalPages((memberCount + pageSize - 1) / pageSize);
+        response.setMembers(memberPage(memberIndex, perMember, depositCounts, loanCounts, pageNumber, pageSize));
+
+        log.info("Settlement preview for {} as of {}: {} deposits, {} loans, {} members in {} ms", year, date,
+                deposits.size, loans.size, memberCount, (System.nanoTime() - started) / 1_000_000);
+        return response;
+    }
+
+    private List<MemberLine> memberPage(Map<UUID, Integer> memberIndex, long[][] perMember, int[] depositCounts,
+                                        int[] loanCounts, int page, int size) {
+        // Names only; the full member rows carry identity documents this page never shows
+        Map<UUID, String> names = new HashMap<>();
+        for (Object[] row : memberRepository.findNamesByIdIn(memberIndex.keySet())) {
+            names.put((UUID) row[0], NameUtil.buildMemberName((String) row[1], (String) row[2],
+                    (String) row[3], (String) row[4]));
+        }
+        List<UUID> ordered = new ArrayList<>(memberIndex.keySet());
+        ordered.sort(Comparator.comparing((UUID id) -> names.getOrDefault(id, ""), String.CASE_INSENSITIVE_ORDER)
+                .thenComparing(Comparator.naturalOrder()));
+
+        int from = (int) Math.min((long) page * size, ordered.size());
+        int to = Math.min(from + size, ordered.size());
+        List<MemberLine> lines = new ArrayList<>(to - from);
+        for (UUID memberId : ordered.subList(from, to)) {
+            int m = memberIndex.get(memberId);
+            MemberLine line = new MemberLine();
+            line.setMemberId(memberId);
+            line.setMemberName(names.getOrDefault(memberId, ""));
+            line.setDepositCount(depositCounts[m]);
+            line.setDepositPrincipal(InterestEngine.fromPaise(perMember[DEPOSIT_PRINCIPAL][m]));
+            line.setDepositInterest(InterestEngine.fromPaise(perMember[DEPOSIT_INTEREST][m]));
+            line.setLoanCount(loanCounts[m]);
+            line.setLoanPrincipal(InterestEngine.fromPaise(perMember[LOAN_PRINCIPAL][m]));
+            line.setLoanInterest(InterestEngine.fromPaise(perMember[LOAN_INTEREST][m]));
+            line.setCarryForwardAmount(InterestEngine.fromPaise(perMember[CARRY_FORWARD][m]));
+            lines.add(line);
+        }
+        return lines;
+    }
+
+    /**
+     * Growable column arrays for one kind of row.
+     */
+    private static final class Rows {
+        int size;
+        int[] member = new int[1024];
+        long[] principal = new long[1024];
+        long[] paid = new long[1024];
+        int[] start = new int[1024];
+        long[] interest;
+
+        void add(Map<UUID, Integer> memberIndex, UUID memberId, BigDecimal amount, LocalDate startDate, BigDecimal paidAmount) {
+            if (size == member.length) {
+                int capacity = size * 2;
+                member = Arrays.copyOf(member, capacity);
+                principal = Arrays.copyOf(principal, capacity);
+                paid = Arrays.copyOf(paid, capacity);
+                start = Arrays.copyOf(start, capacity);
+            }
+            member[size] = memberIndex.computeIfAbsent(memberId, k -> memberIndex.size());
+            principal[size] = paise(amount);
+            paid[size] = paise(paidAmount);
+            start[size] = (int) startDate.toEpochDay();
+            size++;
+        }
+
+        void accrue(int rateBp, int asOfEpochDay) {
+            interest = new long[size];
+            IntStream.range(0, size).parallel().forEach(i -> {
+                long value = InterestEngine.interest(principal[i], rateBp, start[i], asOfEpochDay);
+                if (value == InterestEngine.NOT_REPRESENTABLE) {
+                    throw new IllegalStateException("Interest out of range for settlement preview");
+                }
+                interest[i] = value;
+            });
+        }
+
+        // Amount columns are NUMERIC(12,2), so they always fit in whole paise
+        private static long paise(BigDecimal amount) {
+            long value = InterestEngine.toPaise(amount);
+            if (value == InterestEngine.NOT_REPRESENTABLE) {
+                throw new IllegalStateException("Amount " + amount + " is not in whole paise");
+            }
+            return value;
+        }
+    }
+}
@@ -1,44 +1,159 @@
 package com.dhuripara.service;
 
+import com.dhuripara.event.BankDataChangedEvent;
+import com.dhuripara.exception.BusinessException;
+import com.dhuripara.exception.ResourceNotFoundException;
 import com.dhuripara.model.Deposit;
 import com.dhuripara.model.FinancialYear;
 import com.dhuripara.model.Loan;
+import com.dhuripara.model.SettlementJob;
 import com.dhuripara.repository.DepositRepository;
 import com.dhuripara.repository.FinancialYearRepository;
 import com.dhuripara.repository.LoanRepository;
+import com.dhuripara.repository.SettlementJobRepository;
 import com.dhuripara.util.InterestCalculator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
-
+import java.util.UUID;
+
+/**
+ * The transactional steps of a financial-year settlement. SettlementJobService drives them:
+ * one job row is created, active deposits are settled and active loans carried forward in
+ * chunks, each chunk committing its rows together with the job's progress counters, and the
+ * financial year record is written from those counters at the end.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class SettlementService {
 
+    private static final List<String> IN_FLIGHT = List.of(SettlementJob.PENDING, SettlementJob.RUNNING);
+
     private final DepositRepository depositRepository;
     private final LoanRepository loanRepository;
     private final FinancialYearRepository financialYearRepository;
+    private final SettlementJobRepository jobRepository;
     private final LoanService loanService;
+    private final BankAggregateService bankAggregateService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
-    public void settleFinancialYear() {
-        LocalDate settlementDate = LocalDate.now();
+    public SettlementJob createJob(int chunkSize, String requestedBy) {
+        if (jobRepository.existsByStatusIn(IN_FLIGHT)) {
+            throw new BusinessException("A settlement job is already running");
+        }
         String currentYear = InterestCalculator.getCurrentFinancialYear();
+        if (jobRepository.existsByFinancialYearAndStatus(currentYear, SettlementJob.COMPLETED)) {
+            throw new BusinessException("Financial year " + currentYear + " is already settled");
+        }
+
+        SettlementJob job = new SettlementJob();
+        job.setFinancialYear(currentYear);
+        job.setNextFinancialYear(getNextFinancialYear(currentYear));
+        job.setSettlementDate(LocalDate.now());
+        job.setChunkSize(chunkSize);
+        job.setTotalDeposits((int) depositRepository.countByStatusAndFinancialYear("ACTIVE", currentYear));
+        job.setTotalLoans((int) loanRepository.countByStatusAndFinancialYear("ACTIVE", currentYear));
+        job.setCreatedBy(requestedBy);
+
+        log.info("Created settlement job for financial year {}: {} deposits, {} loans",
+                currentYear, job.getTotalDeposits(), job.getTotalLoans());
+        return jobRepository.save(job);
+    }
+
+    /**
+     * Puts a failed job back to PENDING so it can be run again from its last checkpoint.
+     */
+    @Transactional
+    public SettlementJob reopenJob(UUID jobId) {
+        SettlementJob job = getJob(jobId);
+        if (!SettlementJob.FAILED.equals(job.getStatus())) {
+            throw new BusinessException("Only failed settlement jobs can be resumed");
+        }
+        if (jobRepository.existsByStatusIn(IN_FLIGHT)) {
+            throw new BusinessException("A settlement job is already running");
+        }
+        job.setStatus(SettlementJob.PENDING);
+        return job;
+    }
+
+    @Transactional(readOnly = true)
+    public List<SettlementJob> getInFlightJobs() {
+        return jobRepository.findByStatusIn(IN_FLIGHT);
+    }
+
+    @Transactional(readOnly = true)
+    public List<SettlementJob> getRecentJobs() {
+        return jobRepository.findTop20ByOrderByCreatedAtDesc();
+    }
+
+    @Transactional
+    public SettlementJob markRunning(UUID jobId, String phase) {
+        SettlementJob job = getJob(jobId);
+        job.setStatus(SettlementJob.RUNNING);
+        job.setPhase(phase);
+        job.setErrorMessage(null);
+        if (job.getStartedAt() == null) {
+            job.setStartedAt(LocalDateTime.now());
+        }
+        return job;
+    }
 
-        log.info("Starting yearly settlement for financial year: {}", currentYear);
+    @Transactional
+    public void markFailed(UUID jobId, String errorMessage) {
+        SettlementJob job = getJob(jobId);
+        job.setStatus(SettlementJob.FAILED);
+        job.setErrorMessage(errorMessage);
+    }
+
+    @Transactional(readOnly = true)
+    public SettlementJob getJob(UUID jobId) {
+        return jobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Settlement job not found"));
+    }
+
+    /**
+     * Up to {@code limit} ids of the year's active deposits after {@code afterId} (null for the
+     * first page), in id order.
+     */
+    @Transactional(readOnly = true)
+    public List<UUID> nextDepositIds(String financialYear, UUID afterId, int limit) {
+        PageRequest page = PageRequest.of(0, limit);
+        return afterId == null
+                ? depositRepository.findIdsFirstPage("ACTIVE", financialYear, page)
+                : depositRepository.findIdsAfter("ACTIVE", financialYear, afterId, page);
+    }
+
+    @Transactional(readOnly = true)
+    public List<UUID> nextLoanIds(String financialYear, UUID afterId, int limit) {
+        PageRequest page = PageRequest.of(0, limit);
+        return afterId == null
+                ? loanRepository.findIdsFirstPage("ACTIVE", financialYear, page)
+                : loanRepository.findIdsAfter("ACTIVE", financialYear, afterId, page);
+    }
 
-        // Settle all active deposits
-        List<Deposit> activeDeposits = depositRepository.findByStatusAndFinancialYear("ACTIVE", currentYear);
+    /**
+     * Settles the still-active deposits among {@code depositIds} and records the chunk on the job.
+     */
+    @Transactional
+    public int settleDepositChunk(UUID jobId, Collection<UUID> depositIds, LocalDate settlementDate) {
+        List<Deposit> deposits = depositRepository.findByIdInAndStatusForUpdate(depositIds, "ACTIVE");
         BigDecimal totalDepositInterest = BigDecimal.ZERO;
         BigDecimal totalDepositAmount = BigDecimal.ZERO;
+        BankAggregateDelta delta = BankAggregateDelta.ZERO;
 
-        for (Deposit deposit : activeDeposits) {
+        for (Deposit deposit : deposits) {
+            BankAggregateDelta before = BankAggregateDelta.of(deposit);
             BigDecimal interest = InterestCalculator.calculateDepositInterest(
                     deposit.getAmount(),
                     deposit.getDepositDate(),
@@ -49,54 +164,72 @@ public class SettlementService {
             deposit.setTotalAmount(deposit.getAmount().add(interest));
             deposit.setStatus("SETTLED");
             deposit.setReturnDate(settlementDate);
-            depositRepository.save(deposit);
+            delta = delta.plus(BankAggregateDelta.of(deposit).minus(before));
 
             totalDepositInterest = totalDepositInterest.add(interest);
             totalDepositAmount = totalDepositAmount.add(deposit.getAmount());
         }
 
-        log.info("Settled {} deposits. Total principal: {}, Total interest: {}",
-                activeDeposits.size(), totalDepositAmount, totalDepositInterest);
+        // Managed deposits are flushed in JDBC batches ahead of these updates
+        bankAggregateService.apply(delta);
+        jobRepository.addDepositProgress(jobId, deposits.size(), totalDepositAmount, totalDepositInterest,
+                LocalDateTime.now());
+        return deposits.size();
+    }
+
+    /**
+     * Carries forward the still-active loans among {@code loanIds} and records the chunk on the job.
+     */
+    @Transactional
+    public int carryForwardLoanChunk(UUID jobId, Collection<UUID> loanIds, String nextFinancialYear,
+                                     LocalDate settlementDate) {
+        List<Loan> loans = loanRepository.findByIdInAndStatusForUpdate(loanIds, "ACTIVE");
+        loanService.carryForwardLoans(loans, nextFinancialYear, settlementDate);
 
-        // Handle active loans - carry forward to next year
-        List<Loan> activeLoans = loanRepository.findByStatusAndFinancialYear("ACTIVE", currentYear);
         BigDecimal totalLoanInterest = BigDecimal.ZERO;
         BigDecimal totalLoanAmount = BigDecimal.ZERO;
-
-        String nextFinancialYear = getNextFinancialYear(currentYear);
-
-        for (Loan loan : activeLoans) {
-            // Carry forward the loan to next year
-            Loan carriedForwardLoan = loanService.carryForwardLoan(loan, nextFinancialYear, settlementDate);
-
+        for (Loan loan : loans) {
             totalLoanInterest = totalLoanInterest.add(loan.getInterestAmount());
             totalLoanAmount = totalLoanAmount.add(loan.getLoanAmount());
-
-            log.info("Carried forward loan {} with new amount {}",
-                    loan.getId(), carriedForwardLoan.getLoanAmount());
         }
+        jobRepository.addLoanProgress(jobId, loans.size(), totalLoanAmount, totalLoanInterest, LocalDateTime.now());
+        return loans.size();
+    }
 
-        log.info("Carried forward {} loans. Total principal: {}, Total interest: {}",
-                activeLoans.size(), totalLoanAmount, totalLoanInterest);
+    /**
+     * Writes the financial year record from the job's totals and marks the job completed.
+     */
+    @Transactional
+    public SettlementJob completeJob(UUID jobId) {
+        SettlementJob job = getJob(jobId);
+        String currentYear = job.getFinancialYear();
+        BigDecimal totalDepositInterest = job.getDepositInterest();
+        BigDecimal totalLoanInterest = job.getLoanInterest();
 
-        // Create or update financial year record
         FinancialYear fy = financialYearRepository.findByYear(currentYear)
                 .orElse(new FinancialYear());
 
         fy.setYear(currentYear);
         fy.setStartDate(getFinancialYearStartDate(currentYear));
-        fy.setEndDate(settlementDate);
+        fy.setEndDate(job.getSettlementDate());
         fy.setIsActive(false);
-        fy.setTotalDeposits(totalDepositAmount);
-        fy.setTotalLoans(totalLoanAmount);
+        fy.setTotalDeposits(job.getDepositPrincipal());
+        fy.setTotalLoans(job.getLoanPrincipal());
         fy.setTotalInterestEarned(totalDepositInterest);
         fy.setTotalInterestPaid(totalLoanInterest);
         fy.setNetBalance(totalLoanInterest.subtract(totalDepositInterest));
-        fy.setSettlementDate(settlementDate);
+        fy.setSettlementDate(job.getSettlementDate());
 
         financialYearRepository.save(fy);
+        eventPublisher.publishEvent(new BankDataChangedEvent("settlement"));
+
+        job.setStatus(SettlementJob.COMPLETED);
+        job.setPhase(null);
+        job.setCompletedAt(LocalDateTime.now());
 
-        log.info("Financial year settlement completed. Net balance: {}", fy.getNetBalance());
+        log.info("Financial year {} settlement completed: {} deposits, {} loans, net balance {}",
+                currentYear, job.getDepositsProcessed(), job.getLoansProcessed(), fy.getNetBalance());
+        return job;
     }
 
     private String getNextFinancialYear(String currentYear) {
@@ -112,4 +245,4 @@ public class SettlementService {
         int year = Integer.parseInt(parts[0]);
         return LocalDate.of(year, 4, 1);
     }
-}
\ No newline at end of file
+}
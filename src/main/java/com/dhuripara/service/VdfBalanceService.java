@@ -0,0 +1,281 @@
+package com.dhuripara.service;
+
+import com.dhuripara.event.VdfMonthlyConfigChangedEvent;
+import com.dhuripara.model.VdfFamilyBalance;
+import com.dhuripara.model.VdfFamilyConfig;
+import com.dhuripara.repository.VdfContributionRepository;
+import com.dhuripara.repository.VdfFamilyBalanceRepository;
+import com.dhuripara.repository.VdfFamilyConfigRepository;
+import com.dhuripara.repository.VdfFamilyExemptionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.*;
+
+/**
+ * Maintains the per-family vdf_family_balances rows.
+ *
+ * Contribution and exemption writes adjust a family's row incrementally in the caller's
+ * transaction. The required side only grows when a new month starts, so it is rolled forward
+ * by a monthly job (and lazily on read if the job has not run yet). Views read one row per
+ * family instead of aggregating contribution history.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VdfBalanceService {
+
+    private final VdfFamilyBalanceRepository balanceRepository;
+    private final VdfFamilyConfigRepository familyConfigRepository;
+    private final VdfContributionRepository contributionRepository;
+    private final VdfFamilyExemptionRepository exemptionRepository;
+    private final VdfRequirementTimeline requirementTimeline;
+
+    /**
+     * Balances for the given families. Missing rows are built and rows from an earlier month
+     * are rolled forward before returning.
+     */
+    @Transactional
+    public Map<UUID, VdfFamilyBalance> getBalances(Collection<VdfFamilyConfig> families) {
+        if (families.isEmpty()) {
+            return Map.of();
+        }
+        String currentMonth = YearMonth.now().toString();
+        Map<UUID, VdfFamilyBalance> balances = new HashMap<>();
+        List<UUID> ids = families.stream().map(VdfFamilyConfig::getId).toList();
+        for (VdfFamilyBalance balance : balanceRepository.findByFamilyIdIn(ids)) {
+            balances.put(balance.getFamilyId(), balance);
+        }
+
+        List<VdfFamilyConfig> missing = new ArrayList<>();
+        List<VdfFamilyConfig> stale = new ArrayList<>();
+        for (VdfFamilyConfig family : families) {
+            VdfFamilyBalance balance = balances.get(family.getId());
+            if (balance == null) {
+                missing.add(family);
+            } else if (!currentMonth.equals(balance.getAsOfMonth())) {
+                stale.add(family);
+            }
+        }
+        if (!missing.isEmpty()) {
+            balances.putAll(buildRows(missing));
+        }
+        if (!stale.isEmpty()) {
+            refreshRequired(stale, balances);
+        }
+        return balances;
+    }
+
+    @Transactional
+    public VdfFamilyBalance getBalance(VdfFamilyConfig family) {
+        return getBalances(List.of(family)).get(family.getId());
+    }
+
+    /**
+     * Applies contribution changes already written in the caller's transaction.
+     *
+     * @param paidDelta   net change to the family's paid total
+     * @param latestPaid  latest month paid by this change, if any
+     * @param removedAny  whether any contribution was deleted, which may move the last paid month back
+     */
+    @Transactional
+    public void onContributionsChanged(VdfFamilyConfig family, BigDecimal paidDelta, YearMonth latestPaid,
+                                       boolean removedAny) {
+        UUID familyId = family.getId();
+        if (balanceRepository.addPaid(familyId, paidDelta, LocalDateTime.now()) == 0) {
+            buildRows(List.of(family));
+            return;
+        }
+        if (removedAny) {
+            balanceRepository.setLastPaidMonth(familyId,
+                    toMonthText(contributionRepository.findLatestPaidMonthKey(familyId)));
+        } else if (latestPaid != null) {
+            balanceRepository.advanceLastPaidMonth(familyId, latestPaid.toString());
+        }
+    }
+
+    /**
+     * Applies an exemption created or deleted in the caller's transaction.
+     */
+    @Transactional
+    public void onExemptionChanged(VdfFamilyConfig family, String monthYear, boolean added) {
+        UUID familyId = family.getId();
+        if (balanceRepository.addExemptMonths(familyId, added ? 1 : -1, LocalDateTime.now()) == 0) {
+            buildRows(List.of(family));
+            return;
+        }
+        YearMonth month = YearMonth.parse(monthYear);
+        if (month.isBefore(YearMonth.from(VdfService.resolveContributionStart(family)))) {
+            return;
+        }
+        // Months after asOfMonth are picked up by the next roll forward
+        BigDecimal amount = requirementTimeline.requiredFor(month.getYear(), month.getMonthValue(),
+                family.getMonthlyAmount());
+        balanceRepository.addRequired(familyId, added ? amount.negate() : amount, monthYear);
+    }
+
+    /**
+     * Recomputes a family's row from scratch, e.g. after its start month or monthly amount changes.
+     */
+    @Transactional
+    public void rebuild(VdfFamilyConfig family) {
+        buildRows(List.of(family));
+    }
+
+    /**
+     * Recomputes several families' rows with grouped queries, e.g. after a batch write that
+     * bypassed the incremental updates.
+     */
+    @Transactional
+    public void rebuild(Collection<VdfFamilyConfig> families) {
+        if (!families.isEmpty()) {
+            buildRows(families);
+        }
+    }
+
+    @Transactional
+    public int rebuildAll() {
+        List<VdfFamilyConfig> families = familyConfigRepository.findAll();
+        buildRows(families);
+        log.info("Rebuilt VDF balances for {} families", families.size());
+        return families.size();
+    }
+
+    /**
+     * Extends required-to-date to the new month for every family.
+     */
+    @Scheduled(cron = "${vdf.balance.roll-forward-cron:0 5 0 1 * *}")
+    @Transactional
+    public void rollForward() {
+        int count = refreshAllRequired();
+        log.info("Rolled VDF balances forward to {} for {} families", YearMonth.now(), count);
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE + 2)
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onMonthlyConfigChanged(VdfMonthlyConfigChangedEvent event) {
+        // Make sure the recompute below sees the committed config regardless of listener order
+        requirementTimeline.invalidate();
+        int count = refreshAllRequired();
+        log.info("Recomputed required VDF amounts for {} families after {} config change", count, event.monthYear());
+    }
+
+    private int refreshAllRequired() {
+        Map<UUID, VdfFamilyBalance> balances = new HashMap<>();
+        for (VdfFamilyBalance balance : balanceRepository.findAll()) {
+            balances.put(balance.getFamilyId(), balance);
+        }
+        List<VdfFamilyConfig> families = familyConfigRepository.findAll();
+        List<VdfFamilyConfig> existing = families.stream()
+                .filter(f -> balances.containsKey(f.getId()))
+                .toList();
+        refreshRequired(existing, balances);
+        return existing.size();
+    }
+
+    private void refreshRequired(Collection<VdfFamilyConfig> families, Map<UUID, VdfFamilyBalance> balances) {
+        Map<UUID, Set<String>> exemptions = loadExemptions(families);
+        LocalDate today = LocalDate.now();
+        List<VdfFamilyBalance> changed = new ArrayList<>(families.size());
+        for (VdfFamilyConfig family : families) {
+            VdfFamilyBalance balance = balances.get(family.getId());
+            Set<String> exemptMonths = exemptions.getOrDefault(family.getId(), Set.of());
+            balance.setRequiredToDate(requiredToDate(family, exemptMonths, today));
+            balance.setExemptMonths(exemptMonths.size());
+            balance.setAsOfMonth(YearMonth.from(today).toString());
+            changed.add(balance);
+        }
+        balanceRepository.saveAll(changed);
+    }
+
+    private Map<UUID, VdfFamilyBalance> buildRows(Collection<VdfFamilyConfig> families) {
+        Map<UUID, Set<String>> exemptions = loadExemptions(families);
+        Map<UUID, BigDecimal> paid = new HashMap<>();
+        Map<UUID, Integer> latestPaid = new HashMap<>();
+        if (families.size() == 1) {
+            UUID familyId = families.iterator().next().getId();
+            paid.put(familyId, contributionRepository.getTotalByFamily(familyId));
+            latestPaid.put(familyId, contributionRepository.findLatestPaidMonthKey(familyId));
+        } else {
+            for (Object[] row : contributionRepository.getTotalsGroupedByFamily()) {
+                paid.put((UUID) row[0], (BigDecimal) row[1]);
+            }
+            for (Object[] row : contributionRepository.findLatestPaidMonthKeysGroupedByFamily()) {
+                latestPaid.put((UUID) row[0], (Integer) row[1]);
+            }
+        }
+
+        LocalDate today = LocalDate.now();
+        Map<UUID, VdfFamilyBalance> balances = findOrCreateRows(families, YearMonth.from(today).toString());
+        for (VdfFamilyConfig family : families) {
+            UUID familyId = family.getId();
+            Set<String> exemptMonths = exemptions.getOrDefault(familyId, Set.of());
+            VdfFamilyBalance balance = balances.get(familyId);
+            balance.setPaidToDate(paid.getOrDefault(familyId, BigDecimal.ZERO));
+            balance.setRequiredToDate(requiredToDate(family, exemptMonths, today));
+            balance.setExemptMonths(exemptMonths.size());
+            balance.setLastPaidMonth(toMonthText(latestPaid.get(familyId)));
+            balance.setAsOfMonth(YearMonth.from(today).toString());
+        }
+        balanceRepository.saveAll(balances.values());
+        return balances;
+    }
+
+    /**
+     * The families' balance rows, inserting any that are missing first. Inserts skip rows another
+     * transaction created concurrently, so a first read never fails on the family_id unique key.
+     */
+    private Map<UUID, VdfFamilyBalance> findOrCreateRows(Collection<VdfFamilyConfig> families, String asOfMonth) {
+        List<UUID> ids = families.stream().map(VdfFamilyConfig::getId).toList();
+        Map<UUID, VdfFamilyBalance> balances = new HashMap<>();
+        for (VdfFamilyBalance balance : balanceRepository.findByFamilyIdIn(ids)) {
+            balances.put(balance.getFamilyId(), balance);
+        }
+        if (balances.size() == ids.size()) {
+            return balances;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (UUID familyId : ids) {
+            if (!balances.containsKey(familyId)) {
+                balanceRepository.insertIfAbsent(UUID.randomUUID(), familyId, asOfMonth, now);
+            }
+        }
+        for (VdfFamilyBalance balance : balanceRepository.findByFamilyIdIn(ids)) {
+            balances.put(balance.getFamilyId(), balance);
+        }
+        return balances;
+    }
+
+    private BigDecimal requiredToDate(VdfFamilyConfig family, Set<String> exemptMonths, LocalDate today) {
+        return requirementTimeline.requiredBetween(VdfService.resolveContributionStart(family), today,
+                family.getMonthlyAmount(), exemptMonths);
+    }
+
+    private Map<UUID, Set<String>> loadExemptions(Collection<VdfFamilyConfig> families) {
+        List<Object[]> rows = families.size() == 1
+                ? exemptionRepository.findFamilyMonthsByFamilyIds(List.of(families.iterator().next().getId()))
+                : exemptionRepository.findAllFamilyMonths();
+        Map<UUID, Set<String>> exemptions = new HashMap<>();
+        for (Object[] row : rows) {
+            exemptions.computeIfAbsent((UUID) row[0], k -> new HashSet<>()).add((String) row[1]);
+        }
+        return exemptions;
+    }
+
+    private static String toMonthText(Integer monthKey) {
+        if (monthKey == null) return null;
+        return String.format("%04d-%02d", monthKey / 100, monthKey % 100);
+    }
+}
@@ -0,0 +1,229 @@
+package com.dhuripara.service;
+
+import com.dhuripara.dto.request.VdfCollectionDayRequest;
+import com.dhuripara.dto.response.VdfCollectionDayResponse;
+import com.dhuripara.dto.response.VdfCollectionDayResponse.RowResult;
+import com.dhuripara.event.VdfDataChangedEvent;
+import com.dhuripara.model.Member;
+import com.dhuripara.model.VdfDeposit;
+import com.dhuripara.model.VdfDepositCategory;
+import com.dhuripara.model.VdfFamilyConfig;
+import com.dhuripara.repository.VdfContributionRepository;
+import com.dhuripara.repository.VdfDepositCategoryRepository;
+import com.dhuripara.repository.VdfDepositRepository;
+import com.dhuripara.repository.VdfFamilyConfigRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Records a whole collection day (many families, many months) in one transaction.
+ *
+ * The families' config rows are locked first, so two operators posting for the same family run
+ * one after the other and the second sees the first's contributions. Entries are then validated
+ * in memory against families and existing contributions loaded with a couple of queries, and
+ * contributions are upserted and deleted with JDBC batches. The unique (family_id, year, month)
+ * constraint still guards against duplicates from any other write path.
+ *
+ * One VdfDeposit is written per family for the money actually collected from it: the full amount
+ * of a new month, and only the increase when an existing month is raised. Re-posting a month at
+ * the same amount writes nothing, so the fund is never counted twice.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VdfCollectionDayService {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO vdf_contributions (id, family_id, year, month, amount, payment_date, notes, created_at, created_by) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (family_id, year, month) DO UPDATE SET " +
+            "amount = EXCLUDED.amount, payment_date = EXCLUDED.payment_date, notes = EXCLUDED.notes";
+
+    private static final String DELETE_SQL =
+            "DELETE FROM vdf_contributions WHERE family_id = ? AND year = ? AND month = ?";
+
+    private static final int MIN_YEAR = 2020;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final VdfFamilyConfigRepository familyConfigRepository;
+    private final VdfContributionRepository contributionRepository;
+    private final VdfDepositRepository depositRepository;
+    private final VdfDepositCategoryRepository depositCategoryRepository;
+    private final VdfReferenceDataCache referenceDataCache;
+    private final VdfBalanceService balanceService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public VdfCollectionDayResponse recordCollectionDay(VdfCollectionDayRequest request, String recordedBy) {
+        List<VdfCollectionDayRequest.Entry> entries = request.getEntries();
+        log.info("Recording collection day {} with {} entries", request.getPaymentDate(), entries.size());
+
+        Set<UUID> familyIds = new HashSet<>();
+        Set<Integer> years = new HashSet<>();
+        for (VdfCollectionDayRequest.Entry entry : entries) {
+            if (entry.getFamilyConfigId() != null) familyIds.add(entry.getFamilyConfigId());
+            if (entry.getYear() != null) years.add(entry.getYear());
+        }
+
+        Map<UUID, VdfFamilyConfig> families = new HashMap<>();
+        Map<String, BigDecimal> existing = new HashMap<>();
+        if (!familyIds.isEmpty()) {
+            // Existing contributions must be read after the lock to include a concurrent post
+            familyConfigRepository.lockByIdIn(familyIds);
+            for (VdfFamilyConfig family : familyConfigRepository.findAllWithMemberByIdIn(familyIds)) {
+                families.put(family.getId(), family);
+            }
+            if (!years.isEmpty()) {
+                for (Object[] row : contributionRepository.findFamilyYearMonthAmounts(familyIds, years)) {
+                    existing.put(key((UUID) row[0], (Integer) row[1], (Integer) row[2]), (BigDecimal) row[3]);
+                }
+            }
+        }
+
+        // Validate every entry in memory and sort the valid ones into upserts and deletes
+        List<RowResult> results = new ArrayList<>(entries.size());
+        List<Object[]> upserts = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+        Map<UUID, List<Collected>> collectedByFamily = new LinkedHashMap<>();
+        Set<UUID> touched = new HashSet<>();
+        Set<String> seen = new HashSet<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Date paymentDate = Date.valueOf(request.getPaymentDate());
+        int rejected = 0;
+
+        for (int i = 0; i < entries.size(); i++) {
+            VdfCollectionDayRequest.Entry entry = entries.get(i);
+            String error = validate(entry, families, seen);
+            if (error != null) {
+                results.add(new RowResult(i, entry.getFamilyConfigId(), entry.getYear(), entry.getMonth(), "REJECTED", error));
+                rejected++;
+                continue;
+            }
+
+            UUID familyId = entry.getFamilyConfigId();
+            BigDecimal previous = existing.get(key(familyId, entry.getYear(), entry.getMonth()));
+            String status;
+            if (entry.getAmount().signum() == 0) {
+                status = previous != null ? "DELETED" : "UNCHANGED";
+                if (previous != null) {
+                    deletes.add(new Object[]{familyId, entry.getYear(), entry.getMonth()});
+                    touched.add(familyId);
+                }
+            } else if (previous != null && previous.compareTo(entry.getAmount()) == 0) {
+                status = "UNCHANGED";
+            } else {
+                status = previous != null ? "UPDATED" : "CREATED";
+                upserts.add(new Object[]{UUID.randomUUID(), familyId, entry.getYear(), entry.getMonth(),
+                        entry.getAmount(), paymentDate, request.getNotes(), now, recordedBy});
+                touched.add(familyId);
+                BigDecimal increase = previous != null ? entry.getAmount().subtract(previous) : entry.getAmount();
+                if (increase.signum() > 0) {
+                    collectedByFamily.computeIfAbsent(familyId, k -> new ArrayList<>())
+                            .add(new Collected(entry.getYear(), entry.getMonth(), increase));
+                }
+            }
+            results.add(new RowResult(i, familyId, entry.getYear(), entry.getMonth(), status, null));
+        }
+
+        if (!upserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, upserts);
+        }
+        if (!deletes.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_SQL, deletes);
+        }
+
+        List<VdfDeposit> deposits = buildDeposits(request, families, collectedByFamily);
+        depositRepository.saveAll(deposits);
+
+        // Batched SQL skipped the per-write balance deltas, so rebuild the touched families together
+        balanceService.rebuild(touched.stream().map(families::get).toList());
+        if (!touched.isEmpty()) {
+            eventPublisher.publishEvent(new VdfDataChangedEvent("contribution"));
+        }
+
+        VdfCollectionDayResponse response = new VdfCollectionDayResponse();
+        response.setAccepted(entries.size() - rejected);
+        response.setRejected(rejected);
+        response.setDepositsCreated(deposits.size());
+        response.setTotalCollected(deposits.stream().map(VdfDeposit::getAmount).reduce(BigDecimal.ZERO, BigDecimal::add));
+        response.setResults(results);
+        log.info("Collection day {}: {} accepted, {} rejected, {} deposits", request.getPaymentDate(),
+                response.getAccepted(), rejected, deposits.size());
+        return response;
+    }
+
+    private static String validate(VdfCollectionDayRequest.Entry entry, Map<UUID, VdfFamilyConfig> families,
+                                   Set<String> seen) {
+        if (entry.getFamilyConfigId() == null) return "Family config ID is required";
+        if (entry.getYear() == null || entry.getYear() < MIN_YEAR) return "Invalid year";
+        if (entry.getMonth() == null || entry.getMonth() < 1 || entry.getMonth() > 12) {
+            return "Month must be between 1 and 12";
+        }
+        if (entry.getAmount() == null || entry.getAmount().signum() < 0) return "Amount must be zero or more";
+
+        VdfFamilyConfig family = families.get(entry.getFamilyConfigId());
+        if (family == null) return "Family config not found";
+        if (!Boolean.TRUE.equals(family.getIsContributionEnabled())) {
+            return "Contributions are not enabled for this family";
+        }
+        if (!seen.add(key(entry.getFamilyConfigId(), entry.getYear(), entry.getMonth()))) {
+            return "Duplicate entry for this family and month";
+        }
+        return null;
+    }
+
+    private List<VdfDeposit> buildDeposits(VdfCollectionDayRequest request, Map<UUID, VdfFamilyConfig> families,
+                                           Map<UUID, List<Collected>> collectedByFamily) {
+        if (collectedByFamily.isEmpty()) {
+            return List.of();
+        }
+        VdfDepositCategory villagerCategory = referenceDataCache
+                .findActiveDepositCategory("Villager Contribution", "Monthly Contribution")
+                .map(category -> depositCategoryRepository.getReferenceById(category.id()))
+                .orElse(null);
+
+        List<VdfDeposit> deposits = new ArrayList<>(collectedByFamily.size());
+        for (Map.Entry<UUID, List<Collected>> e : collectedByFamily.entrySet()) {
+            Member member = families.get(e.getKey()).getMember();
+            BigDecimal total = BigDecimal.ZERO;
+            StringJoiner months = new StringJoiner(", ");
+            for (Collected collected : e.getValue()) {
+                total = total.add(collected.amount());
+                months.add(String.format("%04d-%02d", collected.year(), collected.month()));
+            }
+
+            VdfDeposit deposit = new VdfDeposit();
+            deposit.setDepositDate(request.getPaymentDate());
+            deposit.setAmount(total);
+            deposit.setSourceName(member.getFirstName() + " " + member.getLastName() + " - Collection " + request.getPaymentDate());
+            String bnF = member.getFirstNameBn();
+            String bnL = member.getLastNameBn();
+            if (bnF != null && !bnF.isBlank()) {
+                deposit.setSourceNameBn((bnF + " " + (bnL != null ? bnL : "")).trim() + " - Collection " + request.getPaymentDate());
+            }
+            deposit.setMember(member);
+            deposit.setCategory(villagerCategory);
+            deposit.setNotes("Collection day months: " + months + (request.getNotes() != null ? (" - " + request.getNotes()) : ""));
+            deposits.add(deposit);
+        }
+        return deposits;
+    }
+
+    private static String key(UUID familyId, Integer year, Integer month) {
+        return familyId + ":" + year + ":" + month;
+    }
+
+    // Money newly collected for one month: the whole amount, or the increase over what was recorded
+    private record Collected(int year, int month, BigDecimal amount) {
+    }
+}
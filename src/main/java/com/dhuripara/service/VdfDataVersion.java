@@ -0,0 +1,57 @@
+package com.dhuripara.service;
+
+import com.dhuripara.event.VdfDataChangedEvent;
+import com.dhuripara.event.VdfMonthlyConfigChangedEvent;
+import com.dhuripara.event.VdfReferenceDataChangedEvent;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Version of everything the public VDF endpoints serve. Bumped after any VDF write commits;
+ * the boot id keeps tags from a previous process from ever matching.
+ */
+@Component
+public class VdfDataVersion {
+
+    private final String bootId = UUID.randomUUID().toString().substring(0, 8);
+    private final AtomicLong version = new AtomicLong();
+
+    public long current() {
+        return version.get();
+    }
+
+    /**
+     * Strong ETag for one endpoint and its (resolved) query parameters at the current version.
+     * Read it before loading the data so a write that lands in between can only make the tag older.
+     */
+    public String etag(String endpoint, Object... params) {
+        String query = Arrays.stream(params).map(String::valueOf).collect(Collectors.joining(","));
+        return "\"vdf-" + bootId + "-" + version.get() + "-" + endpoint + (query.isEmpty() ? "" : "-" + query) + "\"";
+    }
+
+    // Bumped after every cache has evicted, so a request that sees the new tag also gets fresh data
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVdfDataChanged(VdfDataChangedEvent event) {
+        version.incrementAndGet();
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMonthlyConfigChanged(VdfMonthlyConfigChangedEvent event) {
+        version.incrementAndGet();
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReferenceDataChanged(VdfReferenceDataChangedEvent event) {
+        version.incrementAndGet();
+    }
+}
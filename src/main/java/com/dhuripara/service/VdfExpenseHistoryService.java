@@ -0,0 +1,88 @@
+package com.dhuripara.service;
+
+import com.dhuripara.dto.response.CursorPageResponse;
+import com.dhuripara.dto.response.VdfExpenseResponse;
+import com.dhuripara.exception.BusinessException;
+import com.dhuripara.model.VdfExpense;
+import com.dhuripara.repository.VdfExpenseRepository;
+import com.dhuripara.util.CursorCodec;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * VDF expenses over arbitrary date ranges, newest first, either as keyset pages or as a stream.
+ * Both use one range query on (expense_date, id) with the category fetch-joined.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VdfExpenseHistoryService {
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private final VdfExpenseRepository expenseRepository;
+    private final EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public CursorPageResponse<VdfExpenseResponse> getExpensePage(LocalDate from, LocalDate to, String cursor, Integer size) {
+        validateRange(from, to);
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        // fetch one extra row to learn whether another page exists
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+
+        List<VdfExpense> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = expenseRepository.findRangeFirstPage(from, to, limit);
+        } else {
+            CursorCodec.DateKey after = CursorCodec.decodeDateKey(cursor);
+            rows = expenseRepository.findRangePageAfter(from, to, after.date(), after.id(), limit);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<VdfExpense> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            VdfExpense last = page.get(page.size() - 1);
+            nextCursor = CursorCodec.encode(last.getExpenseDate(), last.getId());
+        }
+        return new CursorPageResponse<>(page.stream().map(VdfService::convertExpenseToResponse).toList(), nextCursor, hasMore);
+    }
+
+    /**
+     * Hands every expense in the range to the sink without building a list. Rows are read with a
+     * JDBC fetch size and detached once converted, so memory stays flat however long the range.
+     */
+    @Transactional(readOnly = true)
+    public int streamExpenses(LocalDate from, LocalDate to, Consumer<VdfExpenseResponse> sink) {
+        validateRange(from, to);
+        int count = 0;
+        try (Stream<VdfExpense> expenses = expenseRepository.streamRange(from, to)) {
+            for (VdfExpense expense : (Iterable<VdfExpense>) expenses::iterator) {
+                sink.accept(VdfService.convertExpenseToResponse(expense));
+                entityManager.detach(expense);
+                count++;
+            }
+        }
+        log.debug("Streamed {} VDF expenses from {} to {}", count, from, to);
+        return count;
+    }
+
+    private static void validateRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new BusinessException("Both from and to dates are required");
+        }
+        if (from.isAfter(to)) {
+            throw new BusinessException("From date must not be after to date");
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.dhuripara.service;
+
+import com.dhuripara.dto.response.VdfFamilyMonthlySummaryResponse;
+import com.dhuripara.model.VdfFamilyConfig;
+import com.dhuripara.repository.VdfContributionRepository;
+import com.dhuripara.repository.VdfFamilyConfigRepository;
+import com.dhuripara.repository.VdfFamilyExemptionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Builds the village-wide monthly contribution matrix.
+ *
+ * Contributions and exemptions are loaded for all families with a fixed number of grouped
+ * queries and every row is assembled in memory; all-time requirements come from the shared
+ * VdfRequirementTimeline. The number of database round trips does not grow with families or months.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VdfMatrixService {
+
+    private final VdfFamilyConfigRepository familyConfigRepository;
+    private final VdfContributionRepository contributionRepository;
+    private final VdfFamilyExemptionRepository exemptionRepository;
+    private final VdfRequirementTimeline requirementTimeline;
+
+    @Transactional(readOnly = true)
+    public List<VdfFamilyMonthlySummaryResponse> buildMatrix(Integer year) {
+        LocalDate today = LocalDate.now();
+
+        List<VdfFamilyConfig> activeFamilies = familyConfigRepository.findActiveWithMember();
+        Map<UUID, List<Object[]>> yearContributions = groupByFamily(contributionRepository.findFamilyMonthAmountsByYear(year));
+        Map<UUID, BigDecimal> paidAllTime = new HashMap<>();
+        for (Object[] row : contributionRepository.getTotalsGroupedByFamily()) {
+            paidAllTime.put((UUID) row[0], (BigDecimal) row[1]);
+        }
+        Map<UUID, Set<String>> exemptions = new HashMap<>();
+        for (Object[] row : exemptionRepository.findAllFamilyMonths()) {
+            exemptions.computeIfAbsent((UUID) row[0], k -> new HashSet<>()).add((String) row[1]);
+        }
+        List<VdfFamilyMonthlySummaryResponse> summaries = new ArrayList<>(activeFamilies.size());
+        for (VdfFamilyConfig family : activeFamilies) {
+            summaries.add(buildRow(family, year, today,
+                    yearContributions.getOrDefault(family.getId(), List.of()),
+                    exemptions.getOrDefault(family.getId(), Set.of()),
+                    paidAllTime.get(family.getId())));
+        }
+
+        log.debug("Built VDF matrix for {} with {} families", year, summaries.size());
+        return summaries;
+    }
+
+    private VdfFamilyMonthlySummaryResponse buildRow(VdfFamilyConfig family, Integer year, LocalDate today,
+                                                     List<Object[]> contributions, Set<String> exemptMonths,
+                                                     BigDecimal paidAll) {
+        VdfFamilyMonthlySummaryResponse summary = new VdfFamilyMonthlySummaryResponse();
+        summary.setFamilyConfigId(family.getId());
+        summary.setFamilyHeadName(family.getFamilyHeadName());
+        summary.setMemberPhone(family.getMember().getPhone());
+        summary.setMonthlyAmount(family.getMonthlyAmount());
+
+        Boolean[] paidMonths = new Boolean[12];
+        Arrays.fill(paidMonths, false);
+        int paidCount = 0;
+        BigDecimal totalPaid = BigDecimal.ZERO;
+        for (Object[] row : contributions) {
+            paidMonths[(Integer) row[1] - 1] = true;
+            paidCount++;
+            totalPaid = totalPaid.add((BigDecimal) row[2]);
+        }
+
+        Boolean[] exemptedMonths = new Boolean[12];
+        Arrays.fill(exemptedMonths, false);
+        Map<String, Boolean> exemptionsMap = new HashMap<>();
+        String yearPrefix = String.valueOf(year);
+        for (String my : exemptMonths) {
+            if (my != null && my.startsWith(yearPrefix)) {
+                try {
+                    int month = Integer.parseInt(my.substring(5, 7));
+                    if (month >= 1 && month <= 12) {
+                        exemptedMonths[month - 1] = true;
+                    }
+                } catch (Exception ignored) {}
+                exemptionsMap.put(my, true);
+            }
+        }
+
+        int exemptCount = 0;
+        for (boolean e : exemptedMonths) if (e) exemptCount++;
+
+        int applicableMonths = VdfService.calculateApplicableMonths(family.getEffectiveFrom(), year, today);
+        int effectivePending = Math.max(0, applicableMonths - paidCount - exemptCount);
+
+        summary.setPaidMonths(paidMonths);
+        summary.setExemptedMonths(exemptedMonths);
+        summary.setExemptionsMap(exemptionsMap);
+        summary.setTotalPaidMonths(paidCount);
+        summary.setTotalPendingMonths(effectivePending);
+        summary.setTotalPaid(totalPaid);
+        summary.setTotalDue(family.getMonthlyAmount().multiply(new BigDecimal(effectivePending)));
+
+        // All-time totals (since effectiveFrom to today)
+        if (paidAll == null) paidAll = BigDecimal.ZERO;
+        BigDecimal requiredSum = requirementTimeline.requiredBetween(VdfService.resolveContributionStart(family),
+                today, family.getMonthlyAmount(), exemptMonths);
+
+        BigDecimal dueAll = requiredSum.subtract(paidAll).max(BigDecimal.ZERO);
+        summary.setTotalPaidAllTime(paidAll);
+        summary.setTotalDueAllTime(dueAll);
+        // Populate alias fields for frontend compatibility
+        summary.setTotalAmountPaid(paidAll);
+        summary.setTotalAmountDue(dueAll);
+        return summary;
+    }
+
+    private static Map<UUID, List<Object[]>> groupByFamily(List<Object[]> rows) {
+        Map<UUID, List<Object[]>> grouped = new HashMap<>();
+        for (Object[] row : rows) {
+            grouped.computeIfAbsent((UUID) row[0], k -> new ArrayList<>()).add(row);
+        }
+        return grouped;
+    }
+}
@@ -0,0 +1,264 @@
+package com.dhuripara.service;
+
+import com.dhuripara.event.VdfMonthlyConfigChangedEvent;
+import com.dhuripara.event.VdfReferenceDataChangedEvent;
+import com.dhuripara.model.VdfDepositCategory;
+import com.dhuripara.model.VdfExpenseCategory;
+import com.dhuripara.model.VdfMonthlyConfig;
+import com.dhuripara.repository.VdfDepositCategoryRepository;
+import com.dhuripara.repository.VdfExpenseCategoryRepository;
+import com.dhuripara.repository.VdfMonthlyConfigRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read-through, in-process cache of VDF reference data: deposit categories, expense categories and
+ * monthly configs. Each table is held as an immutable snapshot indexed by id and by lower-cased name
+ * (month for configs) and is evicted when the corresponding admin write completes. Tables larger than
+ * MAX_ENTRIES are not cached. Hits and misses are counted as vdf.reference.cache{cache,result}.
+ *
+ * Snapshots hold immutable records, never entities, and are loaded in their own read-only
+ * transaction. A caller's persistence context therefore can neither hand a managed (and possibly
+ * uncommitted) instance to the cache nor receive one shared with other threads; callers that need
+ * an association use the repository's getReferenceById with the cached id.
+ */
+@Slf4j
+@Service
+public class VdfReferenceDataCache {
+
+    static final int MAX_ENTRIES = 1000;
+
+    private final Slot<Index<DepositCategory>> depositCategories;
+    private final Slot<Index<ExpenseCategory>> expenseCategories;
+    private final Slot<Index<MonthlyConfig>> monthlyConfigs;
+
+    public VdfReferenceDataCache(VdfDepositCategoryRepository depositCategoryRepository,
+                                 VdfExpenseCategoryRepository expenseCategoryRepository,
+                                 VdfMonthlyConfigRepository monthlyConfigRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        tx.setReadOnly(true);
+        this.depositCategories = new Slot<>("deposit-categories", meterRegistry,
+                () -> tx.execute(status -> Index.of(
+                        depositCategoryRepository.findAll(Sort.by("categoryName")).stream()
+                                .map(DepositCategory::of).toList(),
+                        DepositCategory::id, c -> lower(c.categoryName()))));
+        this.expenseCategories = new Slot<>("expense-categories", meterRegistry,
+                () -> tx.execute(status -> Index.of(
+                        expenseCategoryRepository.findAllByOrderByCategoryName().stream()
+                                .map(ExpenseCategory::of).toList(),
+                        ExpenseCategory::id, c -> lower(c.categoryName()))));
+        this.monthlyConfigs = new Slot<>("monthly-configs", meterRegistry,
+                () -> tx.execute(status -> Index.of(
+                        monthlyConfigRepository.findAll(Sort.by("monthYear").descending()).stream()
+                                .map(MonthlyConfig::of).toList(),
+                        MonthlyConfig::id, MonthlyConfig::monthYear)));
+    }
+
+    // ==================== CACHED ROWS ====================
+
+    public record DepositCategory(UUID id, String categoryName, String categoryNameBn, String description,
+                                  Boolean isActive) {
+        static DepositCategory of(VdfDepositCategory c) {
+            return new DepositCategory(c.getId(), c.getCategoryName(), c.getCategoryNameBn(), c.getDescription(),
+                    c.getIsActive());
+        }
+    }
+
+    public record ExpenseCategory(UUID id, String categoryName, String categoryNameBn, String description,
+                                  Boolean isActive, LocalDateTime createdAt) {
+        static ExpenseCategory of(VdfExpenseCategory c) {
+            return new ExpenseCategory(c.getId(), c.getCategoryName(), c.getCategoryNameBn(), c.getDescription(),
+                    c.getIsActive(), c.getCreatedAt());
+        }
+    }
+
+    public record MonthlyConfig(UUID id, String monthYear, BigDecimal requiredAmount, String description,
+                                Boolean isActive, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        static MonthlyConfig of(VdfMonthlyConfig c) {
+            return new MonthlyConfig(c.getId(), c.getMonthYear(), c.getRequiredAmount(), c.getDescription(),
+                    c.getIsActive(), c.getCreatedAt(), c.getUpdatedAt());
+        }
+    }
+
+    // ==================== DEPOSIT CATEGORIES ====================
+
+    public Optional<DepositCategory> findDepositCategory(UUID id) {
+        return Optional.ofNullable(depositCategories.get().byId().get(id));
+    }
+
+    /**
+     * First active deposit category (by name order) whose name matches one of the given names,
+     * ignoring case.
+     */
+    public Optional<DepositCategory> findActiveDepositCategory(String... names) {
+        Index<DepositCategory> index = depositCategories.get();
+        DepositCategory best = null;
+        for (String name : names) {
+            for (DepositCategory category : index.byName().getOrDefault(lower(name), List.of())) {
+                if (Boolean.TRUE.equals(category.isActive())
+                        && (best == null || category.categoryName().compareTo(best.categoryName()) < 0)) {
+                    best = category;
+                }
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+
+    public List<DepositCategory> getActiveDepositCategories() {
+        return depositCategories.get().all().stream()
+                .filter(c -> Boolean.TRUE.equals(c.isActive()))
+                .toList();
+    }
+
+    // ==================== EXPENSE CATEGORIES ====================
+
+    public Optional<ExpenseCategory> findExpenseCategory(UUID id) {
+        return Optional.ofNullable(expenseCategories.get().byId().get(id));
+    }
+
+    public Optional<ExpenseCategory> findExpenseCategoryByName(String name) {
+        return expenseCategories.get().byName().getOrDefault(lower(name), List.of()).stream().findFirst();
+    }
+
+    public List<ExpenseCategory> getExpenseCategories() {
+        return expenseCategories.get().all();
+    }
+
+    // ==================== MONTHLY CONFIGS ====================
+
+    /**
+     * All monthly configs, newest month first.
+     */
+    public List<MonthlyConfig> getMonthlyConfigs() {
+        return monthlyConfigs.get().all();
+    }
+
+    public Optional<MonthlyConfig> findMonthlyConfig(String monthYear) {
+        return monthlyConfigs.get().byName().getOrDefault(monthYear, List.of()).stream().findFirst();
+    }
+
+    // ==================== EVICTION ====================
+
+    // Runs before other listeners so anything rebuilt from this cache after the commit sees fresh rows
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReferenceDataChanged(VdfReferenceDataChangedEvent event) {
+        switch (event.type()) {
+            case VdfReferenceDataChangedEvent.DEPOSIT_CATEGORIES -> depositCategories.evict();
+            case VdfReferenceDataChangedEvent.EXPENSE_CATEGORIES -> expenseCategories.evict();
+            default -> log.warn("Unknown VDF reference data type: {}", event.type());
+        }
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMonthlyConfigChanged(VdfMonthlyConfigChangedEvent event) {
+        monthlyConfigs.evict();
+    }
+
+    // Commit-phase eviction keeps the ordering above; a rolled-back write evicts as well, so
+    // nothing the failed transaction might have let through outlives it
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_ROLLBACK)
+    public void onReferenceDataRolledBack(VdfReferenceDataChangedEvent event) {
+        onReferenceDataChanged(event);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_ROLLBACK)
+    public void onMonthlyConfigRolledBack(VdfMonthlyConfigChangedEvent event) {
+        monthlyConfigs.evict();
+    }
+
+    public void evictAll() {
+        depositCategories.evict();
+        expenseCategories.evict();
+        monthlyConfigs.evict();
+    }
+
+    private static String lower(String name) {
+        return name == null ? null : name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Immutable view of one table. byName maps a key to every row that has it, in load order.
+     */
+    private record Index<T>(List<T> all, Map<UUID, T> byId, Map<String, List<T>> byName) {
+
+        static <T> Index<T> of(List<T> rows, Function<T, UUID> id, Function<T, String> name) {
+            Map<UUID, T> byId = new HashMap<>();
+            Map<String, List<T>> byName = new HashMap<>();
+            for (T row : rows) {
+                byId.put(id.apply(row), row);
+                String key = name.apply(row);
+                if (key != null) {
+                    byName.computeIfAbsent(key, k -> new ArrayList<>(1)).add(row);
+                }
+            }
+            byName.replaceAll((k, v) -> List.copyOf(v));
+            return new Index<>(List.copyOf(rows), Map.copyOf(byId), Map.copyOf(byName));
+        }
+    }
+
+    /**
+     * One cached table. A load that overlaps an eviction is returned to its caller but not kept.
+     */
+    private static final class Slot<T extends Index<?>> {
+        private final String name;
+        private final Supplier<T> loader;
+        private final Counter hits;
+        private final Counter misses;
+        private final AtomicLong generation = new AtomicLong();
+        private volatile Holder<T> holder;
+
+        Slot(String name, MeterRegistry registry, Supplier<T> loader) {
+            this.name = name;
+            this.loader = loader;
+            this.hits = Counter.builder("vdf.reference.cache").tag("cache", name).tag("result", "hit").register(registry);
+            this.misses = Counter.builder("vdf.reference.cache").tag("cache", name).tag("result", "miss").register(registry);
+        }
+
+        T get() {
+            Holder<T> h = holder;
+            long gen = generation.get();
+            if (h != null && h.generation() == gen) {
+                hits.increment();
+                return h.value();
+            }
+            misses.increment();
+            T loaded = loader.get();
+            if (loaded.all().size() > MAX_ENTRIES) {
+                log.warn("VDF {} has {} rows, above the cache limit of {}; not caching", name, loaded.all().size(), MAX_ENTRIES);
+            } else if (generation.get() == gen) {
+                holder = new Holder<>(gen, loaded);
+            }
+            return loaded;
+        }
+
+        void evict() {
+            generation.incrementAndGet();
+            holder = null;
+        }
+    }
+
+    private record Holder<T>(long generation, T value) {
+    }
+}
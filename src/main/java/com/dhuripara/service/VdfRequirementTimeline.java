@@ -0,0 +1,184 @@
+package com.dhuripara.service;
+
+import com.dhuripara.event.VdfMonthlyConfigChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory timeline of VdfMonthlyConfig.requiredAmount stored as cumulative prefix sums.
+ *
+ * A month with no config falls back to the family's own monthly amount, so alongside the
+ * configured amounts the timeline keeps a prefix count of configured months. "Required since X"
+ * is then a couple of array reads plus one adjustment per exempted month. The timeline is
+ * rebuilt lazily after a monthly config change commits.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VdfRequirementTimeline {
+
+    private final VdfReferenceDataCache referenceDataCache;
+
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    /**
+     * Sum of required amounts for every month from start to end (both inclusive, by month),
+     * skipping exempted months ("YYYY-MM"). Months without a monthly config use fallbackAmount.
+     */
+    public BigDecimal requiredBetween(LocalDate start, LocalDate end, BigDecimal fallbackAmount,
+                                      Collection<String> exemptMonths) {
+        int from = monthIndex(start.getYear(), start.getMonthValue());
+        int to = monthIndex(end.getYear(), end.getMonthValue());
+        if (to < from) {
+            return BigDecimal.ZERO;
+        }
+        BigDecimal fallback = fallbackAmount == null ? BigDecimal.ZERO : fallbackAmount;
+        Snapshot s = current();
+
+        int configuredMonths = s.configuredCount(from, to);
+        BigDecimal total = s.configuredSum(from, to)
+                .add(fallback.multiply(BigDecimal.valueOf((long) (to - from + 1) - configuredMonths)));
+
+        if (exemptMonths != null && !exemptMonths.isEmpty()) {
+            Set<Integer> seen = new HashSet<>();
+            for (String monthYear : exemptMonths) {
+                Integer idx = parseMonthIndex(monthYear);
+                if (idx != null && idx >= from && idx <= to && seen.add(idx)) {
+                    total = total.subtract(s.amountAt(idx, fallback));
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Required amount for a single month, falling back to the family amount when unconfigured.
+     */
+    public BigDecimal requiredFor(int year, int month, BigDecimal fallbackAmount) {
+        BigDecimal fallback = fallbackAmount == null ? BigDecimal.ZERO : fallbackAmount;
+        return current().amountAt(monthIndex(year, month), fallback);
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+    }
+
+    // After the reference data cache, which this rebuilds from; before anything that reads the timeline
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMonthlyConfigChanged(VdfMonthlyConfigChangedEvent event) {
+        log.info("Monthly config {} changed, rebuilding VDF requirement timeline", event.monthYear());
+        invalidate();
+    }
+
+    private Snapshot current() {
+        Snapshot s = snapshot;
+        long gen = generation.get();
+        if (s != null && s.generation == gen) {
+            return s;
+        }
+        Snapshot built = build(gen);
+        // Only publish if nothing changed while we were loading
+        if (generation.get() == gen) {
+            snapshot = built;
+        }
+        return built;
+    }
+
+    private Snapshot build(long gen) {
+        List<Integer> months = new ArrayList<>();
+        List<BigDecimal> amounts = new ArrayList<>();
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (VdfReferenceDataCache.MonthlyConfig config : referenceDataCache.getMonthlyConfigs()) {
+            Integer idx = parseMonthIndex(config.monthYear());
+            if (idx == null) {
+                log.warn("Ignoring monthly config with invalid month: {}", config.monthYear());
+                continue;
+            }
+            months.add(idx);
+            amounts.add(config.requiredAmount());
+            min = Math.min(min, idx);
+            max = Math.max(max, idx);
+        }
+        if (months.isEmpty()) {
+            return new Snapshot(gen, 0, new BigDecimal[]{BigDecimal.ZERO}, new int[]{0});
+        }
+
+        int length = max - min + 1;
+        BigDecimal[] perMonth = new BigDecimal[length];
+        boolean[] configured = new boolean[length];
+        for (int i = 0; i < months.size(); i++) {
+            int offset = months.get(i) - min;
+            BigDecimal amount = amounts.get(i);
+            // A config row with a null amount behaves like an unconfigured month
+            if (amount != null) {
+                perMonth[offset] = amount;
+                configured[offset] = true;
+            }
+        }
+
+        BigDecimal[] prefixSum = new BigDecimal[length + 1];
+        int[] prefixCount = new int[length + 1];
+        prefixSum[0] = BigDecimal.ZERO;
+        for (int i = 0; i < length; i++) {
+            prefixSum[i + 1] = configured[i] ? prefixSum[i].add(perMonth[i]) : prefixSum[i];
+            prefixCount[i + 1] = prefixCount[i] + (configured[i] ? 1 : 0);
+        }
+        log.debug("Built VDF requirement timeline over {} months ({} configured)", length, prefixCount[length]);
+        return new Snapshot(gen, min, prefixSum, prefixCount);
+    }
+
+    static int monthIndex(int year, int month) {
+        return year * 12 + (month - 1);
+    }
+
+    static Integer parseMonthIndex(String monthYear) {
+        if (monthYear == null) return null;
+        try {
+            YearMonth ym = YearMonth.parse(monthYear);
+            return monthIndex(ym.getYear(), ym.getMonthValue());
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private record Snapshot(long generation, int base, BigDecimal[] prefixSum, int[] prefixCount) {
+
+        private int clampStart(int idx) {
+            return Math.min(Math.max(idx - base, 0), prefixCount.length - 1);
+        }
+
+        private int clampEnd(int idx) {
+            return Math.min(Math.max(idx - base + 1, 0), prefixCount.length - 1);
+        }
+
+        BigDecimal configuredSum(int from, int to) {
+            return prefixSum[clampEnd(to)].subtract(prefixSum[clampStart(from)]);
+        }
+
+        int configuredCount(int from, int to) {
+            return prefixCount[clampEnd(to)] - prefixCount[clampStart(from)];
+        }
+
+        BigDecimal amountAt(int idx, BigDecimal fallback) {
+            return configuredCount(idx, idx) == 1 ? configuredSum(idx, idx) : fallback;
+        }
+    }
+}
@@ -6,8 +6,12 @@ import com.dhuripara.exception.BusinessException;
 import com.dhuripara.exception.ResourceNotFoundException;
 import com.dhuripara.model.*;
 import com.dhuripara.repository.*;
+import com.dhuripara.event.VdfDataChangedEvent;
+import com.dhuripara.event.VdfMonthlyConfigChangedEvent;
+import com.dhuripara.event.VdfReferenceDataChangedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -32,6 +36,14 @@ public class VdfService {
     private final VdfFamilyExemptionRepository vdfFamilyExemptionRepository;
     private final VdfMonthlyConfigRepository vdfMonthlyConfigRepository;
     private final VdfNotificationService notificationService;
+    private final VdfMatrixService matrixService;
+    private final VdfBalanceService balanceService;
+    private final VdfSummaryService summaryService;
+    private final VdfReferenceDataCache referenceDataCache;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private static final int DEFAULT_HISTORY_PAGE_SIZE = 24;
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
 
     // ==================== DEPOSITS ====================
 
@@ -39,7 +51,7 @@ public class VdfService {
     public VdfDepositResponse createDeposit(VdfDepositRequest request) {
         log.info("Creating VDF deposit from: {}", request.getSourceName());
 
-        VdfDepositCategory category = depositCategoryRepository.findById(request.getCategoryId())
+        VdfReferenceDataCache.DepositCategory category = referenceDataCache.findDepositCategory(request.getCategoryId())
                 .orElseThrow(() -> new ResourceNotFoundException("Deposit category not found"));
 
         VdfDeposit deposit = new VdfDeposit();
@@ -47,7 +59,7 @@ public class VdfService {
         deposit.setAmount(request.getAmount());
         deposit.setSourceName(request.getSourceName());
         deposit.setSourceNameBn(request.getSourceNameBn());
-        deposit.setCategory(category);
+        deposit.setCategory(depositCategoryRepository.getReferenceById(category.id()));
         deposit.setNotes(request.getNotes());
 
         if (request.getMemberId() != null) {
@@ -57,6 +69,7 @@ public class VdfService {
         }
 
         VdfDeposit saved = depositRepository.save(deposit);
+        eventPublisher.publishEvent(new VdfDataChangedEvent("deposit"));
         
         // Create notification if requested
         if (Boolean.TRUE.equals(request.getSendNotification())) {
@@ -77,10 +90,10 @@ public class VdfService {
                     String title = "New Deposit Recorded";
                     String titleBn = "নতুন জমা রেকর্ড করা হয়েছে";
                     String message = String.format("A new deposit of ₹%s has been recorded. Category: %s", 
-                        saved.getAmount(), category.getCategoryName());
+                        saved.getAmount(), category.categoryName());
                     String messageBn = String.format("₹%s এর একটি নতুন জমা রেকর্ড করা হয়েছে। বিভাগ: %s", 
                         saved.getAmount(), 
-                        category.getCategoryNameBn() != null ? category.getCategoryNameBn() : category.getCategoryName());
+                        category.categoryNameBn() != null ? category.categoryNameBn() : category.categoryName());
                     notificationService.createNotificationForAllMembers(
                         title, titleBn, message, messageBn, "DEPOSIT", saved.getId()
                     );
@@ -105,6 +118,7 @@ public class VdfService {
         VdfDeposit deposit = depositRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Deposit not found"));
         depositRepository.deleteById(id);
+        eventPublisher.publishEvent(new VdfDataChangedEvent("deposit"));
         log.info("VDF deposit deleted: {} (Amount: {})", id, deposit.getAmount());
     }
 
@@ -115,14 +129,14 @@ public class VdfService {
         VdfDeposit deposit = depositRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Deposit not found"));
 
-        VdfDepositCategory category = depositCategoryRepository.findById(request.getCategoryId())
+        VdfReferenceDataCache.DepositCategory category = referenceDataCache.findDepositCategory(request.getCategoryId())
                 .orElseThrow(() -> new ResourceNotFoundException("Deposit category not found"));
 
         deposit.setDepositDate(request.getDepositDate());
         deposit.setAmount(request.getAmount());
         deposit.setSourceName(request.getSourceName());
         deposit.setSourceNameBn(request.getSourceNameBn());
-        deposit.setCategory(category);
+        deposit.setCategory(depositCategoryRepository.getReferenceById(category.id()));
         deposit.setNotes(request.getNotes());
 
         if (request.getMemberId() != null) {
@@ -134,6 +148,7 @@ public class VdfService {
         }
 
         VdfDeposit updated = depositRepository.save(deposit);
+        eventPublisher.publishEvent(new VdfDataChangedEvent("deposit"));
         log.info("VDF deposit updated: {}", id);
         return convertDepositToResponse(updated);
     }
@@ -144,13 +159,13 @@ public class VdfService {
     public VdfExpenseResponse createExpense(VdfExpenseRequest request) {
         log.info("Creating VDF expense: {}", request.getDescription());
 
-        VdfExpenseCategory category = expenseCategoryRepository.findById(request.getCategoryId())
+        VdfReferenceDataCache.ExpenseCategory category = referenceDataCache.findExpenseCategory(request.getCategoryId())
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found"));
 
         VdfExpense expense = new VdfExpense();
         expense.setExpenseDate(request.getExpenseDate());
         expense.setAmount(request.getAmount());
-        expense.setCategory(category);
+        expense.setCategory(expenseCategoryRepository.getReferenceById(category.id()));
         expense.setDescription(request.getDescription());
         expense.setDescriptionBn(request.getDescriptionBn());
         expense.setNotes(request.getNotes());
@@ -158,6 +173,7 @@ public class VdfService {
         expense.setMonth(request.getExpenseDate().getMonth().getValue());
 
         VdfExpense saved = expenseRepository.save(expense);
+        eventPublisher.publishEvent(new VdfDataChangedEvent("expense"));
         
         // Create notification if requested
         if (Boolean.TRUE.equals(request.getSendNotification())) {
@@ -166,10 +182,10 @@ public class VdfService {
                 String title = "New Expense Recorded";
                 String titleBn = "নতুন খরচ রেকর্ড করা হয়েছে";
                 String message = String.format("A new expense of ₹%s has been recorded. Category: %s. Description: %s", 
-                    saved.getAmount(), category.getCategoryName(), saved.getDescription());
+                    saved.getAmount(), category.categoryName(), saved.getDescription());
                 String messageBn = String.format("₹%s এর একটি নতুন খরচ রেকর্ড করা হয়েছে। বিভাগ: %s। বিবরণ: %s", 
                     saved.getAmount(), 
-                    category.getCategoryNameBn() != null ? category.getCategoryNameBn() : category.getCategoryName(),
+                    category.categoryNameBn() != null ? category.categoryNameBn() : category.categoryName(),
                     saved.getDescriptionBn() != null ? saved.getDescriptionBn() : saved.getDescription());
                 notificationService.createNotificationForAllMembers(
                     title, titleBn, message, messageBn, "EXPENSE", saved.getId()
@@ -184,8 +200,8 @@ public class VdfService {
     }
 
     public List<VdfExpenseResponse> getExpensesByYear(Integer year) {
-        return expenseRepository.findByYearOrderByExpenseDateDesc(year).stream()
-                .map(this::convertExpenseToResponse)
+        return expenseRepository.findByYearWithCategory(year).stream()
+                .map(VdfService::convertExpenseToResponse)
                 .collect(Collectors.toList());
     }
 
@@ -223,7 +239,10 @@ public class VdfService {
         config.setMonthlyAmount(request.getMonthlyAmount());
         config.setNotes(request.getNotes());
 
-        return familyConfigRepository.save(config);
+        VdfFamilyConfig saved = familyConfigRepository.save(config);
+        balanceService.rebuild(saved);
+        eventPublisher.publishEvent(new VdfDataChangedEvent("family"));
+        return saved;
     }
 
     public List<VdfFamilyConfig> getAllActiveFamilies() {
@@ -238,9 +257,18 @@ public class VdfService {
             families = familyConfigRepository.findAll();
         }
         
-        int currentYear = LocalDate.now().getYear();
+        // One balance row per family instead of aggregating contribution history
+        Map<UUID, VdfFamilyBalance> balances = balanceService.getBalances(families);
+
+        // This year's paid months for every family in one grouped query
+        Map<UUID, Integer> paidMonths = new HashMap<>();
+        for (Object[] row : contributionRepository.countPaidMonthsGroupedByFamily(LocalDate.now().getYear())) {
+            paidMonths.put((UUID) row[0], ((Number) row[1]).intValue());
+        }
+
         return families.stream()
-            .map(family -> convertFamilyToResponse(family, currentYear))
+            .map(family -> convertFamilyToResponse(family, paidMonths.getOrDefault(family.getId(), 0),
+                    balances.get(family.getId())))
             .collect(Collectors.toList());
     }
 
@@ -262,6 +290,8 @@ public class VdfService {
         config.setNotes(request.getNotes());
 
         VdfFamilyConfig updated = familyConfigRepository.save(config);
+        balanceService.rebuild(updated);
+        eventPublisher.publishEvent(new VdfDataChangedEvent("family"));
         return convertFamilyToResponse(updated, LocalDate.now().getYear());
     }
 
@@ -283,6 +313,8 @@ public class VdfService {
         // exemptedBy left null (could be set to current admin if available)
 
         vdfFamilyExemptionRepository.save(ex);
+        balanceService.onExemptionChanged(family, request.getMonthYear(), true);
+        eventPublisher.publishEvent(new VdfDataChangedEvent("exemption"));
     }
 
     @Transactional
@@ -291,6 +323,43 @@ public class VdfService {
         VdfFamilyExemption ex = vdfFamilyExemptionRepository.findByFamilyIdAndMonthYear(familyId, monthYear)
                 .orElseThrow(() -> new ResourceNotFoundException("Exemption not found"));
         vdfFamilyExemptionRepository.delete(ex);
+        balanceService.onExemptionChanged(ex.getFamily(), monthYear, false);
+        eventPublisher.publishEvent(new VdfDataChangedEvent("exemption"));
+    }
+
+    // ==================== MONTHLY CONFIG ====================
+
+    public List<VdfReferenceDataCache.MonthlyConfig> getMonthlyConfigs() {
+        return referenceDataCache.getMonthlyConfigs();
+    }
+
+    @Transactional
+    public VdfMonthlyConfig createOrUpdateMonthlyConfig(VdfMonthlyConfigRequest request) {
+        log.info("Saving monthly config for: {}", request.getMonthYear());
+
+        VdfMonthlyConfig config = vdfMonthlyConfigRepository.findByMonthYear(request.getMonthYear())
+                .orElseGet(VdfMonthlyConfig::new);
+        config.setMonthYear(request.getMonthYear());
+        config.setRequiredAmount(request.getRequiredAmount());
+        config.setDescription(request.getDescription());
+
+        VdfMonthlyConfig saved = vdfMonthlyConfigRepository.save(config);
+        eventPublisher.publishEvent(new VdfMonthlyConfigChangedEvent(saved.getMonthYear()));
+        return saved;
+    }
+
+    @Transactional
+    public void deleteMonthlyConfig(UUID id) {
+        VdfMonthlyConfig config = vdfMonthlyConfigRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Monthly config not found"));
+        log.info("Deleting monthly config for: {}", config.getMonthYear());
+        vdfMonthlyConfigRepository.delete(config);
+        eventPublisher.publishEvent(new VdfMonthlyConfigChangedEvent(config.getMonthYear()));
+    }
+
+    @Transactional
+    public int rebuildBalances() {
+        return balanceService.rebuildAll();
     }
 
     // ==================== CONTRIBUTIONS ====================
@@ -299,6 +368,8 @@ public class VdfService {
     public void recordContribution(VdfContributionRequest request) {
         log.info("Recording contribution for family config: {}", request.getFamilyConfigId());
 
+        // Same lock as collection day, so the existence check and balance delta below stay valid
+        familyConfigRepository.lockByIdIn(List.of(request.getFamilyConfigId()));
         VdfFamilyConfig familyConfig = familyConfigRepository.findById(request.getFamilyConfigId())
                 .orElseThrow(() -> new ResourceNotFoundException("Family config not found"));
 
@@ -324,13 +395,14 @@ public class VdfService {
         contribution.setNotes(request.getNotes());
 
         contributionRepository.save(contribution);
+        balanceService.onContributionsChanged(familyConfig, request.getAmount(),
+                java.time.YearMonth.of(request.getYear(), request.getMonth()), false);
+        eventPublisher.publishEvent(new VdfDataChangedEvent("contribution"));
 
         // Also create a deposit entry for the villager contribution
-        VdfDepositCategory villagerCategory = depositCategoryRepository
-                .findByIsActiveTrueOrderByCategoryNameAsc()
-                .stream()
-                .filter(cat -> cat.getCategoryName().equalsIgnoreCase("Villager Contribution"))
-                .findFirst()
+        VdfDepositCategory villagerCategory = referenceDataCache
+                .findActiveDepositCategory("Villager Contribution")
+                .map(category -> depositCategoryRepository.getReferenceById(category.id()))
                 .orElse(null);
 
         if (villagerCategory != null) {
@@ -380,6 +452,9 @@ public class VdfService {
     public void recordBulkContributions(com.dhuripara.dto.request.VdfBulkContributionRequest request) {
         log.info("Recording bulk contributions for family config: {} year {}", request.getFamilyConfigId(), request.getYear());
 
+        // Serialise with other writers for this family so each month's find-then-write and the
+        // paid delta are computed against rows nobody else is changing
+        familyConfigRepository.lockByIdIn(List.of(request.getFamilyConfigId()));
         VdfFamilyConfig familyConfig = familyConfigRepository.findById(request.getFamilyConfigId())
                 .orElseThrow(() -> new ResourceNotFoundException("Family config not found"));
 
@@ -390,6 +465,10 @@ public class VdfService {
         // process each month
         java.math.BigDecimal total = java.math.BigDecimal.ZERO;
         StringBuilder monthsList = new StringBuilder();
+        // net change to the family's paid total, for the balance row
+        java.math.BigDecimal paidDelta = java.math.BigDecimal.ZERO;
+        java.time.YearMonth latestPaid = null;
+        boolean removedAny = false;
         
         for (com.dhuripara.dto.request.VdfBulkContributionRequest.MonthlyContributionInput contrib : request.getContributions()) {
             Integer month = contrib.getMonth();
@@ -403,6 +482,8 @@ public class VdfService {
                 if (existing.isPresent()) {
                     log.info("Deleting contribution for family {} month {} year {}", request.getFamilyConfigId(), month, request.getYear());
                     contributionRepository.delete(existing.get());
+                    paidDelta = paidDelta.subtract(existing.get().getAmount());
+                    removedAny = true;
                 }
                 continue; // skip further processing for zero amounts
             }
@@ -410,9 +491,12 @@ public class VdfService {
             total = total.add(amount);
             if (monthsList.length() > 0) monthsList.append(", ");
             monthsList.append(month);
+            java.time.YearMonth paidMonth = java.time.YearMonth.of(request.getYear(), month);
+            if (latestPaid == null || paidMonth.isAfter(latestPaid)) latestPaid = paidMonth;
 
             if (existing.isPresent()) {
                 VdfContribution c = existing.get();
+                paidDelta = paidDelta.add(amount.subtract(c.getAmount()));
                 c.setAmount(amount);
                 c.setPaymentDate(request.getPaymentDate());
                 c.setNotes(request.getNotes());
@@ -423,19 +507,21 @@ public class VdfService {
                 c.setYear(request.getYear());
                 c.setMonth(month);
                 c.setAmount(amount);
+                paidDelta = paidDelta.add(amount);
                 c.setPaymentDate(request.getPaymentDate());
                 c.setNotes(request.getNotes());
                 contributionRepository.save(c);
             }
         }
 
+        balanceService.onContributionsChanged(familyConfig, paidDelta, latestPaid, removedAny);
+        eventPublisher.publishEvent(new VdfDataChangedEvent("contribution"));
+
         if (total.compareTo(java.math.BigDecimal.ZERO) > 0) {
             // create single deposit for the total amount
-            VdfDepositCategory villagerCategory = depositCategoryRepository
-                    .findByIsActiveTrueOrderByCategoryNameAsc()
-                    .stream()
-                    .filter(cat -> cat.getCategoryName().equalsIgnoreCase("Villager Contribution") || cat.getCategoryName().equalsIgnoreCase("Monthly Contribution"))
-                    .findFirst()
+            VdfDepositCategory villagerCategory = referenceDataCache
+                    .findActiveDepositCategory("Villager Contribution", "Monthly Contribution")
+                    .map(category -> depositCategoryRepository.getReferenceById(category.id()))
                     .orElse(null);
 
             VdfDeposit deposit = new VdfDeposit();
@@ -457,105 +543,7 @@ public class VdfService {
     }
 
     public List<VdfFamilyMonthlySummaryResponse> getMonthlyContributionMatrix(Integer year) {
-        List<VdfFamilyConfig> activeFamilies = familyConfigRepository.findByIsContributionEnabledTrue();
-        List<VdfFamilyMonthlySummaryResponse> summaries = new ArrayList<>();
-        LocalDate today = LocalDate.now();
-
-        for (VdfFamilyConfig family : activeFamilies) {
-            VdfFamilyMonthlySummaryResponse summary = new VdfFamilyMonthlySummaryResponse();
-            summary.setFamilyConfigId(family.getId());
-            summary.setFamilyHeadName(family.getFamilyHeadName());
-            summary.setMemberPhone(family.getMember().getPhone());
-            summary.setMonthlyAmount(family.getMonthlyAmount());
-
-            // Get all contributions for this family in the year
-            List<VdfContribution> contributions = contributionRepository
-                    .findByFamilyConfigIdAndYear(family.getId(), year);
-
-            Boolean[] paidMonths = new Boolean[12];
-            Arrays.fill(paidMonths, false);
-
-            int paidCount = 0;
-            BigDecimal totalPaid = BigDecimal.ZERO;
-
-            for (VdfContribution contribution : contributions) {
-                int monthIndex = contribution.getMonth() - 1;
-                paidMonths[monthIndex] = true;
-                paidCount++;
-                totalPaid = totalPaid.add(contribution.getAmount());
-            }
-
-            // Fetch exemptions for this family for the year
-            Boolean[] exemptedMonths = new Boolean[12];
-            Arrays.fill(exemptedMonths, false);
-            Map<String, Boolean> exemptionsMap = new HashMap<>();
-            List<VdfFamilyExemption> exemptions = vdfFamilyExemptionRepository.findByFamilyId(family.getId());
-            for (VdfFamilyExemption ex : exemptions) {
-                String my = ex.getMonthYear();
-                if (my != null && my.startsWith(String.valueOf(year))) {
-                    try {
-                        int month = Integer.parseInt(my.substring(5,7));
-                        if (month >=1 && month <=12) {
-                            exemptedMonths[month-1] = true;
-                        }
-                    } catch (Exception ignored) {}
-                    exemptionsMap.put(my, true);
-                }
-            }
-
-            // Calculate applicable months from effectiveFrom to current month
-            int applicableMonths = calculateApplicableMonths(family.getEffectiveFrom(), year, today);
-
-            summary.setPaidMonths(paidMonths);
-            summary.setExemptedMonths(exemptedMonths);
-            summary.setExemptionsMap(exemptionsMap);
-            summary.setTotalPaidMonths(paidCount);
-
-            int exemptCount = 0;
-            for (boolean e : exemptedMonths) if (e) exemptCount++;
-
-            int effectivePending = applicableMonths - paidCount - exemptCount;
-            if (effectivePending < 0) effectivePending = 0;
-
-            summary.setTotalPendingMonths(effectivePending);
-            summary.setTotalPaid(totalPaid);
-            summary.setTotalDue(family.getMonthlyAmount().multiply(new BigDecimal(effectivePending)));
-
-            // All-time totals (since effectiveFrom to today)
-            java.math.BigDecimal paidAll = contributionRepository.getTotalByFamily(family.getId());
-            summary.setTotalPaidAllTime(paidAll);
-
-            // compute all-time due by iterating months from effectiveFrom to today
-            java.time.LocalDate start = family.getEffectiveFrom();
-            if (start == null) {
-                if (family.getCreatedAt() != null) start = family.getCreatedAt().toLocalDate();
-                else start = LocalDate.of(2023, 6, 1);
-            }
-            java.math.BigDecimal requiredSum = java.math.BigDecimal.ZERO;
-            java.time.LocalDate iter = java.time.LocalDate.of(start.getYear(), start.getMonthValue(), 1);
-            while (!iter.isAfter(today)) {
-                String monText = String.format("%04d-%02d", iter.getYear(), iter.getMonthValue());
-                // skip exempted months
-                if (!vdfFamilyExemptionRepository.existsByFamilyIdAndMonthYear(family.getId(), monText)) {
-                    java.math.BigDecimal req = vdfMonthlyConfigRepository.findByMonthYear(monText)
-                            .map(VdfMonthlyConfig -> VdfMonthlyConfig.getRequiredAmount())
-                            .orElse(family.getMonthlyAmount());
-                    requiredSum = requiredSum.add(req == null ? java.math.BigDecimal.ZERO : req);
-                }
-                iter = iter.plusMonths(1);
-            }
-
-            java.math.BigDecimal dueAll = requiredSum.subtract(paidAll == null ? java.math.BigDecimal.ZERO : paidAll);
-            if (dueAll.compareTo(java.math.BigDecimal.ZERO) < 0) dueAll = java.math.BigDecimal.ZERO;
-            summary.setTotalDueAllTime(dueAll);
-            // Populate alias fields for frontend compatibility
-            summary.setTotalAmountPaid(paidAll == null ? java.math.BigDecimal.ZERO : paidAll);
-            summary.setTotalAmountDue(dueAll == null ? java.math.BigDecimal.ZERO : dueAll);
-
-            summaries.add(summary);
-        }
-
-        return summaries;
+        return matrixService.buildMatrix(year);
     }
 
     public BigDecimal calculateMemberVdfDues(UUID memberId) {
@@ -596,58 +584,75 @@ public class VdfService {
         VdfFamilyConfig family = cfgOpt.get();
         UUID familyId = family.getId();
 
-        // total paid all time
-        java.math.BigDecimal paidAll = contributionRepository.getTotalByFamily(familyId);
-        if (paidAll == null) paidAll = java.math.BigDecimal.ZERO;
-
-        // compute required sum from effectiveFrom to today, skipping exemptions and using monthly config when present
-        java.time.LocalDate start = family.getEffectiveFrom();
-        if (start == null) {
-            if (family.getCreatedAt() != null) start = family.getCreatedAt().toLocalDate();
-            else start = java.time.LocalDate.of(2023, 6, 1);
-        }
-        java.time.LocalDate today = java.time.LocalDate.now();
-        java.math.BigDecimal requiredSum = java.math.BigDecimal.ZERO;
-        java.time.LocalDate iter = java.time.LocalDate.of(start.getYear(), start.getMonthValue(), 1);
-        while (!iter.isAfter(today)) {
-            String monText = String.format("%04d-%02d", iter.getYear(), iter.getMonthValue());
-            if (!vdfFamilyExemptionRepository.existsByFamilyIdAndMonthYear(familyId, monText)) {
-                java.math.BigDecimal req = vdfMonthlyConfigRepository.findByMonthYear(monText)
-                        .map(VdfMonthlyConfig -> VdfMonthlyConfig.getRequiredAmount())
-                        .orElse(family.getMonthlyAmount());
-                requiredSum = requiredSum.add(req == null ? java.math.BigDecimal.ZERO : req);
-            }
-            iter = iter.plusMonths(1);
-        }
-
-        java.math.BigDecimal dueAll = requiredSum.subtract(paidAll == null ? java.math.BigDecimal.ZERO : paidAll);
-        if (dueAll.compareTo(java.math.BigDecimal.ZERO) < 0) dueAll = java.math.BigDecimal.ZERO;
+        // all-time paid and due from the family's balance row
+        VdfFamilyBalance balance = balanceService.getBalance(family);
+        java.math.BigDecimal paidAll = balance.getPaidToDate();
+        java.math.BigDecimal dueAll = balance.getDueToDate();
 
         // current year due (use existing method)
         java.math.BigDecimal currentDue = calculateMemberVdfDues(memberId);
 
-        // contributions list (all years)
-        java.util.List<VdfContribution> contribs = contributionRepository.findAll().stream()
-                .filter(c -> c.getFamilyConfig() != null && familyId.equals(c.getFamilyConfig().getId()))
-                .sorted((a,b) -> {
-                    int cmp = b.getYear().compareTo(a.getYear());
-                    if (cmp != 0) return cmp;
-                    return b.getMonth().compareTo(a.getMonth());
-                })
-                .toList();
-
-        java.util.List<com.dhuripara.dto.response.VdfContributionResponse> contribResp = contribs.stream()
-                .map(this::mapToContributionResponse)
-                .toList();
+        // first page of contribution history; older pages via getMemberContributionHistory
+        CursorPageResponse<VdfContributionResponse> history = contributionHistoryPage(familyId, null,
+                DEFAULT_HISTORY_PAGE_SIZE);
 
         resp.setTotalPaidAllTime(paidAll);
         resp.setTotalDueAllTime(dueAll);
         resp.setCurrentYearDue(currentDue);
-        resp.setContributions(contribResp);
+        resp.setContributions(history.getContent());
+        resp.setContributionsNextCursor(history.getNextCursor());
         return resp;
     }
 
-    private int calculateApplicableMonths(LocalDate effectiveFrom, Integer year, LocalDate today) {
+    @Transactional(readOnly = true)
+    public CursorPageResponse<VdfContributionResponse> getMemberContributionHistory(UUID memberId, String cursor, Integer size) {
+        int pageSize = size == null ? DEFAULT_HISTORY_PAGE_SIZE : Math.min(Math.max(size, 1), MAX_HISTORY_PAGE_SIZE);
+        return familyConfigRepository.findByMemberId(memberId)
+                .map(family -> contributionHistoryPage(family.getId(), cursor, pageSize))
+                .orElseGet(() -> new CursorPageResponse<>(List.of(), null, false));
+    }
+
+    /**
+     * One keyset page of a family's contributions, newest month first. The cursor is the
+     * "YYYY-MM" of the last row on the previous page.
+     */
+    private CursorPageResponse<VdfContributionResponse> contributionHistoryPage(UUID familyId, String cursor, int size) {
+        // fetch one extra row to learn whether another page exists
+        org.springframework.data.domain.Pageable limit = org.springframework.data.domain.PageRequest.of(0, size + 1);
+        List<VdfContribution> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = contributionRepository.findHistoryFirstPage(familyId, limit);
+        } else {
+            java.time.YearMonth after;
+            try {
+                after = java.time.YearMonth.parse(cursor);
+            } catch (java.time.format.DateTimeParseException e) {
+                throw new BusinessException("Invalid cursor: " + cursor);
+            }
+            rows = contributionRepository.findHistoryBefore(familyId, after.getYear(), after.getMonthValue(), limit);
+        }
+
+        boolean hasMore = rows.size() > size;
+        List<VdfContribution> page = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            VdfContribution last = page.get(page.size() - 1);
+            nextCursor = String.format("%04d-%02d", last.getYear(), last.getMonth());
+        }
+        return new CursorPageResponse<>(page.stream().map(this::mapToContributionResponse).toList(), nextCursor, hasMore);
+    }
+
+    /**
+     * First month a family owes contributions for: effectiveFrom, else the config creation date,
+     * else the fund's launch month.
+     */
+    static LocalDate resolveContributionStart(VdfFamilyConfig family) {
+        if (family.getEffectiveFrom() != null) return family.getEffectiveFrom();
+        if (family.getCreatedAt() != null) return family.getCreatedAt().toLocalDate();
+        return LocalDate.of(2023, 6, 1);
+    }
+
+    static int calculateApplicableMonths(LocalDate effectiveFrom, Integer year, LocalDate today) {
         if (effectiveFrom == null) {
             effectiveFrom = LocalDate.of(year, 1, 1);
         }
@@ -679,84 +684,32 @@ public class VdfService {
     // ==================== REPORTS & SUMMARY ====================
 
     public VdfSummaryResponse getSummary() {
-        int currentYear = LocalDate.now().getYear();
-
-        VdfSummaryResponse summary = new VdfSummaryResponse();
-        summary.setTotalFamilies(Math.toIntExact(familyConfigRepository.count()));
-        summary.setActiveContributors(Math.toIntExact(familyConfigRepository.countActiveContributors()));
-        summary.setTotalCollected(depositRepository.getTotalDeposits());
-        // Use all-years total for expenses
-        summary.setTotalExpenses(expenseRepository.getTotalAllYears());
-        summary.setCurrentBalance(summary.getTotalCollected().subtract(summary.getTotalExpenses()));
-        summary.setCurrentYear(currentYear);
-
-        // Calculate category-wise deposits
-        Map<String, BigDecimal> categoryDeposits = new HashMap<>();
-        Map<String, BigDecimal> categoryDepositsBn = new HashMap<>();
-        List<VdfDeposit> allDeposits = depositRepository.findAll();
-        for (VdfDeposit deposit : allDeposits) {
-            if (deposit.getCategory() != null) {
-                String categoryName = deposit.getCategory().getCategoryName();
-                String categoryNameBn = deposit.getCategory().getCategoryNameBn() != null ?
-                    deposit.getCategory().getCategoryNameBn() : deposit.getCategory().getCategoryName();
-                categoryDeposits.put(categoryName,
-                    categoryDeposits.getOrDefault(categoryName, BigDecimal.ZERO)
-                        .add(deposit.getAmount()));
-                categoryDepositsBn.put(categoryNameBn,
-                    categoryDepositsBn.getOrDefault(categoryNameBn, BigDecimal.ZERO)
-                        .add(deposit.getAmount()));
-            }
-        }
-        summary.setCategoryWiseDeposits(categoryDeposits);
-        summary.setCategoryWiseDepositsBn(categoryDepositsBn);
-
-        // Calculate category-wise expenses across all years (EN and BN)
-        Map<String, BigDecimal> categoryExpenses = new HashMap<>();
-        Map<String, BigDecimal> categoryExpensesBn = new HashMap<>();
-        List<Object[]> categoryTotals = expenseRepository.getCategoryTotalsAllYears();
-        for (Object[] o : categoryTotals) {
-            VdfExpenseCategory category = (VdfExpenseCategory) o[0];
-            BigDecimal amount = (BigDecimal) o[1];
-            String en = category.getCategoryName();
-            String bn = category.getCategoryNameBn() != null ? category.getCategoryNameBn() : en;
-            categoryExpenses.put(en, amount);
-            categoryExpensesBn.put(bn, amount);
-        }
-        summary.setCategoryWiseExpenses(categoryExpenses);
-        summary.setCategoryWiseExpensesBn(categoryExpensesBn);
-
-        return summary;
+        return summaryService.getSummary();
     }
 
     public List<VdfMonthlyReportResponse> getMonthlyReport(Integer year) {
-        List<VdfMonthlyReportResponse> reports = new ArrayList<>();
+        // Four grouped queries for the whole year, however many families there are
+        Map<Integer, BigDecimal> contributionsByMonth = toMonthMap(contributionRepository.getMonthlyTotalsByYear(year));
+        Map<Integer, BigDecimal> expensesByMonth = toMonthMap(expenseRepository.getMonthlyTotalsByYear(year));
+        Map<Integer, Long> paidFamiliesByMonth = new HashMap<>();
+        for (Object[] row : contributionRepository.countActivePaidFamiliesByMonth(year)) {
+            paidFamiliesByMonth.put((Integer) row[0], (Long) row[1]);
+        }
+        int activeFamilies = Math.toIntExact(familyConfigRepository.countActiveContributors());
 
+        List<VdfMonthlyReportResponse> reports = new ArrayList<>();
         for (int month = 1; month <= 12; month++) {
             VdfMonthlyReportResponse report = new VdfMonthlyReportResponse();
             report.setYear(year);
             report.setMonth(month);
             report.setMonthName(Month.of(month).name());
 
-            BigDecimal contributions = contributionRepository.getTotalByYearAndMonth(year, month);
-            BigDecimal expenses = expenseRepository.getTotalByYearAndMonth(year, month);
-
-            report.setTotalContributions(contributions);
-            report.setTotalExpenses(expenses);
-
-            // Calculate families paid/pending
-            List<VdfFamilyConfig> activeFamilies = familyConfigRepository.findByIsContributionEnabledTrue();
-            int familiesPaid = 0;
-
-            for (VdfFamilyConfig family : activeFamilies) {
-                Optional<VdfContribution> contrib = contributionRepository
-                        .findByFamilyConfigIdAndYearAndMonth(family.getId(), year, month);
-                if (contrib.isPresent()) {
-                    familiesPaid++;
-                }
-            }
+            report.setTotalContributions(contributionsByMonth.getOrDefault(month, BigDecimal.ZERO));
+            report.setTotalExpenses(expensesByMonth.getOrDefault(month, BigDecimal.ZERO));
 
+            int familiesPaid = Math.toIntExact(paidFamiliesByMonth.getOrDefault(month, 0L));
             report.setFamiliesPaid(familiesPaid);
-            report.setFamiliesPending(activeFamilies.size() - familiesPaid);
+            report.setFamiliesPending(activeFamilies - familiesPaid);
 
             reports.add(report);
         }
@@ -764,6 +717,14 @@ public class VdfService {
         return reports;
     }
 
+    private static Map<Integer, BigDecimal> toMonthMap(List<Object[]> rows) {
+        Map<Integer, BigDecimal> byMonth = new HashMap<>();
+        for (Object[] row : rows) {
+            byMonth.put((Integer) row[0], (BigDecimal) row[1]);
+        }
+        return byMonth;
+    }
+
     // ==================== CONVERSION METHODS ====================
 
     private VdfDepositResponse convertDepositToResponse(VdfDeposit deposit) {
@@ -805,7 +766,7 @@ public class VdfService {
         return response;
     }
 
-    private VdfExpenseResponse convertExpenseToResponse(VdfExpense expense) {
+    static VdfExpenseResponse convertExpenseToResponse(VdfExpense expense) {
         VdfExpenseResponse response = new VdfExpenseResponse();
         response.setId(expense.getId());
         response.setExpenseDate(expense.getExpenseDate());
@@ -822,6 +783,11 @@ public class VdfService {
     }
 
     private VdfFamilyConfigResponse convertFamilyToResponse(VdfFamilyConfig family, Integer year) {
+        int paidMonths = (int) contributionRepository.countByFamilyConfigIdAndYear(family.getId(), year);
+        return convertFamilyToResponse(family, paidMonths, balanceService.getBalance(family));
+    }
+
+    private VdfFamilyConfigResponse convertFamilyToResponse(VdfFamilyConfig family, int paidMonths, VdfFamilyBalance balance) {
         VdfFamilyConfigResponse response = new VdfFamilyConfigResponse();
         response.setId(family.getId());
         response.setMemberId(family.getMember().getId());
@@ -832,56 +798,18 @@ public class VdfService {
         response.setMonthlyAmount(family.getMonthlyAmount());
         response.setNotes(family.getNotes());
 
-        // Calculate paid and pending months for the year
+        // Paid and pending months for the current year
         if (Boolean.TRUE.equals(family.getIsContributionEnabled())) {
-            List<VdfContribution> contributions = contributionRepository
-                .findByFamilyConfigIdAndYear(family.getId(), year);
-            
-            response.setTotalPaidMonths(contributions.size());
-            response.setTotalPendingMonths(12 - contributions.size());
-            
-            BigDecimal totalPaid = contributions.stream()
-                .map(VdfContribution::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-            response.setTotalAmountPaid(totalPaid);
-            
-            BigDecimal totalDue = family.getMonthlyAmount()
-                .multiply(new BigDecimal(12 - contributions.size()));
-            response.setTotalAmountDue(totalDue);
+            response.setTotalPaidMonths(paidMonths);
+            response.setTotalPendingMonths(12 - paidMonths);
         } else {
             response.setTotalPaidMonths(0);
             response.setTotalPendingMonths(0);
-            response.setTotalAmountPaid(BigDecimal.ZERO);
-            response.setTotalAmountDue(BigDecimal.ZERO);
-        }
-
-        // Also compute all-time totals (since effectiveFrom to today)
-        java.math.BigDecimal paidAll = contributionRepository.getTotalByFamily(family.getId());
-        if (paidAll == null) paidAll = java.math.BigDecimal.ZERO;
-
-        // compute all-time required sum from effectiveFrom to today
-        java.time.LocalDate start = family.getEffectiveFrom();
-        java.time.LocalDate today = java.time.LocalDate.now();
-        if (start == null) {
-            if (family.getCreatedAt() != null) start = family.getCreatedAt().toLocalDate();
-            else start = java.time.LocalDate.of(2023, 6, 1);
-        }
-
-        java.math.BigDecimal requiredSum = java.math.BigDecimal.ZERO;
-        java.time.LocalDate iter = java.time.LocalDate.of(start.getYear(), start.getMonthValue(), 1);
-        while (!iter.isAfter(today)) {
-            String monText = String.format("%04d-%02d", iter.getYear(), iter.getMonthValue());
-            if (!vdfFamilyExemptionRepository.existsByFamilyIdAndMonthYear(family.getId(), monText)) {
-                java.math.BigDecimal req = vdfMonthlyConfigRepository.findByMonthYear(monText)
-                        .map(VdfMonthlyConfig -> VdfMonthlyConfig.getRequiredAmount())
-                        .orElse(family.getMonthlyAmount());
-                requiredSum = requiredSum.add(req == null ? java.math.BigDecimal.ZERO : req);
-            }
-            iter = iter.plusMonths(1);
         }
 
-        java.math.BigDecimal dueAll = requiredSum.subtract(paidAll == null ? java.math.BigDecimal.ZERO : paidAll);
-        if (dueAll.compareTo(java.math.BigDecimal.ZERO) < 0) dueAll = java.math.BigDecimal.ZERO;
+        // Also include all-time totals (since effectiveFrom to today) from the balance row
+        java.math.BigDecimal paidAll = balance.getPaidToDate();
+        java.math.BigDecimal dueAll = balance.getDueToDate();
 
         response.setTotalPaidAllTime(paidAll);
         response.setTotalDueAllTime(dueAll);
@@ -892,17 +820,99 @@ public class VdfService {
         return response;
     }
 
-    public List<VdfExpenseCategory> getExpenseCategories() {
-        return expenseCategoryRepository.findAll();
+    public List<VdfReferenceDataCache.ExpenseCategory> getExpenseCategories() {
+        return referenceDataCache.getExpenseCategories();
     }
 
     public List<VdfDepositCategoryResponse> getDepositCategories() {
-        return depositCategoryRepository.findByIsActiveTrueOrderByCategoryNameAsc()
+        return referenceDataCache.getActiveDepositCategories()
                 .stream()
-                .map(this::convertCategoryToResponse)
+                .map(category -> VdfDepositCategoryResponse.builder()
+                        .id(category.id())
+                        .categoryName(category.categoryName())
+                        .categoryNameBn(category.categoryNameBn())
+                        .description(category.description())
+                        .isActive(category.isActive())
+                        .build())
                 .collect(Collectors.toList());
     }
 
+    @Transactional
+    public VdfDepositCategoryResponse createDepositCategory(VdfCategoryRequest request) {
+        log.info("Creating VDF deposit category: {}", request.getCategoryName());
+        VdfDepositCategory category = new VdfDepositCategory();
+        category.setCategoryName(request.getCategoryName().trim());
+        category.setCategoryNameBn(request.getCategoryNameBn());
+        category.setDescription(request.getDescription());
+        if (request.getIsActive() != null) {
+            category.setIsActive(request.getIsActive());
+        }
+        VdfDepositCategory saved = depositCategoryRepository.save(category);
+        publishCategoryChange(VdfReferenceDataChangedEvent.DEPOSIT_CATEGORIES);
+        return convertCategoryToResponse(saved);
+    }
+
+    @Transactional
+    public VdfDepositCategoryResponse updateDepositCategory(UUID id, VdfCategoryRequest request) {
+        log.info("Updating VDF deposit category: {}", id);
+        VdfDepositCategory category = depositCategoryRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Deposit category not found"));
+        category.setCategoryName(request.getCategoryName().trim());
+        category.setCategoryNameBn(request.getCategoryNameBn());
+        category.setDescription(request.getDescription());
+        if (request.getIsActive() != null) {
+            category.setIsActive(request.getIsActive());
+        }
+        VdfDepositCategory saved = depositCategoryRepository.save(category);
+        publishCategoryChange(VdfReferenceDataChangedEvent.DEPOSIT_CATEGORIES);
+        return convertCategoryToResponse(saved);
+    }
+
+    @Transactional
+    public VdfExpenseCategory createExpenseCategory(VdfCategoryRequest request) {
+        log.info("Creating VDF expense category: {}", request.getCategoryName());
+        referenceDataCache.findExpenseCategoryByName(request.getCategoryName()).ifPresent(existing -> {
+            throw new BusinessException("Expense category already exists: " + existing.categoryName());
+        });
+        VdfExpenseCategory category = new VdfExpenseCategory();
+        category.setCategoryName(request.getCategoryName().trim());
+        category.setCategoryNameBn(request.getCategoryNameBn());
+        category.setDescription(request.getDescription());
+        if (request.getIsActive() != null) {
+            category.setIsActive(request.getIsActive());
+        }
+        VdfExpenseCategory saved = expenseCategoryRepository.save(category);
+        publishCategoryChange(VdfReferenceDataChangedEvent.EXPENSE_CATEGORIES);
+        return saved;
+    }
+
+    @Transactional
+    public VdfExpenseCategory updateExpenseCategory(UUID id, VdfCategoryRequest request) {
+        log.info("Updating VDF expense category: {}", id);
+        VdfExpenseCategory category = expenseCategoryRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Category not found"));
+        referenceDataCache.findExpenseCategoryByName(request.getCategoryName())
+                .filter(existing -> !existing.id().equals(id))
+                .ifPresent(existing -> {
+                    throw new BusinessException("Expense category already exists: " + existing.categoryName());
+                });
+        category.setCategoryName(request.getCategoryName().trim());
+        category.setCategoryNameBn(request.getCategoryNameBn());
+        category.setDescription(request.getDescription());
+        if (request.getIsActive() != null) {
+            category.setIsActive(request.getIsActive());
+        }
+        VdfExpenseCategory saved = expenseCategoryRepository.save(category);
+        publishCategoryChange(VdfReferenceDataChangedEvent.EXPENSE_CATEGORIES);
+        return saved;
+    }
+
+    private void publishCategoryChange(String type) {
+        eventPublisher.publishEvent(new VdfReferenceDataChangedEvent(type));
+        // category names appear in the summary
+        eventPublisher.publishEvent(new VdfDataChangedEvent(type));
+    }
+
     private VdfDepositCategoryResponse convertCategoryToResponse(VdfDepositCategory category) {
         return VdfDepositCategoryResponse.builder()
                 .id(category.getId())
@@ -913,22 +923,28 @@ public class VdfService {
                 .build();
     }
 
+    @Transactional
     public VdfExpenseResponse updateExpense(UUID id, VdfExpenseRequest request) {
         VdfExpense expense = expenseRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Expense not found"));
         expense.setExpenseDate(request.getExpenseDate());
         expense.setAmount(request.getAmount());
-        expense.setCategory(expenseCategoryRepository.findById(request.getCategoryId())
+        expense.setCategory(referenceDataCache.findExpenseCategory(request.getCategoryId())
+                .map(category -> expenseCategoryRepository.getReferenceById(category.id()))
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found")));
         expense.setDescription(request.getDescription());
         expense.setDescriptionBn(request.getDescriptionBn());
         expense.setNotes(request.getNotes());
         expense.setYear(request.getExpenseDate().getYear());
         expense.setMonth(request.getExpenseDate().getMonth().getValue());
-        return convertExpenseToResponse(expenseRepository.save(expense));
+        VdfExpense updated = expenseRepository.save(expense);
+        eventPublisher.publishEvent(new VdfDataChangedEvent("expense"));
+        return convertExpenseToResponse(updated);
     }
 
+    @Transactional
     public void deleteExpense(UUID id) {
         expenseRepository.deleteById(id);
+        eventPublisher.publishEvent(new VdfDataChangedEvent("expense"));
     }
 }
\ No newline at end of file
@@ -0,0 +1,117 @@
+package com.dhuripara.service;
+
+import com.dhuripara.dto.response.VdfSummaryResponse;
+import com.dhuripara.event.VdfDataChangedEvent;
+import com.dhuripara.repository.VdfDepositRepository;
+import com.dhuripara.repository.VdfExpenseRepository;
+import com.dhuripara.repository.VdfFamilyConfigRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serves the VDF summary from an in-memory snapshot.
+ *
+ * The snapshot is built from a handful of aggregate queries (category totals are grouped in the
+ * database) and dropped when a VdfDataChangedEvent commits, so repeated reads do no database work.
+ * Callers always get their own copy, so changes they make never reach the snapshot.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VdfSummaryService {
+
+    private final VdfDepositRepository depositRepository;
+    private final VdfExpenseRepository expenseRepository;
+    private final VdfFamilyConfigRepository familyConfigRepository;
+
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    public VdfSummaryResponse getSummary() {
+        Snapshot s = snapshot;
+        long gen = generation.get();
+        int currentYear = LocalDate.now().getYear();
+        if (s != null && s.generation == gen && s.summary.getCurrentYear() == currentYear) {
+            return copy(s.summary);
+        }
+        VdfSummaryResponse built = buildSummary(currentYear);
+        // Only publish if no write committed while we were loading
+        if (generation.get() == gen) {
+            snapshot = new Snapshot(gen, built);
+        }
+        return copy(built);
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE + 2)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVdfDataChanged(VdfDataChangedEvent event) {
+        log.debug("VDF {} changed, dropping cached summary", event.source());
+        generation.incrementAndGet();
+    }
+
+    private VdfSummaryResponse buildSummary(int currentYear) {
+        VdfSummaryResponse summary = new VdfSummaryResponse();
+        summary.setTotalFamilies(Math.toIntExact(familyConfigRepository.count()));
+        summary.setActiveContributors(Math.toIntExact(familyConfigRepository.countActiveContributors()));
+        summary.setTotalCollected(depositRepository.getTotalDeposits());
+        // Use all-years total for expenses
+        summary.setTotalExpenses(expenseRepository.getTotalAllYears());
+        summary.setCurrentBalance(summary.getTotalCollected().subtract(summary.getTotalExpenses()));
+        summary.setCurrentYear(currentYear);
+
+        // Category-wise deposits and expenses across all years (EN and BN)
+        Map<String, BigDecimal> categoryDeposits = new HashMap<>();
+        Map<String, BigDecimal> categoryDepositsBn = new HashMap<>();
+        addCategoryTotals(depositRepository.getCategoryNameTotals(), categoryDeposits, categoryDepositsBn);
+        summary.setCategoryWiseDeposits(categoryDeposits);
+        summary.setCategoryWiseDepositsBn(categoryDepositsBn);
+
+        Map<String, BigDecimal> categoryExpenses = new HashMap<>();
+        Map<String, BigDecimal> categoryExpensesBn = new HashMap<>();
+        addCategoryTotals(expenseRepository.getCategoryNameTotalsAllYears(), categoryExpenses, categoryExpensesBn);
+        summary.setCategoryWiseExpenses(categoryExpenses);
+        summary.setCategoryWiseExpensesBn(categoryExpensesBn);
+
+        return summary;
+    }
+
+    private static VdfSummaryResponse copy(VdfSummaryResponse source) {
+        VdfSummaryResponse copy = new VdfSummaryResponse();
+        copy.setTotalFamilies(source.getTotalFamilies());
+        copy.setActiveContributors(source.getActiveContributors());
+        copy.setTotalCollected(source.getTotalCollected());
+        copy.setTotalExpenses(source.getTotalExpenses());
+        copy.setCurrentBalance(source.getCurrentBalance());
+        copy.setCurrentYear(source.getCurrentYear());
+        copy.setCategoryWiseDeposits(new HashMap<>(source.getCategoryWiseDeposits()));
+        copy.setCategoryWiseExpenses(new HashMap<>(source.getCategoryWiseExpenses()));
+        copy.setCategoryWiseDepositsBn(new HashMap<>(source.getCategoryWiseDepositsBn()));
+        copy.setCategoryWiseExpensesBn(new HashMap<>(source.getCategoryWiseExpensesBn()));
+        return copy;
+    }
+
+    // Rows are [categoryName, categoryNameBn, total]; the BN map falls back to the EN name
+    private static void addCategoryTotals(List<Object[]> rows, Map<String, BigDecimal> en, Map<String, BigDecimal> bn) {
+        for (Object[] row : rows) {
+            String name = (String) row[0];
+            String nameBn = row[1] != null ? (String) row[1] : name;
+            BigDecimal amount = (BigDecimal) row[2];
+            en.merge(name, amount, BigDecimal::add);
+            bn.merge(nameBn, amount, BigDecimal::add);
+        }
+    }
+
+    private record Snapshot(long generation, VdfSummaryResponse summary) {
+    }
+}
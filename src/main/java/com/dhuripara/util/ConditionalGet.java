@@ -0,0 +1,56 @@
+package com.dhuripara.util;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.util.function.Supplier;
+
+/**
+ * If-None-Match handling that answers 304 before the response body is computed.
+ */
+public class ConditionalGet {
+
+    private ConditionalGet() {}
+
+    public static <T> ResponseEntity<T> respond(String ifNoneMatch, String etag, Supplier<T> body) {
+        return respond(ifNoneMatch, etag, null, body);
+    }
+
+    /**
+     * As above with an explicit content type, for bodies such as StreamingResponseBody that
+     * message converters cannot infer one from.
+     */
+    public static <T> ResponseEntity<T> respond(String ifNoneMatch, String etag, MediaType contentType, Supplier<T> body) {
+        // no-cache: clients may store the response but must revalidate it every time
+        if (matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache()).build();
+        }
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache());
+        if (contentType != null) {
+            ok.contentType(contentType);
+        }
+        return ok.body(body.get());
+    }
+
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            // If-None-Match uses weak comparison
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
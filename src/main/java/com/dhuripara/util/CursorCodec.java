@@ -0,0 +1,60 @@
+package com.dhuripara.util;
+
+import com.dhuripara.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque keyset cursors: the sort key values of the last row, joined and base64url encoded.
+ */
+public class CursorCodec {
+
+    private static final String SEPARATOR = "|";
+
+    private CursorCodec() {}
+
+    public static String encode(Object... keys) {
+        StringBuilder raw = new StringBuilder();
+        for (int i = 0; i < keys.length; i++) {
+            if (i > 0) raw.append(SEPARATOR);
+            raw.append(keys[i]);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Splits a cursor back into its key values, failing with a BusinessException if it is malformed.
+     */
+    public static String[] decode(String cursor, int expectedKeys) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] keys = raw.split("\\" + SEPARATOR, -1);
+            if (keys.length == expectedKeys) {
+                return keys;
+            }
+        } catch (IllegalArgumentException ignored) {
+            // fall through to the error below
+        }
+        throw new BusinessException("Invalid cursor");
+    }
+
+    /**
+     * Decodes a cursor written as {@code encode(date, id)}, the key of the listings ordered by
+     * (date DESC, id DESC).
+     */
+    public static DateKey decodeDateKey(String cursor) {
+        String[] keys = decode(cursor, 2);
+        try {
+            return new DateKey(LocalDate.parse(keys[0]), UUID.fromString(keys[1]));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new BusinessException("Invalid cursor");
+        }
+    }
+
+    public record DateKey(LocalDate date, UUID id) {
+    }
+}
@@ -5,6 +5,8 @@ import com.dhuripara.model.Deposit;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 
 public class DepositMapper {
 
@@ -12,19 +14,50 @@ public class DepositMapper {
     }
 
     public static DepositResponse convertToResponseWithCurrentInterest(Deposit deposit) {
-        DepositResponse response = convertToResponse(deposit);
-
-        if ("ACTIVE".equals(deposit.getStatus())) {
-            BigDecimal currentInterest = InterestCalculator.calculateDepositInterest(
-                    deposit.getAmount(),
-                    deposit.getDepositDate(),
-                    LocalDate.now()
-            );
-            response.setInterestEarned(currentInterest);
-            response.setTotalAmount(deposit.getAmount().add(currentInterest));
+        return convertToResponsesWithCurrentInterest(List.of(deposit)).get(0);
+    }
+
+    /**
+     * Converts a page of deposits, accruing interest on the active ones up to today in one
+     * fixed-point pass.
+     */
+    public static List<DepositResponse> convertToResponsesWithCurrentInterest(List<Deposit> deposits) {
+        int count = deposits.size();
+        LocalDate today = LocalDate.now();
+        int asOf = (int) today.toEpochDay();
+        long[] principal = new long[count];
+        int[] start = new int[count];
+        long[] interest = new long[count];
+        for (int i = 0; i < count; i++) {
+            Deposit deposit = deposits.get(i);
+            boolean accrues = "ACTIVE".equals(deposit.getStatus()) && deposit.getDepositDate() != null;
+            principal[i] = accrues ? InterestEngine.toPaise(deposit.getAmount()) : 0;
+            start[i] = accrues ? (int) deposit.getDepositDate().toEpochDay() : asOf;
         }
+        InterestEngine.accrue(principal, start, count, InterestEngine.DEPOSIT_RATE_BP, asOf, interest);
 
-        return response;
+        List<DepositResponse> responses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Deposit deposit = deposits.get(i);
+            DepositResponse response = convertToResponse(deposit);
+            if ("ACTIVE".equals(deposit.getStatus())) {
+                BigDecimal currentInterest;
+                if (start[i] >= asOf) {
+                    currentInterest = BigDecimal.ZERO;
+                    response.setTotalAmount(deposit.getAmount());
+                } else if (interest[i] != InterestEngine.NOT_REPRESENTABLE) {
+                    currentInterest = InterestEngine.fromPaise(interest[i]);
+                    response.setTotalAmount(InterestEngine.fromPaise(principal[i] + interest[i]));
+                } else {
+                    currentInterest = InterestCalculator.calculateDepositInterest(
+                            deposit.getAmount(), deposit.getDepositDate(), today);
+                    response.setTotalAmount(deposit.getAmount().add(currentInterest));
+                }
+                response.setInterestEarned(currentInterest);
+            }
+            responses.add(response);
+        }
+        return responses;
     }
 
     public static DepositResponse convertToResponse(Deposit deposit) {
@@ -0,0 +1,176 @@
+package com.dhuripara.util;
+
+import com.dhuripara.exception.BusinessException;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Writes a tabular export row by row straight to an output stream, either as CSV or as an
+ * Excel 2003 XML spreadsheet (.xls) that Excel and LibreOffice open directly. Nothing is
+ * buffered beyond the writer's own buffer, so exports of any length use constant memory.
+ * Closing flushes the output but leaves the underlying stream open.
+ */
+public abstract class ExportWriter implements Closeable {
+
+    public enum Format {
+        CSV("text/csv; charset=UTF-8", "csv"),
+        XLS("application/vnd.ms-excel", "xls");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public String fileName(String baseName) {
+            return baseName + "." + extension;
+        }
+
+        public static Format parse(String value) {
+            if (value == null || value.isBlank()) {
+                return CSV;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new BusinessException("Unsupported export format: " + value);
+            }
+        }
+    }
+
+    protected final Writer out;
+
+    private ExportWriter(OutputStream out) {
+        this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+    }
+
+    public static ExportWriter open(Format format, OutputStream out, String sheetName, String... headers)
+            throws IOException {
+        ExportWriter writer = format == Format.XLS ? new Xls(out, sheetName) : new Csv(out);
+        writer.row((Object[]) headers);
+        return writer;
+    }
+
+    /**
+     * Writes one row. Nulls become empty cells, numbers are written as plain numbers and
+     * everything else as text.
+     */
+    public abstract void row(Object... values) throws IOException;
+
+    @Override
+    public void close() throws IOException {
+        out.flush();
+    }
+
+    private static String text(Object value) {
+        if (value == null) return "";
+        if (value instanceof BigDecimal decimal) return decimal.toPlainString();
+        return value.toString();
+    }
+
+    private static final class Csv extends ExportWriter {
+
+        Csv(OutputStream out) throws IOException {
+            super(out);
+            // BOM so Excel reads the file as UTF-8 and shows Bengali names correctly
+            this.out.write('\uFEFF');
+        }
+
+        @Override
+        public void row(Object... values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) out.write(',');
+                writeCell(values[i]);
+            }
+            out.write("\r\n");
+        }
+
+        private void writeCell(Object value) throws IOException {
+            String cell = text(value);
+            // Keep spreadsheet apps from evaluating text cells as formulas; a leading tab or CR is
+            // trimmed by some of them, exposing the formula behind it
+            if (!(value instanceof Number) && !cell.isEmpty() && "=+-@\t\r".indexOf(cell.charAt(0)) >= 0) {
+                cell = "'" + cell;
+            }
+            boolean quote = cell.indexOf(',') >= 0 || cell.indexOf('"') >= 0
+                    || cell.indexOf('\n') >= 0 || cell.indexOf('\r') >= 0;
+            if (!quote) {
+                out.write(cell);
+                return;
+            }
+            out.write('"');
+            out.write(cell.replace("\"", "\"\""));
+            out.write('"');
+        }
+    }
+
+    private static final class Xls extends ExportWriter {
+
+        Xls(OutputStream out, String sheetName) throws IOException {
+            super(out);
+            this.out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+                    "<?mso-application progid=\"Excel.Sheet\"?>\n" +
+                    "<Workbook xmlns=\"urn:schemas-microsoft-com:office:spreadsheet\" " +
+                    "xmlns:ss=\"urn:schemas-microsoft-com:office:spreadsheet\">\n" +
+                    "<Worksheet ss:Name=\"");
+            escape(sheetName);
+            this.out.write("\"><Table>\n");
+        }
+
+        @Override
+        public void row(Object... values) throws IOException {
+            out.write("<Row>");
+            for (Object value : values) {
+                if (value == null) {
+                    out.write("<Cell/>");
+                } else if (value instanceof Number) {
+                    out.write("<Cell><Data ss:Type=\"Number\">");
+                    out.write(text(value));
+                    out.write("</Data></Cell>");
+                } else {
+                    out.write("<Cell><Data ss:Type=\"String\">");
+                    escape(text(value));
+                    out.write("</Data></Cell>");
+                }
+            }
+            out.write("</Row>\n");
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.write("</Table></Worksheet>\n</Workbook>\n");
+            super.close();
+        }
+
+        private void escape(String value) throws IOException {
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '&' -> out.write("&amp;");
+                    case '<' -> out.write("&lt;");
+                    case '>' -> out.write("&gt;");
+                    case '"' -> out.write("&quot;");
+                    case '\n' -> out.write("&#10;");
+                    default -> {
+                        // Control characters other than tab are not allowed in XML 1.0
+                        if (c >= 0x20 || c == '\t') out.write(c);
+                    }
+                }
+            }
+        }
+    }
+}
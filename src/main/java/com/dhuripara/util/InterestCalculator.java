@@ -18,26 +18,7 @@ public class InterestCalculator {
      * Formula: (Principal × Rate × Months) / 100
      */
     public static BigDecimal calculateDepositInterest(BigDecimal principal, LocalDate startDate, LocalDate endDate) {
-        if (principal == null || startDate == null || endDate == null) {
-            return BigDecimal.ZERO;
-        }
-
-        long days = ChronoUnit.DAYS.between(startDate, endDate);
-        if (days <= 0) {
-            return BigDecimal.ZERO;
-        }
-
-        // Calculate months: 1-30 days = 1 month, 31-60 = 2 months, etc.
-        int months = (int) Math.ceil(days / 30.0);
-        BigDecimal monthsBd = new BigDecimal(months);
-
-        // (P × R × M) / 100
-        BigDecimal interest = principal
-                .multiply(DEPOSIT_MONTHLY_RATE)
-                .multiply(monthsBd)
-                .divide(HUNDRED, 2, RoundingMode.HALF_UP);
-
-        return interest;
+        return calculateInterest(principal, startDate, endDate, InterestEngine.DEPOSIT_RATE_BP, DEPOSIT_MONTHLY_RATE);
     }
 
     /**
@@ -46,6 +27,11 @@ public class InterestCalculator {
      * Formula: (Principal × Rate × Months) / 100
      */
     public static BigDecimal calculateLoanInterest(BigDecimal principal, LocalDate startDate, LocalDate endDate) {
+        return calculateInterest(principal, startDate, endDate, InterestEngine.LOAN_RATE_BP, LOAN_MONTHLY_RATE);
+    }
+
+    private static BigDecimal calculateInterest(BigDecimal principal, LocalDate startDate, LocalDate endDate,
+                                                int rateBp, BigDecimal monthlyRate) {
         if (principal == null || startDate == null || endDate == null) {
             return BigDecimal.ZERO;
         }
@@ -55,17 +41,17 @@ public class InterestCalculator {
             return BigDecimal.ZERO;
         }
 
-        // Calculate months: 1-30 days = 1 month, 31-60 = 2 months, etc.
-        int months = (int) Math.ceil(days / 30.0);
-        BigDecimal monthsBd = new BigDecimal(months);
+        long interest = InterestEngine.interest(InterestEngine.toPaise(principal), rateBp,
+                (int) startDate.toEpochDay(), (int) endDate.toEpochDay());
+        if (interest != InterestEngine.NOT_REPRESENTABLE) {
+            return InterestEngine.fromPaise(interest);
+        }
 
-        // (P × R × M) / 100
-        BigDecimal interest = principal
-                .multiply(LOAN_MONTHLY_RATE)
-                .multiply(monthsBd)
+        // Fractional paise or beyond long range: (P × R × M) / 100 in BigDecimal
+        return principal
+                .multiply(monthlyRate)
+                .multiply(BigDecimal.valueOf(InterestEngine.months(days)))
                 .divide(HUNDRED, 2, RoundingMode.HALF_UP);
-
-        return interest;
     }
 
     /**
@@ -0,0 +1,90 @@
+package com.dhuripara.util;
+
+import java.math.BigDecimal;
+
+/**
+ * Fixed-point flat-rate interest: amounts in paise (long), dates as epoch days (int) and monthly
+ * rates in basis points. Any started 30-day block counts as a full month, and results are rounded
+ * HALF_UP to the paisa, so for amounts with at most two decimals the result equals
+ * {@code principal × rate% × months / 100} rounded to two places.
+ *
+ * Nothing here allocates apart from the result arrays the caller passes in. A result that does not
+ * fit in a long comes back as {@link #NOT_REPRESENTABLE}; callers then use the BigDecimal path
+ * in InterestCalculator.
+ */
+public final class InterestEngine {
+
+    public static final int DEPOSIT_RATE_BP = 250;  // 2.5% per month
+    public static final int LOAN_RATE_BP = 500;     // 5% per month
+
+    /** Marks an amount or result that is not representable as whole paise in a long. */
+    public static final long NOT_REPRESENTABLE = Long.MIN_VALUE;
+
+    private static final long BP_DIVISOR = 10_000;
+
+    private InterestEngine() {
+    }
+
+    /**
+     * 1-30 days = 1 month, 31-60 days = 2 months, etc. Zero for non-positive spans.
+     */
+    public static long months(long days) {
+        return days <= 0 ? 0 : (days + 29) / 30;
+    }
+
+    /**
+     * Interest in paise on {@code principalPaise} from {@code startEpochDay} to {@code endEpochDay}.
+     */
+    public static long interest(long principalPaise, int rateBp, int startEpochDay, int endEpochDay) {
+        if (principalPaise == NOT_REPRESENTABLE) {
+            return NOT_REPRESENTABLE;
+        }
+        long months = months((long) endEpochDay - startEpochDay);
+        if (months == 0) {
+            return 0;
+        }
+        // principal × bp × months / 10000, rounded half away from zero; overflow is checked by hand
+        // to stay branch-cheap on the hot path
+        long scaled = principalPaise * rateBp;
+        if (scaled / rateBp != principalPaise) {
+            return NOT_REPRESENTABLE;
+        }
+        long numerator = scaled * months;
+        if (numerator / months != scaled || numerator == Long.MIN_VALUE) {
+            return NOT_REPRESENTABLE;
+        }
+        long magnitude = Math.abs(numerator);
+        long rounded = magnitude / BP_DIVISOR + (magnitude % BP_DIVISOR >= BP_DIVISOR / 2 ? 1 : 0);
+        return numerator < 0 ? -rounded : rounded;
+    }
+
+    /**
+     * Evaluates {@code count} rows against one as-of day, writing interest in paise to {@code out}.
+     * Rows whose principal is {@link #NOT_REPRESENTABLE} or whose result overflows get that marker.
+     */
+    public static void accrue(long[] principalPaise, int[] startEpochDays, int count, int rateBp, int asOfEpochDay,
+                              long[] out) {
+        for (int i = 0; i < count; i++) {
+            out[i] = interest(principalPaise[i], rateBp, startEpochDays[i], asOfEpochDay);
+        }
+    }
+
+    /**
+     * Whole paise in {@code amount}; zero for null and {@link #NOT_REPRESENTABLE} if the amount has
+     * fractional paise or does not fit in a long.
+     */
+    public static long toPaise(BigDecimal amount) {
+        if (amount == null) {
+            return 0;
+        }
+        try {
+            return amount.movePointRight(2).longValueExact();
+        } catch (ArithmeticException e) {
+            return NOT_REPRESENTABLE;
+        }
+    }
+
+    public static BigDecimal fromPaise(long paise) {
+        return BigDecimal.valueOf(paise, 2);
+    }
+}
@@ -1,50 +1,87 @@
 package com.dhuripara.util;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.UUID;
 
+/**
+ * Issues and verifies the application's HS256 tokens. The signing key and parser are built once
+ * and shared; both are immutable and safe to use from any thread.
+ *
+ * Each token is parsed and its signature checked at most once per cache lifetime: tokens that
+ * verified recently are remembered by their SHA-256 digest, so repeat requests with the same
+ * token skip the HMAC and JSON work and only have their expiration re-checked.
+ */
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String secret;
+    public static final String ROLE_CLAIM = "role";
+    public static final String EPOCH_CLAIM = "epoch";
 
-    @Value("${jwt.expiration}")
-    private Long expiration;
+    private final Key signingKey;
+    private final JwtParser parser;
+    private final TtlLruCache<String, VerifiedClaims> verified;
+    private final Clock clock;
 
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+    @Autowired
+    public JwtUtil(@Value("${jwt.secret}") String secret,
+                   @Value("${jwt.verified-cache.max-entries:10000}") int maxEntries,
+                   @Value("${jwt.verified-cache.ttl-seconds:300}") long ttlSeconds) {
+        this(secret, maxEntries, ttlSeconds, Clock.systemUTC());
     }
 
-    public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    // Issue and expiry times, including the parser's own exp check, all come from the clock
+    JwtUtil(String secret, int maxEntries, long ttlSeconds, Clock clock) {
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).setClock(() -> Date.from(clock.instant())).build();
+        this.verified = new TtlLruCache<>(maxEntries, ttlSeconds * 1000);
+        this.clock = clock;
     }
 
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
-    }
-
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    /**
+     * Verifies the token's signature and expiration and returns its claims, or null if the token
+     * is malformed, tampered with, expired or has no subject.
+     */
+    public VerifiedClaims verify(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        Instant now = clock.instant();
+        VerifiedClaims claims = verified.get(digest(token), key -> parse(token));
+        return claims == null || claims.isExpired(now) ? null : claims;
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private VerifiedClaims parse(String token) {
+        try {
+            Claims body = parser.parseClaimsJws(token).getBody();
+            if (body.getSubject() == null) {
+                return null;
+            }
+            Object epoch = body.get(EPOCH_CLAIM);
+            return new VerifiedClaims(body.getSubject(), toInstant(body.getIssuedAt()), toInstant(body.getExpiration()),
+                    body.get(ROLE_CLAIM, String.class), epoch instanceof Number n ? n.longValue() : null);
+        } catch (JwtException | IllegalArgumentException e) {
+            // Invalid token
+            return null;
+        }
     }
 
     public String generateToken(String username) {
@@ -52,51 +89,51 @@ public class JwtUtil {
         return createToken(claims, username);
     }
 
+    /**
+     * A member token carrying the member's role and security epoch, so requests can be authorised
+     * without reading the member.
+     */
+    public String generateMemberToken(UUID memberId, String role, long securityEpoch) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(ROLE_CLAIM, role != null ? role : "MEMBER");
+        claims.put(EPOCH_CLAIM, securityEpoch);
+        return createToken(claims, "MEMBER_" + memberId);
+    }
+
     private String createToken(Map<String, Object> claims, String subject) {
         // Create token without expiration (never expires)
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(subject)
-                .setIssuedAt(new Date(System.currentTimeMillis()))
+                .setIssuedAt(Date.from(clock.instant()))
                 // No expiration - token never expires until manually invalidated
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
-    
+
     // Overloaded method to create token with expiration if needed
     public String generateTokenWithExpiration(String username, Long expirationMs) {
         Map<String, Object> claims = new HashMap<>();
+        Instant now = clock.instant();
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(username)
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + expirationMs))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .setIssuedAt(Date.from(now))
+                .setExpiration(Date.from(now.plusMillis(expirationMs)))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public Boolean validateToken(String token, String username) {
-        try {
-            final String extractedUsername = extractUsername(token);
-            // Check if token has expiration
-            try {
-                Date expiration = extractExpiration(token);
-                if (expiration != null) {
-                    return (extractedUsername.equals(username) && !isTokenExpired(token));
-                }
-            } catch (Exception e) {
-                // Token has no expiration claim (never expires) - this is expected for our non-expiring tokens
-            }
-            // Token without expiration - just validate username
-            return extractedUsername.equals(username);
-        } catch (Exception e) {
-            // Invalid token
-            return false;
-        }
+    private static Instant toInstant(Date date) {
+        return date == null ? null : date.toInstant();
     }
 
-    private Key getSigningKey() {
-        byte[] keyBytes = secret.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 }
@@ -7,6 +7,8 @@ import com.dhuripara.model.LoanPayment;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 
 public class LoanMapper {
 
@@ -33,26 +35,60 @@ public class LoanMapper {
     }
 
     public static LoanResponse convertToResponseWithCurrentInterest(Loan loan) {
-        LoanResponse response = convertToResponse(loan);
-        response.setInterestRate(loan.getInterestRate());
-        response.setNotes(loan.getNotes());
+        return convertToResponsesWithCurrentInterest(List.of(loan)).get(0);
+    }
 
-        if ("ACTIVE".equals(loan.getStatus())) {
-            BigDecimal currentInterest = InterestCalculator.calculateLoanInterest(
-                    loan.getLoanAmount(),
-                    loan.getLoanDate(),
-                    LocalDate.now()
-            );
-            response.setCurrentInterest(currentInterest);
+    /**
+     * Converts a page of loans, accruing interest on the active ones up to today in one
+     * fixed-point pass.
+     */
+    public static List<LoanResponse> convertToResponsesWithCurrentInterest(List<Loan> loans) {
+        int count = loans.size();
+        LocalDate today = LocalDate.now();
+        int asOf = (int) today.toEpochDay();
+        long[] principal = new long[count];
+        int[] start = new int[count];
+        long[] interest = new long[count];
+        for (int i = 0; i < count; i++) {
+            Loan loan = loans.get(i);
+            boolean accrues = "ACTIVE".equals(loan.getStatus()) && loan.getLoanDate() != null;
+            principal[i] = accrues ? InterestEngine.toPaise(loan.getLoanAmount()) : 0;
+            start[i] = accrues ? (int) loan.getLoanDate().toEpochDay() : asOf;
+        }
+        InterestEngine.accrue(principal, start, count, InterestEngine.LOAN_RATE_BP, asOf, interest);
 
-            BigDecimal currentTotal = loan.getLoanAmount().add(currentInterest);
-            response.setCurrentTotal(currentTotal);
+        List<LoanResponse> responses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Loan loan = loans.get(i);
+            LoanResponse response = convertToResponse(loan);
+            response.setInterestRate(loan.getInterestRate());
+            response.setNotes(loan.getNotes());
 
-            BigDecimal totalPaidWithDiscount = loan.getPaidAmount().add(loan.getDiscountAmount());
-            response.setCurrentRemaining(currentTotal.subtract(totalPaidWithDiscount));
-        }
+            if ("ACTIVE".equals(loan.getStatus())) {
+                long paidPaise = InterestEngine.toPaise(loan.getPaidAmount());
+                long discountPaise = InterestEngine.toPaise(loan.getDiscountAmount());
+                if (start[i] < asOf && interest[i] != InterestEngine.NOT_REPRESENTABLE
+                        && paidPaise != InterestEngine.NOT_REPRESENTABLE
+                        && discountPaise != InterestEngine.NOT_REPRESENTABLE) {
+                    long totalPaise = principal[i] + interest[i];
+                    response.setCurrentInterest(InterestEngine.fromPaise(interest[i]));
+                    response.setCurrentTotal(InterestEngine.fromPaise(totalPaise));
+                    response.setCurrentRemaining(InterestEngine.fromPaise(totalPaise - paidPaise - discountPaise));
+                } else {
+                    BigDecimal currentInterest = InterestCalculator.calculateLoanInterest(
+                            loan.getLoanAmount(), loan.getLoanDate(), today);
+                    response.setCurrentInterest(currentInterest);
 
-        return response;
+                    BigDecimal currentTotal = loan.getLoanAmount().add(currentInterest);
+                    response.setCurrentTotal(currentTotal);
+
+                    BigDecimal totalPaidWithDiscount = loan.getPaidAmount().add(loan.getDiscountAmount());
+                    response.setCurrentRemaining(currentTotal.subtract(totalPaidWithDiscount));
+                }
+            }
+            responses.add(response);
+        }
+        return responses;
     }
 
     public static LoanPaymentResponse convertPaymentToResponse(LoanPayment payment, Loan loan) {
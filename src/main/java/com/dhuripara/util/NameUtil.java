@@ -8,14 +8,15 @@ public class NameUtil {
 
     public static String buildMemberName(Member member) {
         if (member == null) return "";
-        String bnFirst = member.getFirstNameBn();
-        String bnLast = member.getLastNameBn();
+        return buildMemberName(member.getFirstName(), member.getLastName(),
+                member.getFirstNameBn(), member.getLastNameBn());
+    }
+
+    public static String buildMemberName(String first, String last, String bnFirst, String bnLast) {
         if (bnFirst != null && !bnFirst.isBlank()) {
             String full = (bnFirst + " " + (bnLast != null ? bnLast : "")).trim();
             if (!full.isEmpty()) return full;
         }
-        String first = member.getFirstName();
-        String last = member.getLastName();
         String full = ((first != null ? first : "") + " " + (last != null ? last : "")).trim();
         if (!full.isEmpty()) return full;
         return "";
@@ -0,0 +1,98 @@
+package com.dhuripara.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Small thread-safe in-process cache: at most {@code maxEntries} values, least recently used
+ * evicted first, each value dropped {@code ttlMillis} after it was loaded.
+ *
+ * Every invalidation bumps a generation counter. A load that was running while an entry was
+ * invalidated still returns its value to the caller but does not store it, so an invalidation
+ * can never be undone by a concurrent load of the old state. Null values are not cached.
+ */
+public class TtlLruCache<K, V> {
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private long generation;
+
+    public TtlLruCache(int maxEntries, long ttlMillis) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > TtlLruCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * The live value for the key, or null if absent or expired.
+     */
+    public synchronized V getIfPresent(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (System.nanoTime() - entry.loadedAt() >= ttlNanos) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.value();
+    }
+
+    /**
+     * The live value for the key, loading it outside the lock on a miss.
+     */
+    public V get(K key, Function<K, V> loader) {
+        V value = getIfPresent(key);
+        if (value != null) {
+            return value;
+        }
+        long gen;
+        synchronized (this) {
+            gen = generation;
+        }
+        value = loader.apply(key);
+        if (value != null) {
+            synchronized (this) {
+                if (generation == gen) {
+                    entries.put(key, new Entry<>(value, System.nanoTime()));
+                }
+            }
+        }
+        return value;
+    }
+
+    public synchronized void invalidate(K key) {
+        generation++;
+        entries.remove(key);
+    }
+
+    public synchronized void invalidateIf(Predicate<V> predicate) {
+        generation++;
+        for (Iterator<Entry<V>> it = entries.values().iterator(); it.hasNext(); ) {
+            if (predicate.test(it.next().value())) {
+                it.remove();
+            }
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private record Entry<V>(V value, long loadedAt) {
+    }
+}
@@ -0,0 +1,14 @@
+package com.dhuripara.util;
+
+import java.time.Instant;
+
+/**
+ * The claims of a JWT whose signature has been checked. Expiration is null for the
+ * application's non-expiring tokens; role and epoch are only set on member tokens.
+ */
+public record VerifiedClaims(String subject, Instant issuedAt, Instant expiration, String role, Long epoch) {
+
+    public boolean isExpired(Instant now) {
+        return expiration != null && !now.isBefore(expiration);
+    }
+}
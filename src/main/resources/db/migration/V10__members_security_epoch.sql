@@ -0,0 +1,3 @@
+-- Revocation counter for member tokens. Tokens carry the value current at login and are
+-- rejected once it has been raised (role change, deactivation or block).
+ALTER TABLE members ADD COLUMN IF NOT EXISTS security_epoch BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,6 @@
+-- Partial indexes for the session sweeper and the admin session list. Active sessions are read
+-- newest first and swept oldest first by last_activity; inactive sessions are deleted by age.
+CREATE INDEX IF NOT EXISTS idx_user_sessions_active_last_activity
+    ON user_sessions (last_activity) WHERE is_active = true;
+CREATE INDEX IF NOT EXISTS idx_user_sessions_inactive_last_activity
+    ON user_sessions (last_activity) WHERE is_active = false;
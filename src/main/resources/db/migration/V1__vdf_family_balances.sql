@@ -0,0 +1,12 @@
+-- Per-family running VDF balance, maintained by VdfBalanceService.
+-- Rows are built lazily on first read; POST /api/admin/vdf/balances/rebuild fills them all at once.
+CREATE TABLE IF NOT EXISTS vdf_family_balances (
+    id               UUID PRIMARY KEY,
+    family_id        UUID          NOT NULL UNIQUE REFERENCES vdf_family_config (id) ON DELETE CASCADE,
+    paid_to_date     NUMERIC(12, 2) NOT NULL DEFAULT 0,
+    required_to_date NUMERIC(12, 2) NOT NULL DEFAULT 0,
+    exempt_months    INTEGER       NOT NULL DEFAULT 0,
+    last_paid_month  VARCHAR(7),
+    as_of_month      VARCHAR(7)    NOT NULL,
+    updated_at       TIMESTAMP
+);
@@ -0,0 +1,3 @@
+-- Backs the keyset-paginated member contribution history (newest month first).
+CREATE INDEX IF NOT EXISTS idx_vdf_contributions_family_year_month
+    ON vdf_contributions (family_id, year DESC, month DESC);
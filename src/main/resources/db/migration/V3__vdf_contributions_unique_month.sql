@@ -0,0 +1,35 @@
+-- One contribution per family per month. The collection-day batch upsert relies on this
+-- constraint (ON CONFLICT (family_id, year, month)) so concurrent operators cannot create duplicates.
+
+-- Existing duplicates are money records and must be reconciled by hand; stop and list them
+-- rather than picking a survivor. Find them with:
+--   SELECT family_id, year, month, COUNT(*), SUM(amount)
+--   FROM vdf_contributions GROUP BY family_id, year, month HAVING COUNT(*) > 1;
+DO $$
+DECLARE
+    duplicates TEXT;
+BEGIN
+    SELECT string_agg(format('%s %s-%s (%s rows)', family_id, year, lpad(month::text, 2, '0'), n), E'\n')
+    INTO duplicates
+    FROM (SELECT family_id, year, month, COUNT(*) AS n
+          FROM vdf_contributions
+          GROUP BY family_id, year, month
+          HAVING COUNT(*) > 1
+          ORDER BY family_id, year, month) d;
+
+    IF duplicates IS NOT NULL THEN
+        RAISE EXCEPTION 'vdf_contributions has duplicate family months; reconcile them and re-run:%', E'\n' || duplicates;
+    END IF;
+END $$;
+
+-- Databases where this script was applied by hand already have the constraint
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'uk_vdf_contributions_family_year_month') THEN
+        ALTER TABLE vdf_contributions
+            ADD CONSTRAINT uk_vdf_contributions_family_year_month UNIQUE (family_id, year, month);
+    END IF;
+END $$;
+
+-- The unique index serves the descending history scan as well
+DROP INDEX IF EXISTS idx_vdf_contributions_family_year_month;
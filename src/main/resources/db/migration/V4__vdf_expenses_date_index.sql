@@ -0,0 +1,3 @@
+-- Backs the date-range / keyset expense queries (newest first).
+CREATE INDEX IF NOT EXISTS idx_vdf_expenses_date_id
+    ON vdf_expenses (expense_date DESC, id DESC);
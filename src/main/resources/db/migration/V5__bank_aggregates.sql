@@ -0,0 +1,42 @@
+-- Running totals behind /api/public/summary, maintained by BankAggregateService.
+-- The insert seeds the row from the current tables; POST /api/admin/reports/aggregates/rebuild
+-- recomputes it at any time and GET /api/admin/reports/aggregates/verify checks for drift.
+CREATE TABLE IF NOT EXISTS bank_aggregates (
+    id                         INTEGER PRIMARY KEY CHECK (id = 1),
+    deposits_collected         NUMERIC(14, 2) NOT NULL DEFAULT 0,
+    deposit_principal_returned NUMERIC(14, 2) NOT NULL DEFAULT 0,
+    deposit_interest_paid      NUMERIC(14, 2) NOT NULL DEFAULT 0,
+    loans_disbursed            NUMERIC(14, 2) NOT NULL DEFAULT 0,
+    loan_repayments_received   NUMERIC(14, 2) NOT NULL DEFAULT 0,
+    closed_loan_repayment      NUMERIC(14, 2) NOT NULL DEFAULT 0,
+    loan_interest_received     NUMERIC(14, 2) NOT NULL DEFAULT 0,
+    active_deposits_count      BIGINT         NOT NULL DEFAULT 0,
+    active_deposits_amount     NUMERIC(14, 2) NOT NULL DEFAULT 0,
+    active_loans_count         BIGINT         NOT NULL DEFAULT 0,
+    active_loans_amount        NUMERIC(14, 2) NOT NULL DEFAULT 0,
+    updated_at                 TIMESTAMP
+);
+
+INSERT INTO bank_aggregates (id, deposits_collected, deposit_principal_returned, deposit_interest_paid,
+                             loans_disbursed, loan_repayments_received, closed_loan_repayment,
+                             loan_interest_received, active_deposits_count, active_deposits_amount,
+                             active_loans_count, active_loans_amount, updated_at)
+SELECT 1,
+       d.collected, d.returned, d.interest_paid,
+       l.disbursed, l.repaid, l.closed_repayment, l.interest_received,
+       d.active_count, d.active_amount, l.active_count, l.active_amount,
+       NOW()
+FROM (SELECT COALESCE(SUM(amount), 0)                                                          AS collected,
+             COALESCE(SUM(amount) FILTER (WHERE status IN ('RETURNED', 'SETTLED')), 0)          AS returned,
+             COALESCE(SUM(interest_earned) FILTER (WHERE status IN ('RETURNED', 'SETTLED')), 0) AS interest_paid,
+             COUNT(*) FILTER (WHERE status = 'ACTIVE')                                         AS active_count,
+             COALESCE(SUM(amount) FILTER (WHERE status = 'ACTIVE'), 0)                         AS active_amount
+      FROM deposits) d,
+     (SELECT COALESCE(SUM(loan_amount), 0)                                                     AS disbursed,
+             COALESCE(SUM(paid_amount), 0)                                                     AS repaid,
+             COALESCE(SUM(total_repayment) FILTER (WHERE status = 'CLOSED'), 0)                AS closed_repayment,
+             COALESCE(SUM(interest_amount) FILTER (WHERE status IN ('CLOSED', 'SETTLED')), 0)  AS interest_received,
+             COUNT(*) FILTER (WHERE status = 'ACTIVE')                                         AS active_count,
+             COALESCE(SUM(loan_amount) FILTER (WHERE status = 'ACTIVE'), 0)                    AS active_amount
+      FROM loans) l
+ON CONFLICT (id) DO NOTHING;
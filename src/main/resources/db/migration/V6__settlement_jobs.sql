@@ -0,0 +1,34 @@
+-- Persisted financial-year settlement runs, maintained by SettlementJobService.
+-- Each committed chunk advances the counters, so an interrupted job resumes where it stopped.
+CREATE TABLE IF NOT EXISTS settlement_jobs (
+    id                  UUID PRIMARY KEY,
+    financial_year      VARCHAR(10)    NOT NULL,
+    next_financial_year VARCHAR(10)    NOT NULL,
+    settlement_date     DATE           NOT NULL,
+    status              VARCHAR(20)    NOT NULL,
+    phase               VARCHAR(20),
+    chunk_size          INTEGER        NOT NULL,
+    total_deposits      INTEGER        NOT NULL DEFAULT 0,
+    deposits_processed  INTEGER        NOT NULL DEFAULT 0,
+    total_loans         INTEGER        NOT NULL DEFAULT 0,
+    loans_processed     INTEGER        NOT NULL DEFAULT 0,
+    deposit_principal   NUMERIC(15, 2) NOT NULL DEFAULT 0,
+    deposit_interest    NUMERIC(15, 2) NOT NULL DEFAULT 0,
+    loan_principal      NUMERIC(15, 2) NOT NULL DEFAULT 0,
+    loan_interest       NUMERIC(15, 2) NOT NULL DEFAULT 0,
+    error_message       TEXT,
+    created_by          VARCHAR(100),
+    created_at          TIMESTAMP,
+    started_at          TIMESTAMP,
+    updated_at          TIMESTAMP,
+    completed_at        TIMESTAMP
+);
+
+-- At most one job may be pending or running at a time
+CREATE UNIQUE INDEX IF NOT EXISTS uq_settlement_jobs_in_flight
+    ON settlement_jobs ((status IN ('PENDING', 'RUNNING')))
+    WHERE status IN ('PENDING', 'RUNNING');
+
+-- Settlement walks each year's active rows in id order
+CREATE INDEX IF NOT EXISTS idx_deposits_status_fy_id ON deposits (status, financial_year, id);
+CREATE INDEX IF NOT EXISTS idx_loans_status_fy_id ON loans (status, financial_year, id);
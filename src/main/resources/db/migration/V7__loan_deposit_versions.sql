@@ -0,0 +1,4 @@
+-- Optimistic-lock version columns for Loan and Deposit (@Version).
+-- Payment, closure and return writes re-read and retry when another writer bumped the version first.
+ALTER TABLE loans ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE deposits ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
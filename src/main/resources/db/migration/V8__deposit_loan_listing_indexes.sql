@@ -0,0 +1,6 @@
+-- Keyset listing indexes for the admin deposit and loan pages, ordered (date DESC, id DESC)
+-- per status and across all statuses, so each page is one index range scan.
+CREATE INDEX IF NOT EXISTS idx_deposits_status_date_id ON deposits (status, deposit_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_deposits_date_id ON deposits (deposit_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_loans_status_date_id ON loans (status, loan_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_loans_date_id ON loans (loan_date DESC, id DESC);
@@ -0,0 +1,10 @@
+-- Precomputed public display name for members, e.g. "Ratan Das" -> "R**** D**".
+-- Member keeps it current on insert/update; this backfills existing rows with the same rule
+-- as NameMaskingUtil (first letter kept, the rest starred, "*****" for an empty part).
+ALTER TABLE members ADD COLUMN IF NOT EXISTS masked_name VARCHAR(255);
+
+UPDATE members SET masked_name =
+    (CASE WHEN first_name = '' THEN '*****' ELSE left(first_name, 1) || repeat('*', length(first_name) - 1) END)
+    || ' ' ||
+    (CASE WHEN last_name = '' THEN '*****' ELSE left(last_name, 1) || repeat('*', length(last_name) - 1) END)
+WHERE masked_name IS NULL;
@@ -0,0 +1,37 @@
+package com.dhuripara.exception;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    @Test
+    public void handleDataIntegrityViolation_answersConflictWithoutTheSqlError() {
+        SQLException cause = new SQLException("ERROR: duplicate key value violates unique constraint "
+                + "\"uk_vdf_contributions_family_year_month\" Detail: Key (family_id, year, month)=(...) already exists.");
+
+        ResponseEntity<ErrorResponse> response = handler.handleDataIntegrityViolation(
+                new DataIntegrityViolationException("could not execute statement", cause));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(response.getBody().getMessage()).isEqualTo("Contribution already recorded for this month");
+    }
+
+    @Test
+    public void handleDataIntegrityViolation_keepsOtherConstraintsGeneric() {
+        ResponseEntity<ErrorResponse> response = handler.handleDataIntegrityViolation(
+                new DataIntegrityViolationException("could not execute statement",
+                        new SQLException("ERROR: duplicate key value violates unique constraint \"members_phone_key\"")));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(response.getBody().getMessage()).doesNotContain("members_phone_key");
+    }
+}
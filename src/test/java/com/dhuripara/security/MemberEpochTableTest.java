@@ -0,0 +1,58 @@
+package com.dhuripara.security;
+
+import com.dhuripara.model.Member;
+import com.dhuripara.repository.MemberRepository;
+import com.dhuripara.util.VerifiedClaims;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public class MemberEpochTableTest {
+
+    private final MemberRepository memberRepository = mock(MemberRepository.class);
+    private final MemberEpochTable table = new MemberEpochTable(memberRepository);
+
+    @Test
+    public void accepts_loadsEachMemberOnce() {
+        UUID memberId = UUID.randomUUID();
+        when(memberRepository.findSecurityEpochById(memberId)).thenReturn(Optional.of(2L));
+
+        assertThat(table.accepts(claims(memberId, 2L))).isTrue();
+        assertThat(table.accepts(claims(memberId, 1L))).isFalse();
+        verify(memberRepository, times(1)).findSecurityEpochById(memberId);
+    }
+
+    @Test
+    public void advance_revokesEarlierTokens() {
+        UUID memberId = UUID.randomUUID();
+        when(memberRepository.findSecurityEpochById(memberId)).thenReturn(Optional.of(0L));
+        Member member = new Member();
+        member.setId(memberId);
+        member.setSecurityEpoch(0L);
+        assertThat(table.accepts(claims(memberId, 0L))).isTrue();
+
+        table.advance(member);
+
+        assertThat(member.getSecurityEpoch()).isEqualTo(1L);
+        assertThat(table.accepts(claims(memberId, 0L))).isFalse();
+        assertThat(table.accepts(claims(memberId, 1L))).isTrue();
+    }
+
+    @Test
+    public void accepts_skipsTokensWithoutEpochAndRejectsUnknownMembers() {
+        UUID memberId = UUID.randomUUID();
+        when(memberRepository.findSecurityEpochById(memberId)).thenReturn(Optional.empty());
+
+        assertThat(table.accepts(new VerifiedClaims("admin", null, null, null, null))).isTrue();
+        assertThat(table.accepts(claims(memberId, 0L))).isFalse();
+        assertThat(table.accepts(new VerifiedClaims("admin", null, null, "ADMIN", 0L))).isFalse();
+    }
+
+    private static VerifiedClaims claims(UUID memberId, long epoch) {
+        return new VerifiedClaims("MEMBER_" + memberId, null, null, "MEMBER", epoch);
+    }
+}
@@ -0,0 +1,223 @@
+package com.dhuripara.service;
+
+import com.dhuripara.dto.response.BankAggregateCheckResponse;
+import com.dhuripara.model.BankAggregate;
+import com.dhuripara.model.Deposit;
+import com.dhuripara.model.Loan;
+import com.dhuripara.repository.BankAggregateRepository;
+import com.dhuripara.repository.DepositRepository;
+import com.dhuripara.repository.LoanRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Applies each deposit and loan transition the way the writing services do, against in-memory
+ * deposit, loan and bank_aggregates tables, and checks the stored totals match a fresh aggregation.
+ */
+public class BankAggregateServiceTest {
+
+    private final List<Deposit> deposits = new ArrayList<>();
+    private final List<Loan> loans = new ArrayList<>();
+    private BankAggregate stored;
+
+    private final BankAggregateRepository aggregateRepository = mock(BankAggregateRepository.class);
+    private final DepositRepository depositRepository = mock(DepositRepository.class);
+    private final LoanRepository loanRepository = mock(LoanRepository.class);
+
+    private final BankAggregateService service = new BankAggregateService(aggregateRepository, depositRepository,
+            loanRepository, mock(ApplicationEventPublisher.class));
+
+    @BeforeEach
+    public void setUp() {
+        fakeAggregateTable();
+        when(depositRepository.getTotalsByStatus()).thenAnswer(inv -> depositTotals());
+        when(loanRepository.getTotalsByStatus()).thenAnswer(inv -> loanTotals());
+
+        deposits.add(deposit("ACTIVE", "1000"));
+        loans.add(loan("ACTIVE", "500"));
+        service.getAggregate();
+    }
+
+    @Test
+    public void record_depositCreateUpdateAndReturnMatchCompute() {
+        Deposit deposit = deposit("ACTIVE", "2000");
+        deposits.add(deposit);
+        service.record(BankAggregateDelta.ZERO, deposit);
+        assertConsistent();
+
+        BankAggregateDelta before = BankAggregateDelta.of(deposit);
+        deposit.setAmount(new BigDecimal("2500"));
+        service.record(before, deposit);
+        assertConsistent();
+
+        before = BankAggregateDelta.of(deposit);
+        deposit.setInterestEarned(new BigDecimal("62.50"));
+        deposit.setTotalAmount(new BigDecimal("2562.50"));
+        deposit.setStatus("RETURNED");
+        service.record(before, deposit);
+        assertConsistent();
+        assertThat(stored.getActiveDepositsCount()).isEqualTo(1L);
+        assertThat(stored.getDepositInterestPaid()).isEqualByComparingTo("62.50");
+    }
+
+    @Test
+    public void record_loanPaymentsAndClosureMatchCompute() {
+        Loan loan = loan("ACTIVE", "1000");
+        loans.add(loan);
+        service.record(BankAggregateDelta.ZERO, loan);
+        assertConsistent();
+
+        // Partial payment
+        BankAggregateDelta before = BankAggregateDelta.of(loan);
+        loan.setPaidAmount(new BigDecimal("400"));
+        service.record(before, loan);
+        assertConsistent();
+
+        // Payment that settles the rest closes the loan
+        before = BankAggregateDelta.of(loan);
+        loan.setPaidAmount(new BigDecimal("1050"));
+        loan.setStatus("CLOSED");
+        loan.setInterestAmount(new BigDecimal("50"));
+        loan.setTotalRepayment(new BigDecimal("1050"));
+        service.record(before, loan);
+        assertConsistent();
+
+        // Explicit closure of the other loan without a final payment
+        Loan other = loans.get(0);
+        before = BankAggregateDelta.of(other);
+        other.setStatus("CLOSED");
+        other.setInterestAmount(new BigDecimal("20"));
+        other.setTotalRepayment(new BigDecimal("520"));
+        service.record(before, other);
+        assertConsistent();
+        assertThat(stored.getActiveLoansCount()).isZero();
+        assertThat(stored.getClosedLoanRepayment()).isEqualByComparingTo("1570");
+    }
+
+    @Test
+    public void apply_carryForwardAndSettlementMatchCompute() {
+        Loan old = loans.get(0);
+        BankAggregateDelta before = BankAggregateDelta.of(old);
+        old.setPaidAmount(new BigDecimal("100"));
+        service.record(before, old);
+        assertConsistent();
+
+        // As LoanService.carryForwardLoans: close the old loan and open one for the outstanding amount
+        before = BankAggregateDelta.of(old);
+        old.setInterestAmount(new BigDecimal("25"));
+        old.setTotalRepayment(new BigDecimal("525"));
+        old.setStatus("CARRIED_FORWARD");
+        Loan carried = loan("ACTIVE", "425");
+        loans.add(carried);
+        service.apply(BankAggregateDelta.of(old).minus(before).plus(BankAggregateDelta.of(carried)));
+        assertConsistent();
+
+        // As SettlementService: settle every active deposit in one delta
+        BankAggregateDelta delta = BankAggregateDelta.ZERO;
+        for (Deposit deposit : deposits) {
+            before = BankAggregateDelta.of(deposit);
+            deposit.setInterestEarned(new BigDecimal("25"));
+            deposit.setStatus("SETTLED");
+            delta = delta.plus(BankAggregateDelta.of(deposit).minus(before));
+        }
+        service.apply(delta);
+        assertConsistent();
+        assertThat(stored.getActiveLoansAmount()).isEqualByComparingTo("425");
+        assertThat(stored.getLoansDisbursed()).isEqualByComparingTo("925");
+    }
+
+    @Test
+    public void verify_reportsDriftAndAMissingRow() {
+        deposits.get(0).setAmount(new BigDecimal("1200"));
+        assertThat(service.verify().isConsistent()).isFalse();
+
+        service.rebuild();
+        assertConsistent();
+
+        stored = null;
+        BankAggregateCheckResponse response = service.verify();
+        assertThat(response.isConsistent()).isFalse();
+        assertThat(response.getStored()).isNull();
+    }
+
+    private void assertConsistent() {
+        BankAggregateCheckResponse response = service.verify();
+        assertThat(response.getComputed().minus(response.getStored()).isZero())
+                .as("stored %s, computed %s", response.getStored(), response.getComputed())
+                .isTrue();
+        assertThat(response.isConsistent()).isTrue();
+    }
+
+    // ==================== IN-MEMORY TABLES ====================
+
+    private void fakeAggregateTable() {
+        when(aggregateRepository.findById(BankAggregate.SINGLETON_ID)).thenAnswer(inv -> Optional.ofNullable(stored));
+        when(aggregateRepository.findForUpdate(BankAggregate.SINGLETON_ID)).thenAnswer(inv -> Optional.ofNullable(stored));
+        when(aggregateRepository.save(any(BankAggregate.class))).thenAnswer(inv -> stored = inv.getArgument(0));
+        when(aggregateRepository.add(any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenAnswer(inv -> {
+                    if (stored == null) {
+                        return 0;
+                    }
+                    BankAggregateDelta delta = new BankAggregateDelta(inv.getArgument(1), inv.getArgument(2),
+                            inv.getArgument(3), inv.getArgument(4), inv.getArgument(5), inv.getArgument(6),
+                            inv.getArgument(7), inv.<Long>getArgument(8), inv.getArgument(9),
+                            inv.<Long>getArgument(10), inv.getArgument(11));
+                    BankAggregateDelta.of(stored).plus(delta).copyInto(stored);
+                    return 1;
+                });
+    }
+
+    private List<Object[]> depositTotals() {
+        Map<String, Object[]> byStatus = new LinkedHashMap<>();
+        for (Deposit d : deposits) {
+            Object[] row = byStatus.computeIfAbsent(d.getStatus(),
+                    s -> new Object[]{s, 0L, BigDecimal.ZERO, BigDecimal.ZERO});
+            row[1] = (Long) row[1] + 1;
+            row[2] = ((BigDecimal) row[2]).add(d.getAmount());
+            row[3] = ((BigDecimal) row[3]).add(d.getInterestEarned());
+        }
+        return new ArrayList<>(byStatus.values());
+    }
+
+    private List<Object[]> loanTotals() {
+        Map<String, Object[]> byStatus = new LinkedHashMap<>();
+        for (Loan l : loans) {
+            Object[] row = byStatus.computeIfAbsent(l.getStatus(),
+                    s -> new Object[]{s, 0L, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO});
+            row[1] = (Long) row[1] + 1;
+            row[2] = ((BigDecimal) row[2]).add(l.getLoanAmount());
+            row[3] = ((BigDecimal) row[3]).add(l.getPaidAmount());
+            row[4] = ((BigDecimal) row[4]).add(l.getTotalRepayment());
+            row[5] = ((BigDecimal) row[5]).add(l.getInterestAmount());
+        }
+        return new ArrayList<>(byStatus.values());
+    }
+
+    private static Deposit deposit(String status, String amount) {
+        Deposit deposit = new Deposit();
+        deposit.setStatus(status);
+        deposit.setAmount(new BigDecimal(amount));
+        return deposit;
+    }
+
+    private static Loan loan(String status, String amount) {
+        Loan loan = new Loan();
+        loan.setStatus(status);
+        loan.setLoanAmount(new BigDecimal(amount));
+        loan.setRemainingAmount(new BigDecimal(amount));
+        return loan;
+    }
+}
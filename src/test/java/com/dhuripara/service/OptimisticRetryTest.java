@@ -0,0 +1,59 @@
+package com.dhuripara.service;
+
+import com.dhuripara.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+public class OptimisticRetryTest {
+
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    @Test
+    public void execute_retriesInAFreshTransactionAfterAConflict() {
+        OptimisticRetry retry = new OptimisticRetry(transactionManager, 3);
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = retry.execute("test", () -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new ObjectOptimisticLockingFailureException("Loan", "id");
+            }
+            return "done";
+        });
+
+        assertThat(result).isEqualTo("done");
+        assertThat(attempts).hasValue(2);
+        verify(transactionManager, times(2)).getTransaction(any());
+        verify(transactionManager, times(1)).rollback(any());
+    }
+
+    @Test
+    public void execute_givesUpAfterMaxAttempts() {
+        OptimisticRetry retry = new OptimisticRetry(transactionManager, 3);
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> retry.execute("test", () -> {
+            attempts.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException("Loan", "id");
+        })).isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    public void execute_doesNotRetryOtherFailures() {
+        OptimisticRetry retry = new OptimisticRetry(transactionManager, 3);
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> retry.execute("test", () -> {
+            attempts.incrementAndGet();
+            throw new BusinessException("Can only add payments to active loans");
+        })).isInstanceOf(BusinessException.class);
+        assertThat(attempts).hasValue(1);
+    }
+}
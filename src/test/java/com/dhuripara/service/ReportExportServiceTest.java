@@ -0,0 +1,41 @@
+package com.dhuripara.service;
+
+import com.dhuripara.repository.DepositRepository;
+import com.dhuripara.repository.LoanRepository;
+import com.dhuripara.repository.MemberRepository;
+import com.dhuripara.util.ExportWriter;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public class ReportExportServiceTest {
+
+    private final DepositRepository depositRepository = mock(DepositRepository.class);
+    private final LoanRepository loanRepository = mock(LoanRepository.class);
+
+    private final ReportExportService service = new ReportExportService(mock(JdbcTemplate.class),
+            mock(MemberRepository.class), depositRepository, loanRepository);
+
+    @Test
+    public void exportDepositLedger_writesProjectedRowsWithOneMemberName() throws Exception {
+        UUID id = new UUID(0, 1), memberId = new UUID(0, 2);
+        when(depositRepository.streamLedgerByYear("2025-26")).thenReturn(Stream.<Object[]>of(new Object[]{
+                id, memberId, "Ratan", "Das", null, null, "2025-26", LocalDate.of(2025, 4, 1),
+                new BigDecimal("1000.00"), new BigDecimal("5.00"), "ACTIVE", null, null, null, "first"}));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        assertThat(service.exportDepositLedger("2025-26", ExportWriter.Format.CSV, bytes)).isEqualTo(1);
+
+        assertThat(bytes.toString(StandardCharsets.UTF_8).split("\r\n")[1]).isEqualTo(
+                id + "," + memberId + ",Ratan Das,2025-26,2025-04-01,1000.00,5.00,ACTIVE,,,,first");
+    }
+}
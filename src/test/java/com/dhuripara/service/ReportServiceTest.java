@@ -0,0 +1,103 @@
+package com.dhuripara.service;
+
+import com.dhuripara.dto.response.YearlySettlementResponse;
+import com.dhuripara.event.BankDataChangedEvent;
+import com.dhuripara.model.FinancialYear;
+import com.dhuripara.repository.DepositRepository;
+import com.dhuripara.repository.FinancialYearRepository;
+import com.dhuripara.repository.LoanRepository;
+import com.dhuripara.repository.MemberRepository;
+import com.dhuripara.util.InterestCalculator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReportServiceTest {
+
+    @Mock
+    private MemberRepository memberRepository;
+
+    @Mock
+    private DepositRepository depositRepository;
+
+    @Mock
+    private LoanRepository loanRepository;
+
+    @Mock
+    private FinancialYearRepository financialYearRepository;
+
+    @InjectMocks
+    private ReportService reportService;
+
+    private static List<Object[]> totals(String deposits, String depositInterest, String loans, String loanInterest) {
+        List<Object[]> rows = new java.util.ArrayList<>();
+        rows.add(new Object[]{new BigDecimal(deposits), new BigDecimal(depositInterest),
+                new BigDecimal(loans), new BigDecimal(loanInterest)});
+        return rows;
+    }
+
+    @Test
+    public void getYearlySettlement_openYearIsRecomputedAfterBankWrite() {
+        String year = InterestCalculator.getCurrentFinancialYear();
+        when(financialYearRepository.findByYear(year)).thenReturn(Optional.empty());
+        when(financialYearRepository.getYearTotals("SETTLED", year))
+                .thenReturn(totals("1000", "25", "500", "40"))
+                .thenReturn(totals("2000", "50", "500", "40"));
+
+        YearlySettlementResponse first = reportService.getYearlySettlement(null);
+        assertThat(first.getNetProfit()).isEqualByComparingTo("15");
+        assertThat(reportService.getYearlySettlement(year)).isEqualTo(first);
+
+        reportService.onBankDataChanged(new BankDataChangedEvent("bank"));
+
+        YearlySettlementResponse second = reportService.getYearlySettlement(year);
+        assertThat(second.getTotalDeposits()).isEqualByComparingTo("2000");
+        assertThat(second.getNetProfit()).isEqualByComparingTo("-10");
+        verify(financialYearRepository, times(2)).getYearTotals("SETTLED", year);
+    }
+
+    @Test
+    public void getYearlySettlement_closedYearSurvivesBankWrites() {
+        FinancialYear fy = new FinancialYear();
+        fy.setYear("2020-21");
+        fy.setIsActive(false);
+        fy.setTotalDeposits(new BigDecimal("100"));
+        fy.setNetBalance(new BigDecimal("7"));
+        when(financialYearRepository.findByYear("2020-21")).thenReturn(Optional.of(fy));
+
+        YearlySettlementResponse first = reportService.getYearlySettlement("2020-21");
+        reportService.onBankDataChanged(new BankDataChangedEvent("bank"));
+
+        assertThat(reportService.getYearlySettlement("2020-21")).isEqualTo(first);
+        assertThat(first.getNetProfit()).isEqualByComparingTo("7");
+        verify(financialYearRepository, times(1)).findByYear("2020-21");
+        verify(financialYearRepository, never()).getYearTotals(any(), any());
+    }
+
+    @Test
+    public void getYearlySettlement_callerChangesDoNotReachTheCache() {
+        FinancialYear fy = new FinancialYear();
+        fy.setYear("2020-21");
+        fy.setIsActive(false);
+        fy.setNetBalance(new BigDecimal("7"));
+        when(financialYearRepository.findByYear("2020-21")).thenReturn(Optional.of(fy));
+
+        YearlySettlementResponse first = reportService.getYearlySettlement("2020-21");
+        first.setNetProfit(BigDecimal.ZERO);
+
+        YearlySettlementResponse second = reportService.getYearlySettlement("2020-21");
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getNetProfit()).isEqualByComparingTo("7");
+        verify(financialYearRepository, times(1)).findByYear("2020-21");
+    }
+}
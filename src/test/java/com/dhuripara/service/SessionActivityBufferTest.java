@@ -0,0 +1,58 @@
+package com.dhuripara.service;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public class SessionActivityBufferTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final SessionActivityBuffer buffer = new SessionActivityBuffer(jdbcTemplate);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void flush_writesOneRowPerTokenInASingleBatch() {
+        buffer.record("a");
+        buffer.record("a");
+        buffer.record("b");
+
+        assertThat(buffer.flush()).isEqualTo(2);
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), rows.capture());
+        assertThat(rows.getValue()).hasSize(2);
+        assertThat(buffer.size()).isZero();
+        assertThat(buffer.flush()).isZero();
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+
+    @Test
+    public void flush_keepsTimesWhenTheBatchFails() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("down"));
+        buffer.record("a");
+
+        assertThat(buffer.flush()).isZero();
+        assertThat(buffer.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void latest_prefersTheNewerOfStoredAndBuffered() {
+        LocalDateTime stored = LocalDateTime.now().minusMinutes(5);
+        assertThat(buffer.latest("a", stored)).isEqualTo(stored);
+
+        buffer.record("a");
+        assertThat(buffer.latest("a", stored)).isAfter(stored);
+        assertThat(buffer.latest("a", null)).isNotNull();
+
+        LocalDateTime future = LocalDateTime.now().plusMinutes(5);
+        assertThat(buffer.latest("a", future)).isEqualTo(future);
+    }
+}
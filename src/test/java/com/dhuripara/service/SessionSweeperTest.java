@@ -0,0 +1,55 @@
+package com.dhuripara.service;
+
+import com.dhuripara.security.SessionPrincipalCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public class SessionSweeperTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final SessionActivityBuffer activityBuffer = mock(SessionActivityBuffer.class);
+    private final SessionPrincipalCache principalCache = mock(SessionPrincipalCache.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SessionSweeper sweeper =
+            new SessionSweeper(jdbcTemplate, activityBuffer, principalCache, registry, 30, 90, 2);
+
+    @Test
+    public void sweep_runsBatchesUntilAShortOneAndCountsThem() {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), any(), any()))
+                .thenReturn(List.of("t1", "t2")).thenReturn(List.of("t3"));
+        when(jdbcTemplate.update(anyString(), any(Timestamp.class), eq(2))).thenReturn(2, 2, 0);
+
+        sweeper.sweep();
+
+        verify(activityBuffer).flush();
+        verify(jdbcTemplate, times(2)).queryForList(anyString(), eq(String.class), any(), any());
+        verify(jdbcTemplate, times(3)).update(anyString(), any(Timestamp.class), eq(2));
+        verify(principalCache).invalidateToken("t1");
+        verify(principalCache).invalidateToken("t3");
+        assertThat(count("deactivated")).isEqualTo(3.0);
+        assertThat(count("deleted")).isEqualTo(4.0);
+    }
+
+    @Test
+    public void sweep_flushesActivityBeforeCheckingIdleSessions() {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), any(), any())).thenReturn(List.of());
+
+        sweeper.sweep();
+
+        var order = inOrder(activityBuffer, jdbcTemplate);
+        order.verify(activityBuffer).flush();
+        order.verify(jdbcTemplate).queryForList(anyString(), eq(String.class), any(), any());
+        verifyNoInteractions(principalCache);
+    }
+
+    private double count(String action) {
+        return registry.get("sessions.swept").tag("action", action).counter().count();
+    }
+}
@@ -0,0 +1,148 @@
+package com.dhuripara.service;
+
+import com.dhuripara.model.SettlementJob;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class SettlementJobServiceTest {
+
+    private static final String YEAR = "2025-26";
+
+    private final SettlementService settlementService = mock(SettlementService.class);
+    private final SettlementJobService jobService = new SettlementJobService(settlementService, 2, 2);
+    private final SettlementJob job = new SettlementJob();
+
+    private final UUID a = id(1), b = id(2), c = id(3), d = id(4), e = id(5), f = id(6), g = id(7);
+
+    @BeforeEach
+    public void setUp() {
+        job.setId(UUID.randomUUID());
+        job.setFinancialYear(YEAR);
+        job.setNextFinancialYear("2026-27");
+        job.setSettlementDate(LocalDate.of(2026, 3, 31));
+        job.setChunkSize(2);
+        when(settlementService.createJob(anyInt(), anyString())).thenReturn(job);
+        when(settlementService.markRunning(eq(job.getId()), anyString())).thenReturn(job);
+        when(settlementService.settleDepositChunk(any(), anyCollection(), any()))
+                .thenAnswer(inv -> inv.<Collection<UUID>>getArgument(1).size());
+        when(settlementService.carryForwardLoanChunk(any(), anyCollection(), any(), any()))
+                .thenAnswer(inv -> inv.<Collection<UUID>>getArgument(1).size());
+        when(settlementService.nextDepositIds(anyString(), any(), anyInt())).thenReturn(List.of());
+        when(settlementService.nextLoanIds(anyString(), any(), anyInt())).thenReturn(List.of());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jobService.shutdown();
+    }
+
+    @Test
+    public void start_pagesByLastIdAndStopsAtAnEmptyOrShortPage() {
+        when(settlementService.nextDepositIds(YEAR, null, 2)).thenReturn(List.of(a, b));
+        when(settlementService.nextDepositIds(YEAR, b, 2)).thenReturn(List.of(c, d));
+        when(settlementService.nextLoanIds(YEAR, null, 2)).thenReturn(List.of(e, f));
+        when(settlementService.nextLoanIds(YEAR, f, 2)).thenReturn(List.of(g));
+
+        jobService.start("admin");
+
+        verify(settlementService, timeout(5000)).completeJob(job.getId());
+        verify(settlementService).settleDepositChunk(job.getId(), List.of(a, b), job.getSettlementDate());
+        verify(settlementService).settleDepositChunk(job.getId(), List.of(c, d), job.getSettlementDate());
+        verify(settlementService).nextDepositIds(YEAR, d, 2);
+        verify(settlementService).carryForwardLoanChunk(job.getId(), List.of(e, f), "2026-27", job.getSettlementDate());
+        verify(settlementService).carryForwardLoanChunk(job.getId(), List.of(g), "2026-27", job.getSettlementDate());
+        verify(settlementService, never()).nextLoanIds(YEAR, g, 2);
+        verify(settlementService, never()).markFailed(any(), any());
+    }
+
+    @Test
+    public void start_chunkFailureMarksTheJobFailedOnceOtherChunksFinish() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(settlementService.nextDepositIds(YEAR, null, 2)).thenReturn(List.of(a, b));
+        when(settlementService.nextDepositIds(YEAR, b, 2)).thenReturn(List.of(c));
+        when(settlementService.settleDepositChunk(job.getId(), List.of(a, b), job.getSettlementDate()))
+                .thenThrow(new IllegalStateException("deposit chunk failed"));
+        when(settlementService.settleDepositChunk(job.getId(), List.of(c), job.getSettlementDate()))
+                .thenAnswer(inv -> release.await(5, TimeUnit.SECONDS) ? 1 : 0);
+
+        jobService.start("admin");
+
+        verify(settlementService, after(300).never()).markFailed(any(), any());
+        release.countDown();
+        verify(settlementService, timeout(5000)).markFailed(job.getId(), "deposit chunk failed");
+        verify(settlementService, never()).markRunning(job.getId(), SettlementJob.PHASE_LOANS);
+        verify(settlementService, never()).completeJob(any());
+    }
+
+    @Test
+    public void start_pagingFailureWaitsForSubmittedChunks() {
+        CountDownLatch release = new CountDownLatch(1);
+        when(settlementService.nextDepositIds(YEAR, null, 2)).thenReturn(List.of(a, b));
+        when(settlementService.nextDepositIds(YEAR, b, 2)).thenThrow(new IllegalStateException("connection lost"));
+        when(settlementService.settleDepositChunk(job.getId(), List.of(a, b), job.getSettlementDate()))
+                .thenAnswer(inv -> release.await(5, TimeUnit.SECONDS) ? 2 : 0);
+
+        jobService.start("admin");
+
+        verify(settlementService, after(300).never()).markFailed(any(), any());
+        release.countDown();
+        verify(settlementService, timeout(5000)).markFailed(job.getId(), "connection lost");
+    }
+
+    @Test
+    public void shutdown_leavesAnInterruptedJobRunning() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        when(settlementService.nextDepositIds(YEAR, null, 2)).thenReturn(List.of(a, b));
+        when(settlementService.settleDepositChunk(job.getId(), List.of(a, b), job.getSettlementDate()))
+                .thenAnswer(inv -> {
+                    started.countDown();
+                    new CountDownLatch(1).await();
+                    return 2;
+                });
+
+        jobService.start("admin");
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        jobService.shutdown();
+
+        verify(settlementService, after(300).never()).markFailed(any(), any());
+        verify(settlementService, never()).completeJob(any());
+    }
+
+    @Test
+    public void resume_reopensAndRunsAFailedJob() {
+        when(settlementService.reopenJob(job.getId())).thenReturn(job);
+
+        assertThat(jobService.resume(job.getId())).isSameAs(job);
+
+        verify(settlementService, timeout(5000)).completeJob(job.getId());
+        verify(settlementService).markRunning(job.getId(), SettlementJob.PHASE_DEPOSITS);
+    }
+
+    @Test
+    public void resumeInterruptedJobs_launchesEachInFlightJob() {
+        when(settlementService.getInFlightJobs()).thenReturn(List.of(job));
+        when(settlementService.nextDepositIds(YEAR, null, 2)).thenReturn(List.of(c));
+
+        jobService.resumeInterruptedJobs();
+
+        verify(settlementService, timeout(5000)).completeJob(job.getId());
+        verify(settlementService).settleDepositChunk(job.getId(), List.of(c), job.getSettlementDate());
+        verify(settlementService, never()).reopenJob(any());
+    }
+
+    private static UUID id(int n) {
+        return new UUID(0, n);
+    }
+}
@@ -0,0 +1,53 @@
+package com.dhuripara.service;
+
+import com.dhuripara.dto.response.SettlementPreviewResponse;
+import com.dhuripara.dto.response.SettlementPreviewResponse.MemberLine;
+import com.dhuripara.repository.DepositRepository;
+import com.dhuripara.repository.LoanRepository;
+import com.dhuripara.repository.MemberRepository;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class SettlementPreviewServiceTest {
+
+    private final DepositRepository depositRepository = mock(DepositRepository.class);
+    private final LoanRepository loanRepository = mock(LoanRepository.class);
+    private final MemberRepository memberRepository = mock(MemberRepository.class);
+
+    private final SettlementPreviewService service = new SettlementPreviewService(depositRepository, loanRepository,
+            memberRepository);
+
+    @Test
+    public void preview_namesAndPagesMembersFromTheNameProjection() {
+        UUID rina = UUID.randomUUID(), amal = UUID.randomUUID(), bikash = UUID.randomUUID();
+        LocalDate start = LocalDate.of(2025, 4, 1);
+        when(depositRepository.streamSettlementRows("ACTIVE", "2025-26")).thenReturn(Stream.of(
+                new Object[]{rina, new BigDecimal("1000"), start},
+                new Object[]{amal, new BigDecimal("500"), start},
+                new Object[]{bikash, new BigDecimal("200"), start}));
+        when(loanRepository.streamSettlementRows("ACTIVE", "2025-26")).thenReturn(Stream.empty());
+        List<Object[]> names = new ArrayList<>();
+        names.add(new Object[]{rina, "Rina", "Pal", null, null});
+        names.add(new Object[]{amal, "Amal", "Das", null, null});
+        names.add(new Object[]{bikash, "Bikash", "Roy", "বিকাশ", "রায়"});
+        when(memberRepository.findNamesByIdIn(any())).thenReturn(names);
+
+        SettlementPreviewResponse response = service.preview(LocalDate.of(2026, 3, 31), "2025-26", 0, 2);
+
+        assertThat(response.getMemberCount()).isEqualTo(3);
+        assertThat(response.getTotalPages()).isEqualTo(2);
+        assertThat(response.getMembers()).extracting(MemberLine::getMemberName).containsExactly("Amal Das", "Rina Pal");
+        assertThat(response.getMembers().get(1).getDepositPrincipal()).isEqualByComparingTo("1000");
+        verify(memberRepository, never()).findAllById(any());
+    }
+}
@@ -0,0 +1,128 @@
+package com.dhuripara.service;
+
+import com.dhuripara.model.Deposit;
+import com.dhuripara.model.FinancialYear;
+import com.dhuripara.model.Loan;
+import com.dhuripara.model.SettlementJob;
+import com.dhuripara.repository.DepositRepository;
+import com.dhuripara.repository.FinancialYearRepository;
+import com.dhuripara.repository.LoanRepository;
+import com.dhuripara.repository.SettlementJobRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SettlementServiceTest {
+
+    private static final LocalDate SETTLEMENT_DATE = LocalDate.of(2026, 3, 31);
+
+    @Mock
+    private DepositRepository depositRepository;
+
+    @Mock
+    private LoanRepository loanRepository;
+
+    @Mock
+    private FinancialYearRepository financialYearRepository;
+
+    @Mock
+    private SettlementJobRepository jobRepository;
+
+    @Mock
+    private LoanService loanService;
+
+    @Mock
+    private BankAggregateService bankAggregateService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private SettlementService settlementService;
+
+    private final UUID jobId = UUID.randomUUID();
+
+    @Test
+    public void settleDepositChunk_checkpointsTheChunkTotalsOnTheJob() {
+        Deposit first = deposit("1000", LocalDate.of(2025, 4, 1));
+        Deposit second = deposit("500", LocalDate.of(2025, 10, 1));
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID());
+        when(depositRepository.findByIdInAndStatusForUpdate(ids, "ACTIVE")).thenReturn(List.of(first, second));
+
+        assertThat(settlementService.settleDepositChunk(jobId, ids, SETTLEMENT_DATE)).isEqualTo(2);
+
+        BigDecimal interest = first.getInterestEarned().add(second.getInterestEarned());
+        assertThat(interest.signum()).isPositive();
+        ArgumentCaptor<BigDecimal> principal = ArgumentCaptor.forClass(BigDecimal.class);
+        ArgumentCaptor<BigDecimal> interestCaptor = ArgumentCaptor.forClass(BigDecimal.class);
+        verify(jobRepository).addDepositProgress(eq(jobId), eq(2), principal.capture(), interestCaptor.capture(), any());
+        assertThat(principal.getValue()).isEqualByComparingTo("1500");
+        assertThat(interestCaptor.getValue()).isEqualByComparingTo(interest);
+
+        ArgumentCaptor<BankAggregateDelta> delta = ArgumentCaptor.forClass(BankAggregateDelta.class);
+        verify(bankAggregateService).apply(delta.capture());
+        assertThat(delta.getValue().activeDepositsCount()).isEqualTo(-2);
+        assertThat(delta.getValue().depositInterestPaid()).isEqualByComparingTo(interest);
+        assertThat(first.getStatus()).isEqualTo("SETTLED");
+    }
+
+    @Test
+    public void carryForwardLoanChunk_checkpointsTheChunkTotalsOnTheJob() {
+        Loan loan = new Loan();
+        loan.setLoanAmount(new BigDecimal("800"));
+        loan.setInterestAmount(new BigDecimal("40"));
+        List<UUID> ids = List.of(UUID.randomUUID());
+        when(loanRepository.findByIdInAndStatusForUpdate(ids, "ACTIVE")).thenReturn(List.of(loan));
+
+        assertThat(settlementService.carryForwardLoanChunk(jobId, ids, "2026-27", SETTLEMENT_DATE)).isEqualTo(1);
+
+        verify(loanService).carryForwardLoans(List.of(loan), "2026-27", SETTLEMENT_DATE);
+        verify(jobRepository).addLoanProgress(eq(jobId), eq(1), eq(new BigDecimal("800")), eq(new BigDecimal("40")), any());
+    }
+
+    @Test
+    public void completeJob_writesTheFinancialYearFromTheCheckpointedTotals() {
+        SettlementJob job = new SettlementJob();
+        job.setId(jobId);
+        job.setFinancialYear("2025-26");
+        job.setSettlementDate(SETTLEMENT_DATE);
+        job.setDepositPrincipal(new BigDecimal("1500"));
+        job.setDepositInterest(new BigDecimal("30"));
+        job.setLoanPrincipal(new BigDecimal("800"));
+        job.setLoanInterest(new BigDecimal("40"));
+        when(jobRepository.findById(jobId)).thenReturn(Optional.of(job));
+        when(financialYearRepository.findByYear("2025-26")).thenReturn(Optional.empty());
+
+        settlementService.completeJob(jobId);
+
+        ArgumentCaptor<FinancialYear> saved = ArgumentCaptor.forClass(FinancialYear.class);
+        verify(financialYearRepository).save(saved.capture());
+        assertThat(saved.getValue().getTotalDeposits()).isEqualByComparingTo("1500");
+        assertThat(saved.getValue().getTotalLoans()).isEqualByComparingTo("800");
+        assertThat(saved.getValue().getNetBalance()).isEqualByComparingTo("10");
+        assertThat(job.getStatus()).isEqualTo(SettlementJob.COMPLETED);
+    }
+
+    private static Deposit deposit(String amount, LocalDate depositDate) {
+        Deposit deposit = new Deposit();
+        deposit.setAmount(new BigDecimal(amount));
+        deposit.setDepositDate(depositDate);
+        return deposit;
+    }
+}
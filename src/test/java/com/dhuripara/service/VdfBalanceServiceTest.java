@@ -0,0 +1,221 @@
+package com.dhuripara.service;
+
+import com.dhuripara.model.VdfFamilyBalance;
+import com.dhuripara.model.VdfFamilyConfig;
+import com.dhuripara.repository.VdfContributionRepository;
+import com.dhuripara.repository.VdfFamilyBalanceRepository;
+import com.dhuripara.repository.VdfFamilyConfigRepository;
+import com.dhuripara.repository.VdfFamilyExemptionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs the incremental balance updates against in-memory stand-ins for the balance, contribution
+ * and exemption tables and checks each one leaves the row exactly as a full rebuild would.
+ */
+public class VdfBalanceServiceTest {
+
+    private final Map<UUID, VdfFamilyBalance> rows = new HashMap<>();
+    private final List<Object[]> contributions = new ArrayList<>(); // [familyId, year, month, amount]
+    private final Map<UUID, Set<String>> exemptions = new HashMap<>();
+
+    private final VdfFamilyBalanceRepository balanceRepository = mock(VdfFamilyBalanceRepository.class);
+    private final VdfFamilyConfigRepository familyConfigRepository = mock(VdfFamilyConfigRepository.class);
+    private final VdfContributionRepository contributionRepository = mock(VdfContributionRepository.class);
+    private final VdfFamilyExemptionRepository exemptionRepository = mock(VdfFamilyExemptionRepository.class);
+    private final VdfReferenceDataCache referenceDataCache = mock(VdfReferenceDataCache.class);
+
+    private final VdfBalanceService service = new VdfBalanceService(balanceRepository, familyConfigRepository,
+            contributionRepository, exemptionRepository, new VdfRequirementTimeline(referenceDataCache));
+
+    private VdfFamilyConfig family;
+
+    @BeforeEach
+    public void setUp() {
+        family = new VdfFamilyConfig();
+        family.setId(UUID.randomUUID());
+        family.setMonthlyAmount(new BigDecimal("20.00"));
+        family.setEffectiveFrom(LocalDate.now().minusMonths(14).withDayOfMonth(1));
+        when(familyConfigRepository.findAll()).thenReturn(List.of(family));
+
+        VdfReferenceDataCache.MonthlyConfig config = new VdfReferenceDataCache.MonthlyConfig(
+                UUID.randomUUID(), month(-6).toString(), new BigDecimal("50.00"), null, true, null, null);
+        when(referenceDataCache.getMonthlyConfigs()).thenReturn(List.of(config));
+
+        fakeBalanceTable();
+        fakeContributionTable();
+        fakeExemptionTable();
+
+        contribute(month(-10), "20.00");
+        contribute(month(-9), "20.00");
+        exemptions.put(family.getId(), new HashSet<>(Set.of(month(-8).toString())));
+    }
+
+    @Test
+    public void getBalance_createsAMissingRowOnceAndRereadsIt() {
+        VdfFamilyBalance balance = service.getBalance(family);
+
+        assertThat(balance.getPaidToDate()).isEqualByComparingTo("40.00");
+        assertThat(balance.getLastPaidMonth()).isEqualTo(month(-9).toString());
+        verify(balanceRepository, times(1)).insertIfAbsent(any(), eq(family.getId()), anyString(), any());
+
+        service.getBalance(family);
+        verify(balanceRepository, times(1)).insertIfAbsent(any(), any(), anyString(), any());
+    }
+
+    @Test
+    public void onContributionsChanged_matchesRebuild() {
+        service.getBalance(family);
+
+        contribute(month(-3), "20.00");
+        contribute(month(-2), "25.00");
+        service.onContributionsChanged(family, new BigDecimal("45.00"), month(-2), false);
+        assertMatchesRebuild();
+
+        contributions.removeIf(c -> month(-2).equals(YearMonth.of((Integer) c[1], (Integer) c[2])));
+        service.onContributionsChanged(family, new BigDecimal("-25.00"), null, true);
+        assertMatchesRebuild();
+    }
+
+    @Test
+    public void onExemptionChanged_matchesRebuild() {
+        service.getBalance(family);
+
+        // A configured month and a fallback month, added and then one removed again
+        exemptions.get(family.getId()).add(month(-6).toString());
+        service.onExemptionChanged(family, month(-6).toString(), true);
+        assertMatchesRebuild();
+
+        exemptions.get(family.getId()).add(month(-4).toString());
+        service.onExemptionChanged(family, month(-4).toString(), true);
+        assertMatchesRebuild();
+
+        exemptions.get(family.getId()).remove(month(-6).toString());
+        service.onExemptionChanged(family, month(-6).toString(), false);
+        assertMatchesRebuild();
+    }
+
+    @Test
+    public void rollForward_matchesRebuild() {
+        VdfFamilyBalance balance = service.getBalance(family);
+        // A row last rolled forward a month ago, before an exemption that bypassed the incremental path
+        balance.setAsOfMonth(month(-1).toString());
+        balance.setRequiredToDate(new BigDecimal("1.00"));
+        exemptions.get(family.getId()).add(month(-5).toString());
+
+        service.rollForward();
+
+        assertThat(balance.getAsOfMonth()).isEqualTo(month(0).toString());
+        assertMatchesRebuild();
+    }
+
+    private void assertMatchesRebuild() {
+        Snapshot incremental = Snapshot.of(rows.get(family.getId()));
+        service.rebuild(family);
+        assertThat(Snapshot.of(rows.get(family.getId()))).isEqualTo(incremental);
+    }
+
+    private void contribute(YearMonth month, String amount) {
+        contributions.add(new Object[]{family.getId(), month.getYear(), month.getMonthValue(), new BigDecimal(amount)});
+    }
+
+    private static YearMonth month(int offset) {
+        return YearMonth.now().plusMonths(offset);
+    }
+
+    private record Snapshot(BigDecimal paid, BigDecimal required, Integer exemptMonths, String lastPaid, String asOf) {
+        static Snapshot of(VdfFamilyBalance b) {
+            return new Snapshot(b.getPaidToDate().stripTrailingZeros(), b.getRequiredToDate().stripTrailingZeros(),
+                    b.getExemptMonths(), b.getLastPaidMonth(), b.getAsOfMonth());
+        }
+    }
+
+    // ==================== IN-MEMORY TABLES ====================
+
+    @SuppressWarnings("unchecked")
+    private void fakeBalanceTable() {
+        when(balanceRepository.findByFamilyIdIn(anyCollection())).thenAnswer(inv -> {
+            Collection<UUID> ids = inv.getArgument(0);
+            return ids.stream().map(rows::get).filter(Objects::nonNull).toList();
+        });
+        when(balanceRepository.findAll()).thenAnswer(inv -> new ArrayList<>(rows.values()));
+        when(balanceRepository.saveAll(anyIterable())).thenAnswer(inv -> {
+            List<VdfFamilyBalance> saved = new ArrayList<>();
+            ((Iterable<VdfFamilyBalance>) inv.getArgument(0)).forEach(saved::add);
+            saved.forEach(b -> rows.put(b.getFamilyId(), b));
+            return saved;
+        });
+        when(balanceRepository.insertIfAbsent(any(), any(), anyString(), any())).thenAnswer(inv -> {
+            VdfFamilyBalance created = new VdfFamilyBalance();
+            created.setId(inv.getArgument(0));
+            created.setFamilyId(inv.getArgument(1));
+            created.setAsOfMonth(inv.getArgument(2));
+            return rows.putIfAbsent(created.getFamilyId(), created) == null ? 1 : 0;
+        });
+        when(balanceRepository.addPaid(any(), any(), any())).thenAnswer(inv -> update(inv.getArgument(0),
+                b -> b.setPaidToDate(b.getPaidToDate().add(inv.getArgument(1)))));
+        when(balanceRepository.addExemptMonths(any(), anyInt(), any())).thenAnswer(inv -> update(inv.getArgument(0),
+                b -> b.setExemptMonths(b.getExemptMonths() + (Integer) inv.getArgument(1))));
+        when(balanceRepository.setLastPaidMonth(any(), any())).thenAnswer(inv -> update(inv.getArgument(0),
+                b -> b.setLastPaidMonth(inv.getArgument(1))));
+        when(balanceRepository.advanceLastPaidMonth(any(), anyString())).thenAnswer(inv -> update(inv.getArgument(0), b -> {
+            String month = inv.getArgument(1);
+            if (b.getLastPaidMonth() == null || b.getLastPaidMonth().compareTo(month) < 0) {
+                b.setLastPaidMonth(month);
+            }
+        }));
+        when(balanceRepository.addRequired(any(), any(), anyString())).thenAnswer(inv -> update(inv.getArgument(0), b -> {
+            if (b.getAsOfMonth().compareTo(inv.getArgument(2)) >= 0) {
+                b.setRequiredToDate(b.getRequiredToDate().add(inv.getArgument(1)));
+            }
+        }));
+    }
+
+    private int update(UUID familyId, java.util.function.Consumer<VdfFamilyBalance> change) {
+        VdfFamilyBalance balance = rows.get(familyId);
+        if (balance == null) {
+            return 0;
+        }
+        change.accept(balance);
+        return 1;
+    }
+
+    private void fakeContributionTable() {
+        when(contributionRepository.getTotalByFamily(any())).thenAnswer(inv -> total(inv.getArgument(0)));
+        when(contributionRepository.findLatestPaidMonthKey(any())).thenAnswer(inv -> latest(inv.getArgument(0)));
+        when(contributionRepository.getTotalsGroupedByFamily()).thenAnswer(inv ->
+                List.<Object[]>of(new Object[]{family.getId(), total(family.getId())}));
+        when(contributionRepository.findLatestPaidMonthKeysGroupedByFamily()).thenAnswer(inv ->
+                List.<Object[]>of(new Object[]{family.getId(), latest(family.getId())}));
+    }
+
+    private BigDecimal total(UUID familyId) {
+        return contributions.stream().filter(c -> familyId.equals(c[0]))
+                .map(c -> (BigDecimal) c[3]).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private Integer latest(UUID familyId) {
+        return contributions.stream().filter(c -> familyId.equals(c[0]))
+                .map(c -> (Integer) c[1] * 100 + (Integer) c[2]).max(Integer::compare).orElse(null);
+    }
+
+    private void fakeExemptionTable() {
+        when(exemptionRepository.findFamilyMonthsByFamilyIds(anyCollection())).thenAnswer(inv -> exemptionRows());
+        when(exemptionRepository.findAllFamilyMonths()).thenAnswer(inv -> exemptionRows());
+    }
+
+    private List<Object[]> exemptionRows() {
+        List<Object[]> result = new ArrayList<>();
+        exemptions.forEach((familyId, months) -> months.forEach(m -> result.add(new Object[]{familyId, m})));
+        return result;
+    }
+}
@@ -0,0 +1,156 @@
+package com.dhuripara.service;
+
+import com.dhuripara.dto.request.VdfCollectionDayRequest;
+import com.dhuripara.dto.response.VdfCollectionDayResponse;
+import com.dhuripara.dto.response.VdfCollectionDayResponse.RowResult;
+import com.dhuripara.model.Member;
+import com.dhuripara.model.VdfDeposit;
+import com.dhuripara.model.VdfFamilyConfig;
+import com.dhuripara.repository.VdfContributionRepository;
+import com.dhuripara.repository.VdfDepositCategoryRepository;
+import com.dhuripara.repository.VdfDepositRepository;
+import com.dhuripara.repository.VdfFamilyConfigRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public class VdfCollectionDayServiceTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final VdfFamilyConfigRepository familyConfigRepository = mock(VdfFamilyConfigRepository.class);
+    private final VdfContributionRepository contributionRepository = mock(VdfContributionRepository.class);
+    private final VdfDepositRepository depositRepository = mock(VdfDepositRepository.class);
+    private final VdfDepositCategoryRepository depositCategoryRepository = mock(VdfDepositCategoryRepository.class);
+    private final VdfReferenceDataCache referenceDataCache = mock(VdfReferenceDataCache.class);
+    private final VdfBalanceService balanceService = mock(VdfBalanceService.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+
+    private final VdfCollectionDayService service = new VdfCollectionDayService(jdbcTemplate, familyConfigRepository,
+            contributionRepository, depositRepository, depositCategoryRepository, referenceDataCache, balanceService,
+            eventPublisher);
+
+    private final VdfFamilyConfig enabled = family(true);
+    private final VdfFamilyConfig disabled = family(false);
+    private final List<Object[]> existing = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        when(familyConfigRepository.findAllWithMemberByIdIn(any())).thenReturn(List.of(enabled, disabled));
+        when(contributionRepository.findFamilyYearMonthAmounts(any(), any())).thenReturn(existing);
+        when(referenceDataCache.findActiveDepositCategory(any(String[].class))).thenReturn(Optional.empty());
+    }
+
+    @Test
+    public void recordCollectionDay_rejectsInvalidRowsIndividually() {
+        VdfCollectionDayResponse response = service.recordCollectionDay(request(
+                entry(null, 2025, 1, "20"),
+                entry(enabled.getId(), 2019, 1, "20"),
+                entry(enabled.getId(), 2025, 13, "20"),
+                entry(enabled.getId(), 2025, 1, "-5"),
+                entry(UUID.randomUUID(), 2025, 1, "20"),
+                entry(disabled.getId(), 2025, 1, "20"),
+                entry(enabled.getId(), 2025, 2, "20"),
+                entry(enabled.getId(), 2025, 2, "20")), "operator");
+
+        assertThat(response.getResults()).extracting(RowResult::getStatus).containsExactly(
+                "REJECTED", "REJECTED", "REJECTED", "REJECTED", "REJECTED", "REJECTED", "CREATED", "REJECTED");
+        assertThat(response.getResults()).extracting(RowResult::getMessage).containsExactly(
+                "Family config ID is required", "Invalid year", "Month must be between 1 and 12",
+                "Amount must be zero or more", "Family config not found",
+                "Contributions are not enabled for this family", null, "Duplicate entry for this family and month");
+        assertThat(response.getAccepted()).isEqualTo(1);
+        assertThat(response.getRejected()).isEqualTo(7);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void recordCollectionDay_depositsOnlyNewlyCollectedMoney() {
+        existing.add(new Object[]{enabled.getId(), 2025, 1, new BigDecimal("20")});
+        existing.add(new Object[]{enabled.getId(), 2025, 2, new BigDecimal("20")});
+        existing.add(new Object[]{enabled.getId(), 2025, 3, new BigDecimal("20")});
+
+        VdfCollectionDayResponse response = service.recordCollectionDay(request(
+                entry(enabled.getId(), 2025, 1, "20"),
+                entry(enabled.getId(), 2025, 2, "30"),
+                entry(enabled.getId(), 2025, 3, "0"),
+                entry(enabled.getId(), 2025, 4, "20"),
+                entry(enabled.getId(), 2025, 5, "0")), "operator");
+
+        assertThat(response.getResults()).extracting(RowResult::getStatus)
+                .containsExactly("UNCHANGED", "UPDATED", "DELETED", "CREATED", "UNCHANGED");
+
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), batch.capture());
+        assertThat(batch.getAllValues().get(0)).hasSize(2);
+        assertThat(batch.getAllValues().get(1)).hasSize(1);
+
+        // 10 more for February plus 20 for April; the unchanged January is not collected again
+        ArgumentCaptor<List<VdfDeposit>> deposits = ArgumentCaptor.forClass(List.class);
+        verify(depositRepository).saveAll(deposits.capture());
+        assertThat(deposits.getValue()).hasSize(1);
+        assertThat(deposits.getValue().get(0).getAmount()).isEqualByComparingTo("30");
+        assertThat(response.getTotalCollected()).isEqualByComparingTo("30");
+    }
+
+    @Test
+    public void recordCollectionDay_repostingTheSameMonthWritesNothing() {
+        existing.add(new Object[]{enabled.getId(), 2025, 1, new BigDecimal("20")});
+
+        VdfCollectionDayResponse response = service.recordCollectionDay(request(
+                entry(enabled.getId(), 2025, 1, "20")), "operator");
+
+        assertThat(response.getResults()).extracting(RowResult::getStatus).containsExactly("UNCHANGED");
+        assertThat(response.getDepositsCreated()).isZero();
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    public void recordCollectionDay_readsExistingContributionsUnderTheFamilyLock() {
+        service.recordCollectionDay(request(entry(enabled.getId(), 2025, 1, "20")), "operator");
+
+        InOrder order = inOrder(familyConfigRepository, contributionRepository);
+        order.verify(familyConfigRepository).lockByIdIn(any());
+        order.verify(contributionRepository).findFamilyYearMonthAmounts(any(), any());
+    }
+
+    private static VdfFamilyConfig family(boolean contributionsEnabled) {
+        Member member = new Member();
+        member.setFirstName("Ratan");
+        member.setLastName("Das");
+        VdfFamilyConfig family = new VdfFamilyConfig();
+        family.setId(UUID.randomUUID());
+        family.setMember(member);
+        family.setIsContributionEnabled(contributionsEnabled);
+        return family;
+    }
+
+    private static VdfCollectionDayRequest.Entry entry(UUID familyId, Integer year, Integer month, String amount) {
+        VdfCollectionDayRequest.Entry entry = new VdfCollectionDayRequest.Entry();
+        entry.setFamilyConfigId(familyId);
+        entry.setYear(year);
+        entry.setMonth(month);
+        entry.setAmount(new BigDecimal(amount));
+        return entry;
+    }
+
+    private static VdfCollectionDayRequest request(VdfCollectionDayRequest.Entry... entries) {
+        VdfCollectionDayRequest request = new VdfCollectionDayRequest();
+        request.setPaymentDate(LocalDate.of(2025, 6, 1));
+        request.setEntries(List.of(entries));
+        return request;
+    }
+}
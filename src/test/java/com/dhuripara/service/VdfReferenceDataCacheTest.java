@@ -0,0 +1,151 @@
+package com.dhuripara.service;
+
+import com.dhuripara.event.VdfMonthlyConfigChangedEvent;
+import com.dhuripara.event.VdfReferenceDataChangedEvent;
+import com.dhuripara.model.VdfDepositCategory;
+import com.dhuripara.model.VdfMonthlyConfig;
+import com.dhuripara.repository.VdfDepositCategoryRepository;
+import com.dhuripara.repository.VdfExpenseCategoryRepository;
+import com.dhuripara.repository.VdfMonthlyConfigRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+public class VdfReferenceDataCacheTest {
+
+    private final VdfDepositCategoryRepository depositCategoryRepository = mock(VdfDepositCategoryRepository.class);
+    private final VdfExpenseCategoryRepository expenseCategoryRepository = mock(VdfExpenseCategoryRepository.class);
+    private final VdfMonthlyConfigRepository monthlyConfigRepository = mock(VdfMonthlyConfigRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final VdfReferenceDataCache cache = new VdfReferenceDataCache(depositCategoryRepository,
+            expenseCategoryRepository, monthlyConfigRepository, transactionManager, meterRegistry);
+
+    @Test
+    public void findActiveDepositCategory_loadsOnMissThenServesHits() {
+        VdfDepositCategory monthly = category("Monthly Contribution", true);
+        when(depositCategoryRepository.findAll(any(Sort.class)))
+                .thenReturn(List.of(category("Festival", true), monthly));
+
+        assertThat(cache.findActiveDepositCategory("monthly contribution")).map(VdfReferenceDataCache.DepositCategory::id)
+                .contains(monthly.getId());
+        assertThat(cache.findDepositCategory(monthly.getId())).map(VdfReferenceDataCache.DepositCategory::categoryName)
+                .contains("Monthly Contribution");
+
+        verify(depositCategoryRepository, times(1)).findAll(any(Sort.class));
+        assertThat(count("deposit-categories", "miss")).isEqualTo(1);
+        assertThat(count("deposit-categories", "hit")).isEqualTo(1);
+    }
+
+    @Test
+    public void get_loadsCopiesInTheirOwnReadOnlyTransaction() {
+        VdfDepositCategory festival = category("Festival", true);
+        when(depositCategoryRepository.findAll(any(Sort.class))).thenReturn(List.of(festival));
+
+        cache.getActiveDepositCategories();
+        // A caller changing its managed entity must not change what other requests see
+        festival.setCategoryName("Renamed");
+
+        assertThat(cache.findDepositCategory(festival.getId()))
+                .map(VdfReferenceDataCache.DepositCategory::categoryName).contains("Festival");
+        verify(transactionManager).getTransaction(argThat(definition ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW
+                        && definition.isReadOnly()));
+    }
+
+    @Test
+    public void onReferenceDataRolledBack_evictsToo() {
+        when(depositCategoryRepository.findAll(any(Sort.class))).thenReturn(List.of(category("Festival", true)));
+        cache.getActiveDepositCategories();
+
+        cache.onReferenceDataRolledBack(
+                new VdfReferenceDataChangedEvent(VdfReferenceDataChangedEvent.DEPOSIT_CATEGORIES));
+        cache.getActiveDepositCategories();
+
+        verify(depositCategoryRepository, times(2)).findAll(any(Sort.class));
+    }
+
+    @Test
+    public void getMonthlyConfigs_doesNotCacheTablesAboveTheLimit() {
+        List<VdfMonthlyConfig> configs = new ArrayList<>();
+        IntStream.rangeClosed(0, VdfReferenceDataCache.MAX_ENTRIES)
+                .forEach(i -> configs.add(config(String.valueOf(i))));
+        when(monthlyConfigRepository.findAll(any(Sort.class))).thenReturn(configs);
+
+        assertThat(cache.getMonthlyConfigs()).hasSize(VdfReferenceDataCache.MAX_ENTRIES + 1);
+        cache.getMonthlyConfigs();
+
+        verify(monthlyConfigRepository, times(2)).findAll(any(Sort.class));
+    }
+
+    @Test
+    public void onReferenceDataChanged_evictsOnlyTheChangedTable() {
+        when(depositCategoryRepository.findAll(any(Sort.class))).thenReturn(List.of(category("Festival", true)));
+        when(monthlyConfigRepository.findAll(any(Sort.class))).thenReturn(List.of(config("2025-01")));
+        cache.getActiveDepositCategories();
+        cache.getMonthlyConfigs();
+
+        cache.onReferenceDataChanged(new VdfReferenceDataChangedEvent(VdfReferenceDataChangedEvent.DEPOSIT_CATEGORIES));
+        cache.getActiveDepositCategories();
+        cache.getMonthlyConfigs();
+        verify(depositCategoryRepository, times(2)).findAll(any(Sort.class));
+        verify(monthlyConfigRepository, times(1)).findAll(any(Sort.class));
+
+        cache.onMonthlyConfigChanged(new VdfMonthlyConfigChangedEvent("2025-01"));
+        assertThat(cache.findMonthlyConfig("2025-01")).isPresent();
+        verify(monthlyConfigRepository, times(2)).findAll(any(Sort.class));
+    }
+
+    @Test
+    public void get_loadOverlappingAnEvictionIsNotKept() {
+        VdfDepositCategory stale = category("Festival", true);
+        VdfDepositCategory fresh = category("Festival", false);
+        // The admin write commits while the first load is still reading the old rows
+        when(depositCategoryRepository.findAll(any(Sort.class)))
+                .thenAnswer(inv -> {
+                    cache.onReferenceDataChanged(
+                            new VdfReferenceDataChangedEvent(VdfReferenceDataChangedEvent.DEPOSIT_CATEGORIES));
+                    return List.of(stale);
+                })
+                .thenReturn(List.of(fresh));
+
+        assertThat(cache.getActiveDepositCategories()).extracting(VdfReferenceDataCache.DepositCategory::id)
+                .containsExactly(stale.getId());
+        assertThat(cache.getActiveDepositCategories()).isEmpty();
+        assertThat(cache.getActiveDepositCategories()).isEmpty();
+
+        verify(depositCategoryRepository, times(2)).findAll(any(Sort.class));
+    }
+
+    private double count(String name, String result) {
+        return meterRegistry.get("vdf.reference.cache").tag("cache", name).tag("result", result).counter().count();
+    }
+
+    private static VdfDepositCategory category(String name, boolean active) {
+        VdfDepositCategory category = new VdfDepositCategory();
+        category.setId(UUID.randomUUID());
+        category.setCategoryName(name);
+        category.setIsActive(active);
+        return category;
+    }
+
+    private static VdfMonthlyConfig config(String monthYear) {
+        VdfMonthlyConfig config = new VdfMonthlyConfig();
+        config.setId(UUID.randomUUID());
+        config.setMonthYear(monthYear);
+        return config;
+    }
+}
@@ -0,0 +1,82 @@
+package com.dhuripara.service;
+
+import com.dhuripara.service.VdfReferenceDataCache.MonthlyConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class VdfRequirementTimelineTest {
+
+    @Mock
+    private VdfReferenceDataCache referenceDataCache;
+
+    @InjectMocks
+    private VdfRequirementTimeline timeline;
+
+    private static MonthlyConfig config(String monthYear, String amount) {
+        return new MonthlyConfig(null, monthYear, new BigDecimal(amount), null, true, null, null);
+    }
+
+    @Test
+    public void requiredBetween_matchesMonthByMonthSum() {
+        when(referenceDataCache.getMonthlyConfigs()).thenReturn(List.of(
+                config("2024-02", "50"),
+                config("2024-05", "0"),
+                config("2025-01", "200")));
+        BigDecimal fallback = new BigDecimal("100");
+        Set<String> exempt = Set.of("2024-03", "2024-05", "2025-01", "2030-01");
+
+        LocalDate start = LocalDate.of(2023, 11, 15);
+        LocalDate end = LocalDate.of(2025, 3, 2);
+
+        BigDecimal expected = BigDecimal.ZERO;
+        for (LocalDate m = start.withDayOfMonth(1); !m.isAfter(end); m = m.plusMonths(1)) {
+            String key = String.format("%04d-%02d", m.getYear(), m.getMonthValue());
+            if (exempt.contains(key)) continue;
+            expected = expected.add(timeline.requiredFor(m.getYear(), m.getMonthValue(), fallback));
+        }
+
+        assertThat(timeline.requiredBetween(start, end, fallback, exempt)).isEqualByComparingTo(expected);
+        // 17 months minus 3 exempt in range; 2024-02 is configured at 50, the other 13 fall back to 100
+        assertThat(expected).isEqualByComparingTo("1350");
+        verify(referenceDataCache, times(1)).getMonthlyConfigs();
+    }
+
+    @Test
+    public void requiredBetween_outsideConfiguredRangeUsesFallback() {
+        when(referenceDataCache.getMonthlyConfigs()).thenReturn(List.of(config("2024-06", "10")));
+
+        BigDecimal required = timeline.requiredBetween(LocalDate.of(2020, 1, 1), LocalDate.of(2020, 12, 31),
+                new BigDecimal("25"), Set.of());
+
+        assertThat(required).isEqualByComparingTo("300");
+        assertThat(timeline.requiredBetween(LocalDate.of(2021, 1, 1), LocalDate.of(2020, 1, 1),
+                new BigDecimal("25"), Set.of())).isEqualByComparingTo("0");
+    }
+
+    @Test
+    public void invalidate_rebuildsFromReferenceData() {
+        when(referenceDataCache.getMonthlyConfigs())
+                .thenReturn(List.of(config("2024-01", "10")))
+                .thenReturn(List.of(config("2024-01", "30")));
+
+        assertThat(timeline.requiredFor(2024, 1, BigDecimal.ONE)).isEqualByComparingTo("10");
+        assertThat(timeline.requiredFor(2024, 1, BigDecimal.ONE)).isEqualByComparingTo("10");
+
+        timeline.invalidate();
+
+        assertThat(timeline.requiredFor(2024, 1, BigDecimal.ONE)).isEqualByComparingTo("30");
+        verify(referenceDataCache, times(2)).getMonthlyConfigs();
+    }
+}
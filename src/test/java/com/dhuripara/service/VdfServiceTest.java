@@ -0,0 +1,135 @@
+package com.dhuripara.service;
+
+import com.dhuripara.dto.request.VdfBulkContributionRequest;
+import com.dhuripara.dto.request.VdfContributionRequest;
+import com.dhuripara.dto.response.VdfFamilyConfigResponse;
+import com.dhuripara.exception.BusinessException;
+import com.dhuripara.model.Member;
+import com.dhuripara.model.VdfContribution;
+import com.dhuripara.model.VdfFamilyBalance;
+import com.dhuripara.model.VdfFamilyConfig;
+import com.dhuripara.repository.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class VdfServiceTest {
+
+    @Mock private VdfDepositRepository depositRepository;
+    @Mock private VdfExpenseRepository expenseRepository;
+    @Mock private VdfFamilyConfigRepository familyConfigRepository;
+    @Mock private VdfContributionRepository contributionRepository;
+    @Mock private MemberRepository memberRepository;
+    @Mock private VdfExpenseCategoryRepository expenseCategoryRepository;
+    @Mock private VdfDepositCategoryRepository depositCategoryRepository;
+    @Mock private VdfFamilyExemptionRepository vdfFamilyExemptionRepository;
+    @Mock private VdfMonthlyConfigRepository vdfMonthlyConfigRepository;
+    @Mock private VdfNotificationService notificationService;
+    @Mock private VdfMatrixService matrixService;
+    @Mock private VdfBalanceService balanceService;
+    @Mock private VdfSummaryService summaryService;
+    @Mock private VdfReferenceDataCache referenceDataCache;
+    @Mock private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private VdfService vdfService;
+
+    private final VdfFamilyConfig family = new VdfFamilyConfig();
+
+    @BeforeEach
+    public void setUp() {
+        Member member = new Member();
+        member.setFirstName("Ratan");
+        family.setId(UUID.randomUUID());
+        family.setMember(member);
+        family.setIsContributionEnabled(true);
+        family.setMonthlyAmount(new BigDecimal("20"));
+    }
+
+    @Test
+    public void getAllFamilies_countsThisYearsMonthsInOneQuery() {
+        VdfFamilyConfig unpaid = new VdfFamilyConfig();
+        unpaid.setId(UUID.randomUUID());
+        unpaid.setMember(family.getMember());
+        unpaid.setIsContributionEnabled(true);
+        when(familyConfigRepository.findAll()).thenReturn(List.of(family, unpaid));
+        when(balanceService.getBalances(List.of(family, unpaid))).thenReturn(Map.of(
+                family.getId(), new VdfFamilyBalance(), unpaid.getId(), new VdfFamilyBalance()));
+        List<Object[]> counts = new ArrayList<>();
+        counts.add(new Object[]{family.getId(), 3L});
+        when(contributionRepository.countPaidMonthsGroupedByFamily(LocalDate.now().getYear())).thenReturn(counts);
+
+        List<VdfFamilyConfigResponse> responses = vdfService.getAllFamilies(false);
+
+        assertThat(responses).extracting(VdfFamilyConfigResponse::getTotalPaidMonths).containsExactly(3, 0);
+        assertThat(responses).extracting(VdfFamilyConfigResponse::getTotalPendingMonths).containsExactly(9, 12);
+        verify(contributionRepository, never()).findByFamilyConfigIdAndYear(any(), any());
+    }
+
+    @Test
+    public void recordContribution_checksForTheMonthUnderTheFamilyLock() {
+        givenFamily();
+        when(contributionRepository.findByFamilyConfigIdAndYearAndMonth(family.getId(), 2025, 3))
+                .thenReturn(Optional.of(new VdfContribution()));
+        VdfContributionRequest request = new VdfContributionRequest();
+        request.setFamilyConfigId(family.getId());
+        request.setYear(2025);
+        request.setMonth(3);
+        request.setAmount(new BigDecimal("20"));
+
+        assertThatThrownBy(() -> vdfService.recordContribution(request))
+                .isInstanceOf(BusinessException.class);
+
+        InOrder order = inOrder(familyConfigRepository, contributionRepository);
+        order.verify(familyConfigRepository).lockByIdIn(List.of(family.getId()));
+        order.verify(contributionRepository).findByFamilyConfigIdAndYearAndMonth(family.getId(), 2025, 3);
+    }
+
+    @Test
+    public void recordBulkContributions_computesThePaidDeltaUnderTheFamilyLock() {
+        givenFamily();
+        VdfContribution existing = new VdfContribution();
+        existing.setAmount(new BigDecimal("100"));
+        when(contributionRepository.findByFamilyConfigIdAndYearAndMonth(family.getId(), 2025, 4))
+                .thenReturn(Optional.of(existing));
+        VdfBulkContributionRequest.MonthlyContributionInput april = new VdfBulkContributionRequest.MonthlyContributionInput();
+        april.setMonth(4);
+        april.setAmount(BigDecimal.ZERO);
+        VdfBulkContributionRequest request = new VdfBulkContributionRequest();
+        request.setFamilyConfigId(family.getId());
+        request.setYear(2025);
+        request.setContributions(List.of(april));
+
+        vdfService.recordBulkContributions(request);
+
+        InOrder order = inOrder(familyConfigRepository, contributionRepository, balanceService);
+        order.verify(familyConfigRepository).lockByIdIn(List.of(family.getId()));
+        order.verify(contributionRepository).findByFamilyConfigIdAndYearAndMonth(family.getId(), 2025, 4);
+        order.verify(contributionRepository).delete(existing);
+        order.verify(balanceService).onContributionsChanged(family, new BigDecimal("-100"), null, true);
+        verify(depositRepository, never()).save(any());
+    }
+
+    private void givenFamily() {
+        when(familyConfigRepository.findById(family.getId())).thenReturn(Optional.of(family));
+    }
+}
@@ -0,0 +1,75 @@
+package com.dhuripara.service;
+
+import com.dhuripara.dto.response.VdfSummaryResponse;
+import com.dhuripara.event.VdfDataChangedEvent;
+import com.dhuripara.repository.VdfDepositRepository;
+import com.dhuripara.repository.VdfExpenseRepository;
+import com.dhuripara.repository.VdfFamilyConfigRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class VdfSummaryServiceTest {
+
+    @Mock
+    private VdfDepositRepository depositRepository;
+
+    @Mock
+    private VdfExpenseRepository expenseRepository;
+
+    @Mock
+    private VdfFamilyConfigRepository familyConfigRepository;
+
+    @InjectMocks
+    private VdfSummaryService summaryService;
+
+    @BeforeEach
+    public void setUp() {
+        when(familyConfigRepository.count()).thenReturn(3L);
+        when(familyConfigRepository.countActiveContributors()).thenReturn(2L);
+        when(depositRepository.getTotalDeposits()).thenReturn(new BigDecimal("500"));
+        when(expenseRepository.getTotalAllYears()).thenReturn(new BigDecimal("120"));
+        List<Object[]> deposits = new ArrayList<>();
+        deposits.add(new Object[]{"Festival", null, new BigDecimal("500")});
+        when(depositRepository.getCategoryNameTotals()).thenReturn(deposits);
+        when(expenseRepository.getCategoryNameTotalsAllYears()).thenReturn(new ArrayList<>());
+    }
+
+    @Test
+    public void getSummary_servesCachedContentUntilDataChanges() {
+        VdfSummaryResponse first = summaryService.getSummary();
+        VdfSummaryResponse second = summaryService.getSummary();
+
+        assertThat(second).isEqualTo(first);
+        assertThat(second.getCurrentBalance()).isEqualByComparingTo("380");
+        verify(depositRepository, times(1)).getTotalDeposits();
+
+        summaryService.onVdfDataChanged(new VdfDataChangedEvent("deposit"));
+        summaryService.getSummary();
+        verify(depositRepository, times(2)).getTotalDeposits();
+    }
+
+    @Test
+    public void getSummary_callerChangesDoNotReachTheCache() {
+        VdfSummaryResponse first = summaryService.getSummary();
+        first.setCurrentBalance(BigDecimal.ZERO);
+        first.getCategoryWiseDeposits().put("Festival", BigDecimal.ONE);
+
+        VdfSummaryResponse second = summaryService.getSummary();
+
+        assertThat(second.getCurrentBalance()).isEqualByComparingTo("380");
+        assertThat(second.getCategoryWiseDeposits().get("Festival")).isEqualByComparingTo("500");
+        verify(depositRepository, times(1)).getTotalDeposits();
+    }
+}
@@ -0,0 +1,31 @@
+package com.dhuripara.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConditionalGetTest {
+
+    @Test
+    public void respond_setsTheGivenContentTypeOnFreshResponses() {
+        ResponseEntity<String> response = ConditionalGet.respond(null, "\"v1\"", MediaType.APPLICATION_JSON, () -> "[]");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"v1\"");
+        assertThat(response.getBody()).isEqualTo("[]");
+    }
+
+    @Test
+    public void respond_answersNotModifiedWithoutComputingTheBody() {
+        ResponseEntity<String> response = ConditionalGet.respond("W/\"v1\"", "\"v1\"", MediaType.APPLICATION_JSON, () -> {
+            throw new AssertionError("body computed for a matching tag");
+        });
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getBody()).isNull();
+    }
+}
@@ -0,0 +1,56 @@
+package com.dhuripara.util;
+
+import com.dhuripara.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ExportWriterTest {
+
+    private static String write(ExportWriter.Format format, Object... row) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ExportWriter out = ExportWriter.open(format, bytes, "Sheet <1>", "A", "B", "C", "D")) {
+            out.row(row);
+        }
+        return bytes.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void csv_quotesAndGuardsFormulas() throws Exception {
+        String csv = write(ExportWriter.Format.CSV,
+                "Das, \"Ratan\"", new BigDecimal("-12.50"), "=SUM(A1)", LocalDate.of(2024, 4, 1));
+
+        assertThat(csv).isEqualTo("\uFEFFA,B,C,D\r\n\"Das, \"\"Ratan\"\"\",-12.50,'=SUM(A1),2024-04-01\r\n");
+    }
+
+    @Test
+    public void csv_guardsFormulasBehindALeadingTabOrCarriageReturn() throws Exception {
+        String csv = write(ExportWriter.Format.CSV, "\t=1+1", "\r@SUM(A1)", "-", "ok");
+
+        assertThat(csv).isEqualTo("\uFEFFA,B,C,D\r\n'\t=1+1,\"'\r@SUM(A1)\",'-,ok\r\n");
+    }
+
+    @Test
+    public void xls_typesNumbersAndEscapesText() throws Exception {
+        String xls = write(ExportWriter.Format.XLS, "a & b", new BigDecimal("1E+3"), null, "রতন");
+
+        assertThat(xls).contains("<Worksheet ss:Name=\"Sheet &lt;1&gt;\">");
+        assertThat(xls).contains("<Row><Cell><Data ss:Type=\"String\">a &amp; b</Data></Cell>"
+                + "<Cell><Data ss:Type=\"Number\">1000</Data></Cell><Cell/>"
+                + "<Cell><Data ss:Type=\"String\">রতন</Data></Cell></Row>");
+        assertThat(xls).endsWith("</Table></Worksheet>\n</Workbook>\n");
+    }
+
+    @Test
+    public void parse_defaultsToCsvAndRejectsUnknown() {
+        assertThat(ExportWriter.Format.parse(null)).isEqualTo(ExportWriter.Format.CSV);
+        assertThat(ExportWriter.Format.parse("xls")).isEqualTo(ExportWriter.Format.XLS);
+        assertThatThrownBy(() -> ExportWriter.Format.parse("pdf")).isInstanceOf(BusinessException.class);
+    }
+}
@@ -0,0 +1,81 @@
+package com.dhuripara.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InterestEngineTest {
+
+    // The BigDecimal formula InterestCalculator used before the fixed-point engine
+    private static BigDecimal reference(BigDecimal principal, String rate, LocalDate start, LocalDate end) {
+        long days = ChronoUnit.DAYS.between(start, end);
+        if (days <= 0) {
+            return BigDecimal.ZERO;
+        }
+        int months = (int) Math.ceil(days / 30.0);
+        return principal.multiply(new BigDecimal(rate)).multiply(new BigDecimal(months))
+                .divide(new BigDecimal("100"), 2, RoundingMode.HALF_UP);
+    }
+
+    @Test
+    public void calculator_matchesBigDecimalFormula() {
+        LocalDate start = LocalDate.of(2024, 1, 31);
+        String[] principals = {"0.01", "0.02", "1.01", "3.33", "99.99", "1000.00", "12345.67", "250000.50", "-7.77"};
+        int[] spans = {-5, 0, 1, 29, 30, 31, 59, 60, 61, 365, 366, 3650};
+
+        for (String p : principals) {
+            BigDecimal principal = new BigDecimal(p);
+            for (int span : spans) {
+                LocalDate end = start.plusDays(span);
+                assertThat(InterestCalculator.calculateDepositInterest(principal, start, end))
+                        .as("deposit %s over %d days", p, span)
+                        .isEqualTo(reference(principal, "2.5", start, end));
+                assertThat(InterestCalculator.calculateLoanInterest(principal, start, end))
+                        .as("loan %s over %d days", p, span)
+                        .isEqualTo(reference(principal, "5.0", start, end));
+            }
+        }
+    }
+
+    @Test
+    public void interest_roundsHalfUpToThePaisa() {
+        // 1.01 × 2.5% = 0.02525 -> 0.03; 0.02 × 2.5% = 0.0005 -> 0.00
+        assertThat(InterestEngine.interest(101, InterestEngine.DEPOSIT_RATE_BP, 0, 30)).isEqualTo(3);
+        assertThat(InterestEngine.interest(2, InterestEngine.DEPOSIT_RATE_BP, 0, 30)).isEqualTo(0);
+        assertThat(InterestEngine.interest(-101, InterestEngine.DEPOSIT_RATE_BP, 0, 30)).isEqualTo(-3);
+        assertThat(InterestEngine.months(30)).isEqualTo(1);
+        assertThat(InterestEngine.months(31)).isEqualTo(2);
+    }
+
+    @Test
+    public void outOfRangeAmounts_fallBackToBigDecimal() {
+        assertThat(InterestEngine.toPaise(new BigDecimal("1.005"))).isEqualTo(InterestEngine.NOT_REPRESENTABLE);
+        assertThat(InterestEngine.interest(Long.MAX_VALUE / 100, InterestEngine.LOAN_RATE_BP, 0, 90))
+                .isEqualTo(InterestEngine.NOT_REPRESENTABLE);
+
+        LocalDate start = LocalDate.of(2024, 4, 1);
+        LocalDate end = start.plusDays(45);
+        BigDecimal fractional = new BigDecimal("1000.005");
+        BigDecimal huge = new BigDecimal("92233720368547758.07");
+        assertThat(InterestCalculator.calculateDepositInterest(fractional, start, end))
+                .isEqualTo(reference(fractional, "2.5", start, end));
+        assertThat(InterestCalculator.calculateLoanInterest(huge, start, end))
+                .isEqualTo(reference(huge, "5.0", start, end));
+    }
+
+    @Test
+    public void accrue_evaluatesRowsAgainstOneDay() {
+        long[] principal = {100_000, 50_050, InterestEngine.NOT_REPRESENTABLE};
+        int[] start = {0, 10, 0};
+        long[] out = new long[3];
+
+        InterestEngine.accrue(principal, start, 3, InterestEngine.LOAN_RATE_BP, 40, out);
+
+        assertThat(out).containsExactly(10_000, 2_503, InterestEngine.NOT_REPRESENTABLE);
+    }
+}
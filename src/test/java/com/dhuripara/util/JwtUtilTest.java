@@ -0,0 +1,75 @@
+package com.dhuripara.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class JwtUtilTest {
+
+    private static final String SECRET = "test-secret-that-is-at-least-thirty-two-bytes-long";
+
+    private final Clock clock = mock(Clock.class);
+    private Instant now = Instant.parse("2026-01-01T10:00:00Z");
+
+    private final JwtUtil jwtUtil = new JwtUtil(SECRET, 100, 300, clock);
+
+    @BeforeEach
+    public void setUp() {
+        when(clock.instant()).thenAnswer(inv -> now);
+    }
+
+    @Test
+    public void verify_acceptsNonExpiringTokens() {
+        String token = jwtUtil.generateToken("admin");
+
+        VerifiedClaims claims = jwtUtil.verify(token);
+
+        assertThat(claims).isNotNull();
+        assertThat(claims.subject()).isEqualTo("admin");
+        assertThat(claims.expiration()).isNull();
+        assertThat(jwtUtil.verify(token)).isEqualTo(claims);
+    }
+
+    @Test
+    public void verify_readsMemberRoleAndEpoch() {
+        UUID memberId = UUID.randomUUID();
+
+        VerifiedClaims claims = jwtUtil.verify(jwtUtil.generateMemberToken(memberId, "OPERATOR", 3L));
+
+        assertThat(claims.subject()).isEqualTo("MEMBER_" + memberId);
+        assertThat(claims.role()).isEqualTo("OPERATOR");
+        assertThat(claims.epoch()).isEqualTo(3L);
+        assertThat(jwtUtil.verify(jwtUtil.generateToken("admin")).epoch()).isNull();
+    }
+
+    @Test
+    public void verify_rejectsTamperedAndForeignTokens() {
+        String token = jwtUtil.generateToken("admin");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+        JwtUtil other = new JwtUtil("another-secret-that-is-at-least-thirty-two-bytes", 100, 300);
+
+        assertThat(jwtUtil.verify(tampered)).isNull();
+        assertThat(jwtUtil.verify(other.generateToken("admin"))).isNull();
+        assertThat(jwtUtil.verify("not-a-token")).isNull();
+        assertThat(jwtUtil.verify(null)).isNull();
+    }
+
+    @Test
+    public void verify_rejectsExpiredTokens() {
+        String token = jwtUtil.generateTokenWithExpiration("admin", 2000L);
+        now = now.plusMillis(1999);
+        assertThat(jwtUtil.verify(token)).isNotNull();
+
+        now = now.plusMillis(1);
+
+        // Also rejected when the earlier verification is still cached
+        assertThat(jwtUtil.verify(token)).isNull();
+    }
+}
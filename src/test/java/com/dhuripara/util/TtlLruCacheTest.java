@@ -0,0 +1,61 @@
+package com.dhuripara.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TtlLruCacheTest {
+
+    @Test
+    public void get_loadsOnceAndEvictsLeastRecentlyUsed() {
+        TtlLruCache<String, String> cache = new TtlLruCache<>(2, 60_000);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThat(cache.get("a", k -> { loads.incrementAndGet(); return "A"; })).isEqualTo("A");
+        assertThat(cache.get("a", k -> { loads.incrementAndGet(); return "other"; })).isEqualTo("A");
+        cache.get("b", k -> "B");
+        cache.getIfPresent("a");
+        cache.get("c", k -> "C");
+
+        assertThat(loads).hasValue(1);
+        assertThat(cache.getIfPresent("a")).isEqualTo("A");
+        assertThat(cache.getIfPresent("b")).isNull();
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void getIfPresent_dropsExpiredEntries() {
+        TtlLruCache<String, String> cache = new TtlLruCache<>(10, 0);
+        cache.get("a", k -> "A");
+
+        assertThat(cache.getIfPresent("a")).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    public void invalidateDuringLoad_keepsStaleValueOutOfCache() {
+        TtlLruCache<String, String> cache = new TtlLruCache<>(10, 60_000);
+
+        String loaded = cache.get("a", k -> {
+            cache.invalidate("a");
+            return "stale";
+        });
+
+        assertThat(loaded).isEqualTo("stale");
+        assertThat(cache.getIfPresent("a")).isNull();
+    }
+
+    @Test
+    public void invalidateIf_removesMatchingValues() {
+        TtlLruCache<String, Integer> cache = new TtlLruCache<>(10, 60_000);
+        cache.get("one", k -> 1);
+        cache.get("two", k -> 2);
+
+        cache.invalidateIf(v -> v % 2 == 0);
+
+        assertThat(cache.getIfPresent("one")).isEqualTo(1);
+        assertThat(cache.getIfPresent("two")).isNull();
+    }
+}